@@ -0,0 +1,90 @@
+package com.example.task_management_system.config;
+
+import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.entity.Task;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.sequence.SequenceSupport;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the pooled id sequences of Task and Notification past the ids already in their tables.
+ * <p>
+ * Both entities used IDENTITY ids before; ddl-auto=update creates {@code task_seq} and
+ * {@code notification_seq} starting at 1 next to tables that already hold those ids, so the first
+ * inserts after the switch would fail with duplicate keys. This runs on every startup, after the
+ * schema update and before the notification writer, the schedulers and the web server start;
+ * a sequence that is already ahead of its table is left alone.
+ */
+@Component
+public class IdSequenceSeeder {
+    private static final Logger logger = LoggerFactory.getLogger(IdSequenceSeeder.class);
+    private static final List<Class<?>> SEQUENCED_ENTITIES = List.of(Task.class, Notification.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Dialect dialect;
+
+    @Autowired
+    public IdSequenceSeeder(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this(jdbcTemplate, entityManagerFactory.unwrap(SessionFactoryImplementor.class).getJdbcServices().getDialect());
+    }
+
+    IdSequenceSeeder(JdbcTemplate jdbcTemplate, Dialect dialect) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dialect = dialect;
+    }
+
+    @PostConstruct
+    public void seedSequences() {
+        SEQUENCED_ENTITIES.forEach(this::seed);
+    }
+
+    private void seed(Class<?> entity) {
+        SequenceGenerator generator = sequenceGenerator(entity);
+        String table = entity.getAnnotation(Table.class).name();
+        Long maxId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM " + table, Long.class);
+        if (maxId == null) {
+            return;
+        }
+        // Hibernate's pooled optimizer hands out the block that ends at the value it reads
+        // (target - allocationSize + 1 up to target), so the first new id is maxId + 1
+        long target = maxId + generator.allocationSize();
+        String sequence = generator.sequenceName();
+        SequenceSupport sequences = dialect.getSequenceSupport();
+
+        if (!sequences.supportsSequences()) {
+            // MySQL: Hibernate keeps the sequence as a one-row table; the conditional update is atomic,
+            // so nodes starting together cannot move it backwards
+            int updated = jdbcTemplate.update("UPDATE " + sequence + " SET next_val = ? WHERE next_val < ?", target, target);
+            if (updated > 0) {
+                logger.info("Moved {} to {}, past the ids already in {}", sequence, target, table);
+            }
+            return;
+        }
+        // a native sequence has no portable read without advancing it; this spends one block of ids,
+        // and the block Hibernate takes next starts right after the value read
+        Long next = jdbcTemplate.queryForObject(sequences.getSequenceNextValString(sequence), Long.class);
+        if (next != null && next < maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + target);
+            logger.info("Restarted {} at {}, past the ids already in {}", sequence, target, table);
+        }
+    }
+
+    private static SequenceGenerator sequenceGenerator(Class<?> entity) {
+        try {
+            return entity.getDeclaredField("id").getAnnotation(SequenceGenerator.class);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalStateException(entity.getSimpleName() + " has no id field", e);
+        }
+    }
+}
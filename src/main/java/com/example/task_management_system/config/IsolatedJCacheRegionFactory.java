@@ -0,0 +1,32 @@
+package com.example.task_management_system.config;
+
+import org.hibernate.boot.spi.SessionFactoryOptions;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hibernate's JCache region factory, with a cache manager of its own for every session factory.
+ * <p>
+ * A JCache provider hands out one manager per configuration URI, so two session factories in the
+ * same JVM (test contexts, a second persistence unit) would otherwise share the same regions and
+ * read each other's entities by id, and the first to shut down would close the manager under the
+ * other. The regions are still configured from {@code hibernate.javax.cache.uri}, a classpath
+ * resource; the fragment only makes the URI unique.
+ */
+public class IsolatedJCacheRegionFactory extends JCacheRegionFactory {
+
+    private static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    @Override
+    protected URI getUri(SessionFactoryOptions settings, Map<String, Object> properties) {
+        Object resource = properties.get(ConfigSettings.CONFIG_URI);
+        if (resource == null) {
+            return null;
+        }
+        return URI.create("classpath:" + resource + "#session-factory-" + INSTANCES.incrementAndGet());
+    }
+}
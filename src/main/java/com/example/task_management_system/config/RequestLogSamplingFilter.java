@@ -0,0 +1,65 @@
+package com.example.task_management_system.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Gives every request an id in the logging MDC (and the X-Request-Id response header) and marks
+ * a sample of requests, {@code logging.request-sampling.rate} of them, for detailed logging.
+ * <p>
+ * In the "prod" logback profile the application loggers run at INFO and
+ * {@link SampledDebugTurboFilter} lets their DEBUG events through for marked requests only, so
+ * the detail is kept for whole requests rather than as scattered lines.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestLogSamplingFilter extends OncePerRequestFilter {
+    public static final String REQUEST_ID_KEY = "requestId";
+    public static final String SAMPLED_KEY = "logSampled";
+    static final String REQUEST_ID_HEADER = "X-Request-Id";
+
+    private final double rate;
+    private final DoubleSupplier random;
+
+    @Autowired
+    public RequestLogSamplingFilter(@Value("${logging.request-sampling.rate:0}") double rate) {
+        this(rate, () -> ThreadLocalRandom.current().nextDouble());
+    }
+
+    RequestLogSamplingFilter(double rate, DoubleSupplier random) {
+        this.rate = rate;
+        this.random = random;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // random hex rather than UUID.randomUUID(), which goes through SecureRandom on every request
+        String requestId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+        MDC.put(REQUEST_ID_KEY, requestId);
+        if (rate > 0 && random.getAsDouble() < rate) {
+            MDC.put(SAMPLED_KEY, "true");
+        }
+        response.setHeader(REQUEST_ID_HEADER, requestId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MDC.remove(REQUEST_ID_KEY);
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.task_management_system.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that accepts DEBUG and TRACE events from the application's loggers while
+ * the current request is sampled (see {@link RequestLogSamplingFilter}), whatever the logger's
+ * level. Everything else is left to the normal level check.
+ * <p>
+ * Logback asks turbo filters before it looks at the logger's level, so this runs on every logging
+ * call. INFO and above stop at the first comparison; a DEBUG or TRACE call from an application
+ * logger also pays the name prefix check and one MDC lookup (a thread-local map read) before the
+ * level check drops it outside sampled requests.
+ */
+public class SampledDebugTurboFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.example.task_management_system";
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (level == null || level.isGreaterOrEqual(Level.INFO) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        return "true".equals(MDC.get(RequestLogSamplingFilter.SAMPLED_KEY)) ? FilterReply.ACCEPT : FilterReply.NEUTRAL;
+    }
+
+    // set from logback-spring.xml
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
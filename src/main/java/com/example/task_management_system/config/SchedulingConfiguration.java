@@ -0,0 +1,14 @@
+package com.example.task_management_system.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Turns on the @Scheduled jobs, which take cluster-wide leases; set spring.task.scheduling.enabled=false to keep
+// a node out of them (TaskChangeSequencer, on a thread of its own, checks the same flag). Per-node work (the
+// search index follower, the change feed check) runs on threads of its own and is not affected
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfiguration {
+}
@@ -1,15 +1,28 @@
 package com.example.task_management_system.controller.admin;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskPage;
+import com.example.task_management_system.dto.TaskSearchPage;
 import com.example.task_management_system.enums.TaskStatus;
 import com.example.task_management_system.service.admin.AdminService;
+import com.example.task_management_system.utils.TaskETag;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @RestController
@@ -18,7 +31,9 @@ import java.util.List;
 public class AdminController {
 
     private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+    private static final String NDJSON_VALUE = "application/x-ndjson";
     private final AdminService adminService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/users")
     public ResponseEntity<?> getUsers() {
@@ -38,10 +53,40 @@ public class AdminController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdTaskDTO);
     }
 
+    @PostMapping("/tasks/bulk")
+    public ResponseEntity<List<BulkTaskResult>> createTasks(@RequestBody List<TaskDto> taskDtos) {
+        logger.info("Bulk creating {} tasks", taskDtos.size());
+        return ResponseEntity.ok(adminService.createTasks(taskDtos));
+    }
+
     @GetMapping("/tasks")
-    public ResponseEntity<?> getAllTasks() {
-        logger.info("Fetching all tasks");
-        return ResponseEntity.ok(adminService.getAllTasks());
+    public ResponseEntity<TaskPage> getAllTasks(@RequestParam(required = false) String cursor,
+                                                @RequestParam(defaultValue = "50") int size) {
+        logger.info("Fetching task page, size: {}", size);
+        return ResponseEntity.ok(adminService.getTasksPage(cursor, size));
+    }
+
+    // Full export as newline-delimited JSON, written row by row while the DB cursor is read
+    @GetMapping(value = "/tasks", produces = NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllTasks() {
+        logger.info("Streaming all tasks as NDJSON");
+        ObjectWriter writer = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter sequence = writer.writeValues(outputStream)) {
+                adminService.streamAllTasks(task -> {
+                    try {
+                        sequence.write(task);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON_VALUE))
+                .body(body);
     }
 
     @DeleteMapping("/task/{id}")
@@ -52,28 +97,35 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    // Carries the task's ETag; a request whose If-None-Match still matches gets a bodiless 304
     @GetMapping("/tasks/{id}")
     public ResponseEntity<?> getTaskById(@PathVariable Long id) {
         logger.debug("Fetching task by ID: {}", id);
-        return ResponseEntity.ok(adminService.getTaskById(id));
+        TaskDto task = adminService.getTaskById(id);
+        return ResponseEntity.ok().eTag(TaskETag.of(task.getVersion())).body(task);
     }
 
+    // With If-Match (the ETag of the copy being edited) a task changed in the meantime is answered with 412
     @PutMapping("/task/{id}")
-    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody TaskDto taskDto) {
-        logger.info("Updating task ID {} with data: {}", id, taskDto);
-        TaskDto updatedTask = adminService.updateTask(id, taskDto);
+    public ResponseEntity<?> updateTask(@PathVariable Long id, @RequestBody TaskDto taskDto,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        logger.info("Updating task ID: {}", id);
+        logger.debug("Task {} update: {}", id, taskDto);
+        TaskDto updatedTask = adminService.updateTask(id, taskDto, TaskETag.parseIfMatch(ifMatch));
         if (updatedTask == null) {
             logger.error("Task not found for update: {}", id);
             return ResponseEntity.notFound().build();
         }
         logger.debug("Task updated successfully: {}", id);
-        return ResponseEntity.ok(updatedTask);
+        return ResponseEntity.ok().eTag(TaskETag.of(updatedTask.getVersion())).body(updatedTask);
     }
 
-    @GetMapping("/tasks/search/{title}")
-    public ResponseEntity<List<TaskDto>> searchTasksByTitle(@PathVariable String title) {
-        logger.info("Searching tasks by title: {}", title);
-        return ResponseEntity.ok(adminService.searchTasksByTitle(title));
+    @GetMapping("/tasks/search/{query}")
+    public ResponseEntity<TaskSearchPage> searchTasks(@PathVariable String query,
+                                                      @RequestParam(defaultValue = "0") int page,
+                                                      @RequestParam(defaultValue = "20") int size) {
+        logger.info("Searching tasks for: {}", query);
+        return ResponseEntity.ok(adminService.searchTasks(query, page, size));
     }
 
     @GetMapping("/tasks/filter/status/{status}")
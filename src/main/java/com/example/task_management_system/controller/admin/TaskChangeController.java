@@ -0,0 +1,34 @@
+package com.example.task_management_system.controller.admin;
+
+import com.example.task_management_system.dto.TaskChangePage;
+import com.example.task_management_system.service.changefeed.TaskChangeFeed;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+
+// Change feed for downstream consumers (reporting, search) that follow task writes instead of rescanning the table
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/admin/task-changes")
+public class TaskChangeController {
+
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeController.class);
+    private final TaskChangeFeed taskChangeFeed;
+
+    // Events after the offset, oldest first; pass nextOffset back as "after" to continue. With waitSeconds
+    // an empty answer is held back until events arrive or the wait runs out
+    @GetMapping
+    public DeferredResult<TaskChangePage> getTaskChanges(@RequestParam(defaultValue = "0") long after,
+                                                         @RequestParam(defaultValue = "100") int limit,
+                                                         @RequestParam(defaultValue = "0") int waitSeconds) {
+        logger.debug("Reading task changes after offset {} (limit {}, wait {}s)", after, limit, waitSeconds);
+        return taskChangeFeed.poll(after, limit, Duration.ofSeconds(Math.max(0, waitSeconds)));
+    }
+}
@@ -1,5 +1,7 @@
 package com.example.task_management_system.controller.analytics;
 
+import com.example.task_management_system.dto.OrganizationAnalytics;
+import com.example.task_management_system.dto.UserAnalytics;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.service.analyticservice.AnalyticsService;
 import com.example.task_management_system.utils.JwtUtil;
@@ -9,12 +11,10 @@ import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.HashMap;
-import java.util.Map;
-
 @RestController
 @RequestMapping("/api/analytics")
 @RequiredArgsConstructor
@@ -25,7 +25,7 @@ public class AnalyticsController {
     private final JwtUtil jwtUtil;
 
     @GetMapping
-    public ResponseEntity<Map<String, Object>> getAnalytics() {
+    public ResponseEntity<UserAnalytics> getAnalytics() {
         User currentUser = jwtUtil.getLoggedInUser();
         if (currentUser == null) {
             logger.warn("Unauthorized access attempt to analytics endpoint");
@@ -33,15 +33,24 @@ public class AnalyticsController {
         }
 
         logger.info("Fetching analytics for user ID: {}", currentUser.getId());
-
-        Map<String, Object> analytics = new HashMap<>();
-        analytics.put("completionPercentage", analyticsService.getCompletionPercentage(currentUser.getId()));
-        analytics.put("weeklyTrends", analyticsService.getWeeklyCompletionTrends(currentUser.getId()));
-        analyticsService.getAverageCompletionTime(currentUser.getId()).ifPresent(
-                avg -> analytics.put("averageCompletionTime", avg)
-        );
+        UserAnalytics analytics = analyticsService.getUserAnalytics(currentUser.getId());
 
         logger.debug("Analytics data prepared successfully for user ID: {}", currentUser.getId());
         return ResponseEntity.ok(analytics);
     }
-}
\ No newline at end of file
+
+    // Fleet view across every employee; reads the whole tasks table, so meant for occasional use
+    @GetMapping("/organization")
+    public ResponseEntity<OrganizationAnalytics> getOrganizationAnalytics() {
+        logger.info("Fetching organization analytics");
+        return ResponseEntity.ok(analyticsService.getOrganizationAnalytics());
+    }
+
+    // Recomputes the rollups from scratch, e.g. after a data fix or migration; 409 while one is running
+    @PostMapping("/rebuild")
+    public ResponseEntity<Void> rebuildStats() {
+        logger.info("Rebuilding analytics rollups");
+        analyticsService.rebuildStats();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -2,10 +2,11 @@ package com.example.task_management_system.controller.auth;
 
 import com.example.task_management_system.dto.*;
 import com.example.task_management_system.entity.User;
-import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.exception.EmailAlreadyInUseException;
 import com.example.task_management_system.service.auth.AuthService;
-import com.example.task_management_system.service.jwt.UserService;
+import com.example.task_management_system.service.auth.LoginRateLimiter;
 import com.example.task_management_system.utils.JwtUtil;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,11 +14,9 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.Optional;
-
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -25,40 +24,42 @@ public class AuthController {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthController.class);
     private final AuthService authService;
-    private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
-    private final UserService userService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/register")
     public ResponseEntity<?> signupUser(@RequestBody SignupRequest signupRequest) {
         logger.info("Registration attempt for email: {}", signupRequest.getEmail());
 
-        if (authService.hasUserWithEmail(signupRequest.getEmail())) {
+        UserDto createdUserDto;
+        try {
+            // the service checks the email itself, no separate lookup here
+            createdUserDto = authService.signupUser(signupRequest);
+        } catch (EmailAlreadyInUseException e) {
             logger.warn("Registration failed - email already exists: {}", signupRequest.getEmail());
             return ResponseEntity.status(HttpStatus.CONFLICT).build();
         }
-
-        UserDto createdUserDto = authService.signupUser(signupRequest);
         logger.info("User registered successfully with ID: {}", createdUserDto.getId());
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUserDto);
     }
 
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody AuthenticationRequest authenticationRequest) {
-        authenticationManager.authenticate(
+    public ResponseEntity<?> login(@RequestBody AuthenticationRequest authenticationRequest,
+                                   HttpServletRequest request) {
+        // before any hashing, so a stuffing burst costs almost nothing
+        loginRateLimiter.checkLogin(request.getRemoteAddr(), authenticationRequest.getEmail());
+        // the provider has already loaded the user and checked the password; its principal is that User
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(
                         authenticationRequest.getEmail(),
                         authenticationRequest.getPassword()
                 )
         );
-
-        final UserDetails userDetails = userService.userDetailService()
-                .loadUserByUsername(authenticationRequest.getEmail());
-
-        Optional<User> optionalUser = userRepository.findByEmail(authenticationRequest.getEmail());
-        final String jwtToken = jwtUtil.generateToken(userDetails);
-        User user = optionalUser.get();
+        if (!(authentication.getPrincipal() instanceof User user)) {
+            throw new IllegalStateException("Unexpected principal type: " + authentication.getPrincipal().getClass());
+        }
+        final String jwtToken = jwtUtil.generateToken(user);
 
         AuthenticationResponse authenticationResponse = new AuthenticationResponse();
         authenticationResponse.setJwt(jwtToken);
@@ -1,10 +1,14 @@
 package com.example.task_management_system.controller.employee;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskStatusUpdate;
 import com.example.task_management_system.service.employee.EmployeeService;
+import com.example.task_management_system.utils.TaskETag;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -24,9 +28,18 @@ public class EmployeeController {
         return ResponseEntity.ok(employeeService.getTasksByUserId(userId));
     }
 
+    // With If-Match (the task's ETag) a task changed in the meantime is answered with 412
     @PutMapping("/tasks/{id}/status")
-    public ResponseEntity<TaskDto> updateTaskStatus(@PathVariable Long id, @RequestParam String status) {
+    public ResponseEntity<TaskDto> updateTaskStatus(@PathVariable Long id, @RequestParam String status,
+                                                    @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
         logger.info("Updating task ID {} to status: {}", id, status);
-        return ResponseEntity.ok(employeeService.updateTask(id, status));
+        TaskDto task = employeeService.updateTask(id, status, TaskETag.parseIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(TaskETag.of(task.getVersion())).body(task);
+    }
+
+    @PutMapping("/tasks/status/bulk")
+    public ResponseEntity<List<BulkTaskResult>> updateTaskStatuses(@RequestBody List<TaskStatusUpdate> updates) {
+        logger.info("Bulk updating status of {} tasks", updates.size());
+        return ResponseEntity.ok(employeeService.updateTaskStatuses(updates));
     }
 }
\ No newline at end of file
@@ -1,18 +1,27 @@
 package com.example.task_management_system.controller.notification;
 
-import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.dto.MarkNotificationsReadRequest;
+import com.example.task_management_system.dto.NotificationPage;
 import com.example.task_management_system.entity.User;
+import com.example.task_management_system.service.notification.NotificationHub;
 import com.example.task_management_system.service.notification.NotificationService;
 import com.example.task_management_system.utils.JwtUtil;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/notifications")
@@ -21,12 +30,45 @@ public class NotificationController {
 
     private static final Logger logger = LoggerFactory.getLogger(NotificationController.class);
     private final NotificationService notificationService;
+    private final NotificationHub notificationHub;
     private final JwtUtil jwtUtil;
 
+    // Newest first; pass nextCursor back as "before" for older pages, or poll with the newest
+    // notification's cursor as "since" for newer ones
     @GetMapping
-    public ResponseEntity<List<Notification>> getUserNotifications() {
+    public ResponseEntity<NotificationPage> getUserNotifications(@RequestParam(required = false) String before,
+                                                                 @RequestParam(required = false) String since,
+                                                                 @RequestParam(defaultValue = "20") int size) {
         User user = jwtUtil.getLoggedInUser();
-        logger.info("Fetching notifications for user ID: {}", user.getId());
-        return ResponseEntity.ok(notificationService.getUserNotifications(user.getId()));
+        logger.info("Fetching notifications for user ID: {} (before: {}, since: {})", user.getId(), before, since);
+        return ResponseEntity.ok(notificationService.getUserNotifications(user.getId(), before, since, size));
     }
-}
\ No newline at end of file
+
+    @GetMapping("/unread-count")
+    public ResponseEntity<Map<String, Long>> getUnreadCount() {
+        User user = jwtUtil.getLoggedInUser();
+        return ResponseEntity.ok(Map.of("unread", notificationService.countUnread(user.getId())));
+    }
+
+    @PutMapping("/read")
+    public ResponseEntity<Map<String, Integer>> markAsRead(@RequestBody MarkNotificationsReadRequest request) {
+        User user = jwtUtil.getLoggedInUser();
+        logger.info("Marking notifications read for user ID: {}", user.getId());
+        int updated = notificationService.markAsRead(user.getId(), request.getIds(), request.getUpTo());
+        return ResponseEntity.ok(Map.of("updated", updated));
+    }
+
+    // Pushes new notifications as Server-Sent Events, each with its cursor as the event id; reconnecting
+    // clients send Last-Event-ID to get what they missed
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamNotifications(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        User user = jwtUtil.getLoggedInUser();
+        if (user == null) {
+            logger.warn("Unauthorized access attempt to notification stream");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        logger.info("Opening notification stream for user ID: {} after event {}", user.getId(), lastEventId);
+        return ResponseEntity.ok(notificationHub.subscribe(user.getId(), lastEventId));
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one item of a bulk task request, reported at the item's position in the request
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTaskResult {
+
+    private int index;
+    private Long taskId;
+    private boolean success;
+    private String error;
+
+    public static BulkTaskResult succeeded(int index, Long taskId) {
+        return new BulkTaskResult(index, taskId, true, null);
+    }
+
+    public static BulkTaskResult failed(int index, Long taskId, String error) {
+        return new BulkTaskResult(index, taskId, false, error);
+    }
+}
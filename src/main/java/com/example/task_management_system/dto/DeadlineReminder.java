@@ -0,0 +1,20 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One due task together with the assignee's contact details, read in a single join
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadlineReminder {
+
+    private Long userId;
+    private String email;
+    private String name;
+    private Long taskId;
+    private String title;
+    private String description;
+    private String priority;
+}
@@ -0,0 +1,22 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeThroughput {
+
+    private Long employeeId;
+    private String name;
+    private long totalTasks;
+    private long completedTasks;
+    private long overdueTasks;
+
+    // tasks completed over the past seven days
+    private long completedLastWeek;
+
+    private double completionPercentage;
+}
@@ -0,0 +1,17 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkNotificationsReadRequest {
+
+    // either the ids to mark, or the cursor of a notification to mark it and everything older
+    private List<Long> ids;
+    private String upTo;
+}
@@ -0,0 +1,30 @@
+package com.example.task_management_system.dto;
+
+import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.utils.NotificationCursor;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationDto {
+
+    private Long id;
+    private String message;
+    private LocalDateTime createdAt;
+    private boolean read;
+
+    // where this notification sits in the list; pass it back as "before" or "since"
+    public String getCursor() {
+        return id == null || createdAt == null ? null : NotificationCursor.of(createdAt, id).encode();
+    }
+
+    public static NotificationDto fromNotification(Notification notification) {
+        return new NotificationDto(notification.getId(), notification.getMessage(), notification.getCreatedAt(),
+                notification.isRead());
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificationPage {
+
+    private List<NotificationDto> notifications;
+
+    // cursor to pass back in the same parameter (before or since) for the next page, null when there is none
+    private String nextCursor;
+}
@@ -0,0 +1,27 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// Fleet-wide task figures for the admin dashboard
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrganizationAnalytics {
+
+    private long totalTasks;
+    private long completedTasks;
+    private double completionPercentage;
+
+    // open tasks whose deadline has passed
+    private long overdueTasks;
+
+    private Map<String, Long> priorityDistribution;
+
+    // busiest first, by tasks completed over the past week
+    private List<EmployeeThroughput> employees;
+}
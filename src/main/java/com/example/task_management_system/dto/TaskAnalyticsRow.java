@@ -0,0 +1,22 @@
+package com.example.task_management_system.dto;
+
+import com.example.task_management_system.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+// The few task columns the organization analytics need, streamed without loading entities
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskAnalyticsRow {
+
+    private Long userId;
+    private TaskStatus taskStatus;
+    private String priority;
+    private Date deadline;
+    private LocalDateTime completedAt;
+}
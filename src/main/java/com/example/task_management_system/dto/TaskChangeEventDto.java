@@ -0,0 +1,34 @@
+package com.example.task_management_system.dto;
+
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.enums.TaskStatus;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeEventDto {
+
+    private long offset;
+    private Long taskId;
+    private TaskChangeType type;
+    private TaskStatus fromStatus;
+    private TaskStatus toStatus;
+
+    // stored as JSON already, so it is written out as is
+    @JsonRawValue
+    private String changes;
+
+    private LocalDateTime occurredAt;
+
+    public static TaskChangeEventDto fromEvent(TaskChangeEvent event) {
+        return new TaskChangeEventDto(event.getFeedOffset(), event.getTaskId(), event.getChangeType(),
+                event.getFromStatus(), event.getToStatus(), event.getChanges(), event.getOccurredAt());
+    }
+}
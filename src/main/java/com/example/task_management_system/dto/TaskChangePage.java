@@ -0,0 +1,18 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangePage {
+
+    private List<TaskChangeEventDto> events;
+
+    // offset to pass back as "after" for the next page; the same offset again when nothing new arrived
+    private long nextOffset;
+}
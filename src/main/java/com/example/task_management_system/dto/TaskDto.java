@@ -1,6 +1,7 @@
 package com.example.task_management_system.dto;
 
 import com.example.task_management_system.enums.TaskStatus;
+import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -8,6 +9,8 @@ import java.util.Date;
 
 
 @NoArgsConstructor
+// used by the JPQL constructor expressions in TaskRepository, keep the field order in sync
+@AllArgsConstructor
 @Data
 public class TaskDto {
     private Long id;
@@ -19,4 +22,6 @@ public class TaskDto {
     private TaskStatus taskStatus;
     private Long employeeId;
     private String employeeName;
+    // read-only; updates send it back as If-Match
+    private Long version;
 }
\ No newline at end of file
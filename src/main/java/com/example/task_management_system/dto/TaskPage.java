@@ -0,0 +1,18 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskPage {
+
+    private List<TaskDto> tasks;
+
+    // opaque cursor to pass back for the next page, null when this is the last page
+    private String nextCursor;
+}
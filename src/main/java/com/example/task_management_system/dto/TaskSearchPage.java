@@ -0,0 +1,20 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSearchPage {
+
+    // best match first
+    private List<TaskDto> tasks;
+
+    private long totalHits;
+    private int page;
+    private int size;
+}
@@ -0,0 +1,38 @@
+package com.example.task_management_system.dto;
+
+import com.example.task_management_system.enums.TaskStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Date;
+
+// A task and its assignee's name as a status change sees them, read in one join without loading the entity;
+// used by the JPQL constructor expression in TaskRepository, keep the field order in sync. It carries every
+// TaskDto field on purpose: the status endpoint answers with the whole task, and the change feed event
+// records the whole task state. Only the status, completedAt, timeEstimate, title and user id drive the update
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatusRow {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Date createdDate;
+    private Date deadline;
+    private String priority;
+    private TaskStatus taskStatus;
+    private LocalDateTime completedAt;
+    private Integer timeEstimate;
+    private Long employeeId;
+    private String employeeName;
+    private Long version;
+
+    // The response after this row's status changed; the conditional update bumped the version by one
+    public TaskDto toTaskDto(TaskStatus status, long newVersion) {
+        return new TaskDto(id, title, description, createdDate, deadline, priority, status, employeeId, employeeName,
+                newVersion);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.task_management_system.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// Everything the analytics dashboard shows for one user
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAnalytics {
+
+    private double completionPercentage;
+
+    // MONDAY..SUNDAY, tasks completed over the past week
+    private Map<String, Long> weeklyTrends;
+
+    // left out when no completed task has an estimate
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Double averageCompletionTime;
+}
@@ -0,0 +1,21 @@
+package com.example.task_management_system.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// A user's task totals joined with one of their daily completion buckets; the bucket is null when there is none
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserAnalyticsRow {
+
+    private long totalTasks;
+    private long completedTasks;
+    private long completedEstimateSum;
+    private long completedEstimateCount;
+    private LocalDate completionDate;
+    private Long completedOnDate;
+}
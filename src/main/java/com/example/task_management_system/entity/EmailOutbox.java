@@ -0,0 +1,51 @@
+package com.example.task_management_system.entity;
+
+import com.example.task_management_system.enums.EmailStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// An email to send, written in the same transaction as the change that causes it so it survives a crash
+@Entity
+@Table(name = "email_outbox", indexes = @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutbox {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String recipient;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(nullable = false, length = 4000)
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private EmailStatus status;
+
+    private int attempts;
+
+    // not picked up before this time; pushed back after each failed attempt
+    private LocalDateTime nextAttemptAt;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime sentAt;
+
+    @Column(length = 500)
+    private String lastError;
+
+    public static EmailOutbox pending(String recipient, String subject, String body) {
+        LocalDateTime now = LocalDateTime.now();
+        return new EmailOutbox(null, recipient, subject, body, EmailStatus.PENDING, 0, now, now, null, null);
+    }
+}
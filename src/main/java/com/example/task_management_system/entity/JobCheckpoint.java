@@ -0,0 +1,30 @@
+package com.example.task_management_system.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Progress of one partition of one job run, so a run that dies part way resumes where it stopped
+@Entity
+@Table(name = "job_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobCheckpoint {
+    // "<job>:<run date>:<partition>"
+    @Id
+    private String id;
+
+    private Long lastUserId;
+
+    private Long lastTaskId;
+
+    private boolean completed;
+
+    private LocalDateTime updatedAt;
+}
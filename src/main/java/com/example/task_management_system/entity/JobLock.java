@@ -0,0 +1,25 @@
+package com.example.task_management_system.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A named lease in the database; whichever node holds an unexpired lease runs the job
+@Entity
+@Table(name = "job_locks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JobLock {
+    @Id
+    private String name;
+
+    private String owner;
+
+    private LocalDateTime lockedUntil;
+}
@@ -11,14 +11,23 @@ import java.time.LocalDateTime;
 
 
 @Entity
-@Table(name = "notifications")
+// (user_id, created_at) serves the per-user list, (user_id, is_read) the unread count, created_at the retention purge
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created", columnList = "user_id, created_at"),
+        @Index(name = "idx_notifications_user_read", columnList = "user_id, is_read"),
+        @Index(name = "idx_notifications_created", columnList = "created_at")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notification {
+    // pooled sequence (a table on MySQL) rather than IDENTITY, so Hibernate can batch inserts. Each node
+    // takes its own block of 50, so ids do not follow creation order across nodes; IdSequenceSeeder keeps
+    // the sequence ahead of rows written before the switch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notification_seq")
+    @SequenceGenerator(name = "notification_seq", sequenceName = "notification_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -30,4 +39,8 @@ public class Notification {
 
 
     private LocalDateTime createdAt;
+
+    // "read" is a reserved word in MySQL
+    @Column(name = "is_read", nullable = false)
+    private boolean read;
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.example.task_management_system.dto.TaskDto;
 import com.example.task_management_system.enums.TaskStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -13,11 +15,25 @@ import java.util.Date;
 
 @Data
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", indexes = {
+        // backs the keyset pagination of the admin task list
+        @Index(name = "idx_tasks_deadline_id", columnList = "deadline, id"),
+        // backs the per-user walk of the deadline reminder job
+        @Index(name = "idx_tasks_deadline_user_id", columnList = "deadline, user_id, id")
+})
+// Not second-level cached: tasks are edited on every node, and the per-node cache is only updated by that
+// node's own writes, so a copy cached elsewhere would serve stale fields and, through @Version, fail updates
+// UPDATEs set only the columns that changed: a status change writes task_status, completed_at and version,
+// not the TEXT description. Status changes all share one statement shape, so bulk ones still batch
+@DynamicUpdate
 public class Task {
 
+    // pooled sequence (a table on MySQL) rather than IDENTITY, so Hibernate can batch inserts. Each node
+    // takes its own block of 50, so ids do not follow creation order across nodes; IdSequenceSeeder keeps
+    // the sequence ahead of rows written before the switch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "task_seq")
+    @SequenceGenerator(name = "task_seq", sequenceName = "task_seq", allocationSize = 50)
     private Long id;
 
 
@@ -49,6 +65,13 @@ public class Task {
     @Column(name = "time_estimate_minutes")
     private Integer timeEstimate;
 
+    // optimistic lock: every UPDATE runs "... where id = ? and version = ?", so concurrent writers cannot
+    // overwrite each other; also the task's ETag. The default backfills rows that predate the column
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     // this method to call when task is completed
     public void markComplete() {
         this.taskStatus = TaskStatus.COMPLETED;
@@ -72,6 +95,7 @@ public class Task {
         dto.setTaskStatus(task.getTaskStatus());
         dto.setEmployeeId(task.getUser() != null ? task.getUser().getId() : null);
         dto.setEmployeeName(task.getUser() != null ? task.getUser().getName() : null);
+        dto.setVersion(task.getVersion());
         return dto;
     }
 }
@@ -0,0 +1,52 @@
+package com.example.task_management_system.entity;
+
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.enums.TaskStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One change to a task, written in the same transaction as the change; TaskChangeSequencer gives it its feed offset
+@Entity
+// the offset index serves both the feed reads and the sequencer's scan for rows still without one
+@Table(name = "task_change_events", indexes = @Index(name = "idx_task_change_events_offset", columnList = "feed_offset", unique = true))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeEvent {
+    // IDENTITY on purpose: the value is taken at insert time, which is what orders two changes of one task
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // position in the feed; null until the sequencer has seen the row committed
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+
+    // no foreign key, the events of a deleted task stay
+    @Column(nullable = false)
+    private Long taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private TaskChangeType changeType;
+
+    // set when the status changed (or the task was created or deleted)
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private TaskStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(length = 32)
+    private TaskStatus toStatus;
+
+    // JSON object of the new field values: every field for CREATED, the changed ones for UPDATED
+    @Column(columnDefinition = "TEXT")
+    private String changes;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -3,8 +3,11 @@ package com.example.task_management_system.entity;
 import com.example.task_management_system.dto.UserDto;
 import com.example.task_management_system.enums.UserRole;
 
+import com.example.task_management_system.service.jwt.PrincipalCacheInvalidationListener;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,7 +17,14 @@ import java.util.List;
 
 @Data
 @Entity
-@Table(name = "users")
+// the unique index also serves every lookup by email (login, JWT principal, signup check)
+@Table(name = "users", uniqueConstraints = @UniqueConstraint(name = "uk_users_email", columnNames = "email"))
+@EntityListeners(PrincipalCacheInvalidationListener.class)
+// second-level cached by id (lookups by email still go to the database). The cache is per node; the only update
+// after signup is the password rehash at login, which no by-id reader uses (see hibernate-cache.conf), and a row
+// changed by hand shows up within the region's expiry
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User implements UserDetails {
 
 
@@ -26,6 +36,7 @@ public class User implements UserDetails {
     private String name;
 
 
+    @Column(nullable = false)
     private String email;
 
 
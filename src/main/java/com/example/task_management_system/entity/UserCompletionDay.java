@@ -0,0 +1,21 @@
+package com.example.task_management_system.entity;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Number of tasks a user completed on one day
+@Entity
+@Table(name = "user_completion_days")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCompletionDay {
+    @EmbeddedId
+    private UserCompletionDayId id;
+
+    private long completedTasks;
+}
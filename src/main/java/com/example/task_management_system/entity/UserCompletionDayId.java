@@ -0,0 +1,22 @@
+package com.example.task_management_system.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserCompletionDayId implements Serializable {
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "completion_date")
+    private LocalDate completionDate;
+}
@@ -0,0 +1,30 @@
+package com.example.task_management_system.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Running task totals for one user, kept in step by the task write paths (see TaskStatsRecorder)
+@Entity
+@Table(name = "user_task_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserTaskStats {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    private long totalTasks;
+
+    private long completedTasks;
+
+    // time estimates of completed tasks that have one, for the average
+    private long completedEstimateSum;
+
+    private long completedEstimateCount;
+}
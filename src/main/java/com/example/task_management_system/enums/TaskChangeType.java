@@ -0,0 +1,8 @@
+package com.example.task_management_system.enums;
+
+public enum TaskChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+}
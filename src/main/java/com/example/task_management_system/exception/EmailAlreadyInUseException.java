@@ -0,0 +1,9 @@
+package com.example.task_management_system.exception;
+
+
+// Signup with an email that already belongs to an account
+public class EmailAlreadyInUseException extends IllegalArgumentException {
+    public EmailAlreadyInUseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.task_management_system.exception;
+
+
+// A request parameter the client got wrong (malformed cursor, page or batch over its limit, bad header);
+// only this type becomes a 400, an IllegalArgumentException from anywhere else is still a bug
+public class InvalidRequestException extends IllegalArgumentException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.task_management_system.exception;
+
+
+// Another node (or request) holds the lease of the job that was asked to run; retry once it has finished
+public class JobAlreadyRunningException extends RuntimeException {
+    public JobAlreadyRunningException(String message) {
+        super(message);
+    }
+}
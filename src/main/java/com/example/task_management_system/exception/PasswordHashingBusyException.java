@@ -0,0 +1,9 @@
+package com.example.task_management_system.exception;
+
+
+// Every password hashing worker is busy and the queue is full, or the wait for one timed out
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.task_management_system.exception;
+
+
+// The client's If-Match names a version that is no longer current; it should re-read and reapply its change
+public class PreconditionFailedException extends RuntimeException {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
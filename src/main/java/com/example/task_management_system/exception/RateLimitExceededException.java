@@ -0,0 +1,16 @@
+package com.example.task_management_system.exception;
+
+
+// Too many attempts from one client or for one account; retry after the given number of seconds
+public class RateLimitExceededException extends RuntimeException {
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
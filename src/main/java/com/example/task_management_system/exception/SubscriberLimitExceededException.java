@@ -0,0 +1,9 @@
+package com.example.task_management_system.exception;
+
+
+// This node already holds as many notification streams as it is configured to
+public class SubscriberLimitExceededException extends RuntimeException {
+    public SubscriberLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.EmailOutbox;
+import com.example.task_management_system.enums.EmailStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, Long> {
+
+    // emails whose next attempt is due, oldest first
+    List<EmailOutbox> findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(EmailStatus status,
+                                                                             LocalDateTime now,
+                                                                             Pageable pageable);
+
+    @Modifying
+    @Query("update EmailOutbox e set e.status = com.example.task_management_system.enums.EmailStatus.SENT, " +
+            "e.sentAt = :sentAt, e.attempts = e.attempts + 1 where e.id in :ids")
+    int markSent(@Param("ids") Collection<Long> ids, @Param("sentAt") LocalDateTime sentAt);
+}
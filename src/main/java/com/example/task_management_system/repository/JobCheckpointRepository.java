@@ -0,0 +1,7 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, String> {
+}
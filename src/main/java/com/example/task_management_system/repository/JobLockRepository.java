@@ -0,0 +1,25 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.JobLock;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+
+public interface JobLockRepository extends JpaRepository<JobLock, String> {
+
+    // Takes the lease if it has expired or is already ours (which renews it); returns the rows updated
+    @Modifying
+    @Query("update JobLock l set l.owner = :owner, l.lockedUntil = :until " +
+            "where l.name = :name and (l.lockedUntil < :now or l.owner = :owner)")
+    int claim(@Param("name") String name,
+              @Param("owner") String owner,
+              @Param("now") LocalDateTime now,
+              @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Query("update JobLock l set l.lockedUntil = :now where l.name = :name and l.owner = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+}
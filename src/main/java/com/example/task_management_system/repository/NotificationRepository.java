@@ -1,13 +1,59 @@
 package com.example.task_management_system.repository;
 
+import com.example.task_management_system.dto.NotificationDto;
 import com.example.task_management_system.entity.Notification;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
-    List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
+    String SELECT_DTO = "SELECT new com.example.task_management_system.dto.NotificationDto(" +
+            "n.id, n.message, n.createdAt, n.read) FROM Notification n ";
 
-}
\ No newline at end of file
+    // Pages follow (created_at, id), the idx_notifications_user_created order; ids alone are not creation
+    // ordered across nodes (see NotificationCursor). Newest first:
+    @Query(SELECT_DTO + "WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findLatest(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(SELECT_DTO + "WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDto> findBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Pageable pageable);
+
+    // newer than the cursor, oldest first (list polling and stream resume)
+    @Query(SELECT_DTO + "WHERE n.user.id = :userId " +
+            "AND (n.createdAt > :createdAt OR (n.createdAt = :createdAt AND n.id > :id)) " +
+            "ORDER BY n.createdAt ASC, n.id ASC")
+    List<NotificationDto> findAfter(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                    @Param("id") Long id, Pageable pageable);
+
+    long countByUserIdAndReadFalse(Long userId);
+
+    // scoped to the user, so ids belonging to someone else are ignored
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false AND n.id IN :ids")
+    int markRead(@Param("userId") Long userId, @Param("ids") Collection<Long> ids);
+
+    // everything at or before the cursor in list order, i.e. what the user has scrolled past
+    @Modifying
+    @Query("UPDATE Notification n SET n.read = true WHERE n.user.id = :userId AND n.read = false " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id <= :id))")
+    int markReadUpTo(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt, @Param("id") Long id);
+
+    // retention: one batch of expired ids at a time, so each delete stays short
+    @Query("SELECT n.id FROM Notification n WHERE n.createdAt < :cutoff ORDER BY n.id")
+    List<Long> findIdsCreatedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
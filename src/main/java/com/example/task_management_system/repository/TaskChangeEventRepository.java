@@ -0,0 +1,23 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.TaskChangeEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface TaskChangeEventRepository extends JpaRepository<TaskChangeEvent, Long> {
+
+    // the feed: events past the consumer's offset, oldest first
+    @Query("SELECT e FROM TaskChangeEvent e WHERE e.feedOffset > :after ORDER BY e.feedOffset ASC")
+    List<TaskChangeEvent> findAfter(@Param("after") long after, Pageable pageable);
+
+    // committed events still waiting for an offset, in insert order
+    @Query("SELECT e FROM TaskChangeEvent e WHERE e.feedOffset IS NULL ORDER BY e.id ASC")
+    List<TaskChangeEvent> findUnsequenced(Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(e.feedOffset), 0) FROM TaskChangeEvent e")
+    long findLastOffset();
+}
@@ -1,26 +1,109 @@
 package com.example.task_management_system.repository;
 
+import com.example.task_management_system.dto.DeadlineReminder;
+import com.example.task_management_system.dto.TaskAnalyticsRow;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskStatusRow;
 import com.example.task_management_system.entity.Task;
 import com.example.task_management_system.enums.TaskStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
-import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
 
 public interface TaskRepository extends JpaRepository<Task, Long> {
 
-    List<Task> findByTitleContainingIgnoreCase(String title);
+    // Builds TaskDto rows straight from the task/user join, so list endpoints never touch the lazy User proxy
+    String SELECT_TASK_DTO = "select new com.example.task_management_system.dto.TaskDto(" +
+            "t.id, t.title, t.description, t.createdDate, t.deadline, t.priority, t.taskStatus, u.id, u.name, t.version) " +
+            "from Task t join t.user u ";
+
+    // ========== DTO PROJECTIONS ========== //
+    @Query(SELECT_TASK_DTO + "where t.id = :id")
+    Optional<TaskDto> findTaskDtoById(@Param("id") Long id);
+
+    // loads search hits by id; callers restore the ranking order
+    @Query(SELECT_TASK_DTO + "where t.id in :ids")
+    List<TaskDto> findTaskDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(SELECT_TASK_DTO + "where u.id = :userId")
+    List<TaskDto> findTaskDtosByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_TASK_DTO + "where t.taskStatus = :status")
+    List<TaskDto> findTaskDtosByStatus(@Param("status") TaskStatus status);
+
+    @Query(SELECT_TASK_DTO + "where t.priority = :priority")
+    List<TaskDto> findTaskDtosByPriority(@Param("priority") String priority);
+
+    // ========== STATUS CHANGES ========== //
+    // the full row, not just the columns the UPDATE needs: the response is the whole TaskDto (see TaskStatusRow)
+    @Query("select new com.example.task_management_system.dto.TaskStatusRow(" +
+            "t.id, t.title, t.description, t.createdDate, t.deadline, t.priority, t.taskStatus, t.completedAt, " +
+            "t.timeEstimate, u.id, u.name, t.version) " +
+            "from Task t join t.user u where t.id = :id")
+    Optional<TaskStatusRow> findStatusRow(@Param("id") Long id);
+
+    // Compare-and-set on the status the caller read: no entity is loaded and nothing is locked before the
+    // UPDATE itself; 0 when another writer changed the status (or deleted the task) in between
+    @Modifying
+    @Query("update Task t set t.taskStatus = :status, t.completedAt = :completedAt, t.version = t.version + 1 " +
+            "where t.id = :id and t.taskStatus = :expected")
+    int updateStatusIfUnchanged(@Param("id") Long id,
+                                @Param("expected") TaskStatus expected,
+                                @Param("status") TaskStatus status,
+                                @Param("completedAt") LocalDateTime completedAt);
+
+    // ========== KEYSET PAGINATION (deadline DESC, id DESC) ========== //
+    // Tasks without a deadline sort after every dated task, matching MySQL's NULL-lowest ordering.
+
+    @Query(SELECT_TASK_DTO + "order by t.deadline desc, t.id desc")
+    List<TaskDto> findFirstPage(Pageable pageable);
+
+    @Query(SELECT_TASK_DTO +
+            "where t.deadline < :deadline or (t.deadline = :deadline and t.id < :id) or t.deadline is null " +
+            "order by t.deadline desc, t.id desc")
+    List<TaskDto> findPageAfter(@Param("deadline") Date deadline, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_TASK_DTO +
+            "where t.deadline is null and t.id < :id " +
+            "order by t.id desc")
+    List<TaskDto> findUndatedPageAfter(@Param("id") Long id, Pageable pageable);
 
-    List<Task> findByDeadline(LocalDate deadline);
-    List<Task> findByUserId(Long userId);
+    // Streams the full task list off a JDBC cursor; must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_TASK_DTO + "order by t.deadline desc, t.id desc")
+    Stream<TaskDto> streamAllOrderByDeadlineDesc();
 
-    List<Task> findByTaskStatus(TaskStatus taskStatus);
-    List<Task> findByPriority(String priority);
+    // ========== ORGANIZATION ANALYTICS ========== //
+    // Every task as a narrow row, off a JDBC cursor; must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "5000"))
+    @Query("select new com.example.task_management_system.dto.TaskAnalyticsRow(" +
+            "t.user.id, t.taskStatus, t.priority, t.deadline, t.completedAt) from Task t")
+    Stream<TaskAnalyticsRow> streamAnalyticsRows();
 
-    long countByUserId(Long userId);
-    long countByUserIdAndTaskStatus(Long userId, TaskStatus taskStatus);
-    List<Task> findByUserIdAndTaskStatusAndCompletedAtBetween(Long userId, TaskStatus status, LocalDateTime start, LocalDateTime end);
-    List<Task> findByUserIdAndTaskStatus(Long userId, TaskStatus status);
+    // ========== DEADLINE REMINDERS ========== //
+    // keyset page over (user, task) so each user's reminders arrive together; start from (0, 0).
+    // Users are split into partitions by id modulo the partition count (use 0 of 1 for everyone).
+    @Query("select new com.example.task_management_system.dto.DeadlineReminder(" +
+            "u.id, u.email, u.name, t.id, t.title, t.description, t.priority) " +
+            "from Task t join t.user u where t.deadline = :deadline and mod(u.id, :partitions) = :partition " +
+            "and (u.id > :userId or (u.id = :userId and t.id > :taskId)) order by u.id, t.id")
+    List<DeadlineReminder> findDeadlineRemindersAfter(@Param("deadline") Date deadline,
+                                                      @Param("partition") int partition,
+                                                      @Param("partitions") int partitions,
+                                                      @Param("userId") Long userId,
+                                                      @Param("taskId") Long taskId,
+                                                      Pageable pageable);
 }
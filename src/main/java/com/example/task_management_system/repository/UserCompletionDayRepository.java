@@ -0,0 +1,47 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.UserCompletionDay;
+import com.example.task_management_system.entity.UserCompletionDayId;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+public interface UserCompletionDayRepository extends JpaRepository<UserCompletionDay, UserCompletionDayId> {
+
+    // Creates the bucket from the delta or adds it in place, in one statement
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_completion_days"))
+    @Query(value = "insert into user_completion_days (user_id, completion_date, completed_tasks) " +
+            "values (:userId, :date, :delta) " +
+            "on duplicate key update completed_tasks = completed_tasks + values(completed_tasks)",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId, @Param("date") LocalDate date, @Param("delta") long delta);
+
+    @Query("select d from UserCompletionDay d " +
+            "where d.id.userId = :userId and d.id.completionDate between :from and :to")
+    List<UserCompletionDay> findForUserBetween(@Param("userId") Long userId,
+                                               @Param("from") LocalDate from,
+                                               @Param("to") LocalDate to);
+
+    // ========== REBUILD ========== //
+    @Modifying
+    @Query("delete from UserCompletionDay")
+    int deleteAllRows();
+
+    // naming the table written keeps Hibernate from dropping the whole second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_completion_days"))
+    @Query(value = "insert into user_completion_days (user_id, completion_date, completed_tasks) " +
+            "select user_id, cast(completed_at as date), count(*) from tasks " +
+            "where task_status = 'COMPLETED' and completed_at is not null " +
+            "group by user_id, cast(completed_at as date)", nativeQuery = true)
+    int insertFromTasks();
+}
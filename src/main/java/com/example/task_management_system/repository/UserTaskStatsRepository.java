@@ -0,0 +1,64 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.dto.UserAnalyticsRow;
+import com.example.task_management_system.entity.UserTaskStats;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.hibernate.jpa.HibernateHints.HINT_NATIVE_SPACES;
+
+public interface UserTaskStatsRepository extends JpaRepository<UserTaskStats, Long> {
+
+    // Creates the row from the deltas or adds them in place, in one statement, so concurrent writers
+    // never overwrite each other; the table is named so Hibernate leaves the rest of the L2 cache alone
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_task_stats"))
+    @Query(value = "insert into user_task_stats " +
+            "(user_id, total_tasks, completed_tasks, completed_estimate_sum, completed_estimate_count) " +
+            "values (:userId, :total, :completed, :estimateSum, :estimateCount) " +
+            "on duplicate key update total_tasks = total_tasks + values(total_tasks), " +
+            "completed_tasks = completed_tasks + values(completed_tasks), " +
+            "completed_estimate_sum = completed_estimate_sum + values(completed_estimate_sum), " +
+            "completed_estimate_count = completed_estimate_count + values(completed_estimate_count)",
+            nativeQuery = true)
+    int applyDelta(@Param("userId") Long userId,
+                   @Param("total") long total,
+                   @Param("completed") long completed,
+                   @Param("estimateSum") long estimateSum,
+                   @Param("estimateCount") long estimateCount);
+
+    // The whole dashboard in one round trip: the totals repeated on each of the user's buckets in the range
+    @Query("select new com.example.task_management_system.dto.UserAnalyticsRow(" +
+            "s.totalTasks, s.completedTasks, s.completedEstimateSum, s.completedEstimateCount, " +
+            "d.id.completionDate, d.completedTasks) " +
+            "from UserTaskStats s left join UserCompletionDay d " +
+            "on d.id.userId = s.userId and d.id.completionDate between :from and :to " +
+            "where s.userId = :userId")
+    List<UserAnalyticsRow> findAnalyticsRows(@Param("userId") Long userId,
+                                             @Param("from") LocalDate from,
+                                             @Param("to") LocalDate to);
+
+    // ========== REBUILD ========== //
+    @Modifying
+    @Query("delete from UserTaskStats")
+    int deleteAllRows();
+
+    // naming the table written keeps Hibernate from dropping the whole second-level cache
+    @Modifying
+    @QueryHints(@QueryHint(name = HINT_NATIVE_SPACES, value = "user_task_stats"))
+    @Query(value = "insert into user_task_stats " +
+            "(user_id, total_tasks, completed_tasks, completed_estimate_sum, completed_estimate_count) " +
+            "select user_id, count(*), " +
+            "sum(case when task_status = 'COMPLETED' then 1 else 0 end), " +
+            "coalesce(sum(case when task_status = 'COMPLETED' then time_estimate_minutes end), 0), " +
+            "count(case when task_status = 'COMPLETED' then time_estimate_minutes end) " +
+            "from tasks group by user_id", nativeQuery = true)
+    int insertFromTasks();
+}
@@ -1,10 +1,14 @@
 package com.example.task_management_system.service.admin;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskPage;
+import com.example.task_management_system.dto.TaskSearchPage;
 import com.example.task_management_system.dto.UserDto;
 import com.example.task_management_system.enums.TaskStatus;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface AdminService {
 
@@ -14,8 +18,14 @@ public interface AdminService {
     // Create a new task and assign it
     TaskDto createTask(TaskDto taskDto);
 
-    // Fetch all tasks in the system
-    List<TaskDto> getAllTasks();
+    // Create many tasks in one transaction, reporting success or failure per item
+    List<BulkTaskResult> createTasks(List<TaskDto> taskDtos);
+
+    // Fetch one page of tasks ordered by deadline (latest first), starting after the given cursor
+    TaskPage getTasksPage(String cursor, int size);
+
+    // Stream every task in deadline order to the sink without materialising the full list
+    void streamAllTasks(Consumer<TaskDto> sink);
 
     // Remove a task by its ID
     void deleteTask(Long id);
@@ -23,11 +33,11 @@ public interface AdminService {
     // Find a specific task using its ID
     TaskDto getTaskById(Long id);
 
-    // Update task details by ID
-    TaskDto updateTask(Long id, TaskDto taskDto);
+    // Update task details by ID; with an expected version (If-Match) only if the task is still at it
+    TaskDto updateTask(Long id, TaskDto taskDto, Long expectedVersion);
 
-    // Search tasks that match a given title
-    List<TaskDto> searchTasksByTitle(String title);
+    // Full-text search over task titles and descriptions, best match first
+    TaskSearchPage searchTasks(String query, int page, int size);
 
     // Get tasks filtered by their current status (e.g., PENDING, COMPLETED)
     List<TaskDto> filterTasksByStatus(TaskStatus status);
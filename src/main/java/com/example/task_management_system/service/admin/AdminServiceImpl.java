@@ -1,34 +1,63 @@
 package com.example.task_management_system.service.admin;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskPage;
+import com.example.task_management_system.dto.TaskSearchPage;
 import com.example.task_management_system.dto.UserDto;
 import com.example.task_management_system.entity.Task;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.TaskStatus;
 import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.exception.InvalidRequestException;
+import com.example.task_management_system.exception.PreconditionFailedException;
 import com.example.task_management_system.repository.TaskRepository;
 import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
 import com.example.task_management_system.service.notification.NotificationService;
+import com.example.task_management_system.service.search.TaskSearchIndex;
+import com.example.task_management_system.utils.TaskCursor;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class AdminServiceImpl implements AdminService {
     private static final Logger logger = LoggerFactory.getLogger(AdminServiceImpl.class);
+    static final int MAX_PAGE_SIZE = 500;
+    static final int MAX_BULK_SIZE = 10_000;
+    static final int MAX_SEARCH_PAGE_SIZE = 100;
+    static final int MAX_SEARCH_DEPTH = 10_000;
+    private static final int BULK_FLUSH_SIZE = 1_000;
     private final UserRepository userRepository;
     private final TaskRepository taskRepository;
     private final NotificationService notificationService;
+    private final EntityManager entityManager;
+    private final TaskSearchIndex taskSearchIndex;
+    private final TaskStatsRecorder taskStatsRecorder;
+    private final TaskChangeRecorder taskChangeRecorder;
 
     @Override
     public List<UserDto> getUsers() {
@@ -59,6 +88,74 @@ public class AdminServiceImpl implements AdminService {
         newTask.setTaskStatus(TaskStatus.PENDING);
         newTask.setUser(assignedUser);*/
 
+        Task savedTask = taskRepository.save(buildTask(taskDto, assignedUser));
+        taskSearchIndex.index(savedTask);
+        taskStatsRecorder.recordChange(null, TaskStatsRecorder.Snapshot.of(savedTask));
+        taskChangeRecorder.recordChange(savedTask.getId(), null, TaskChangeRecorder.State.of(savedTask));
+        logger.info("Created task ID {} for employee {}", savedTask.getId(), assignedUser.getId());
+
+        notificationService.createInAppNotification(
+                assignedUser,
+                "New task assigned: " + taskDto.getTitle()
+        );
+
+        return Task.fromTask(savedTask);
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTaskResult> createTasks(List<TaskDto> taskDtos) {
+        if (taskDtos.size() > MAX_BULK_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_BULK_SIZE + " tasks per bulk request");
+        }
+        logger.info("Bulk creating {} tasks", taskDtos.size());
+
+        // resolve every assignee with one IN query instead of a findById per task
+        Set<Long> employeeIds = taskDtos.stream()
+                .map(TaskDto::getEmployeeId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, User> employees = userRepository.findAllById(employeeIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<BulkTaskResult> results = new ArrayList<>(taskDtos.size());
+        TaskStatsRecorder.Changes statChanges = new TaskStatsRecorder.Changes();
+        TaskChangeRecorder.Changes taskChanges = new TaskChangeRecorder.Changes();
+        int pending = 0;
+        for (int i = 0; i < taskDtos.size(); i++) {
+            TaskDto taskDto = taskDtos.get(i);
+            User assignedUser = employees.get(taskDto.getEmployeeId());
+            if (assignedUser == null) {
+                results.add(BulkTaskResult.failed(i, null, "Employee doesn't exist"));
+                continue;
+            }
+
+            // ids come from the pooled sequence, so the INSERTs are deferred and batched at flush
+            Task savedTask = taskRepository.save(buildTask(taskDto, assignedUser));
+            taskSearchIndex.index(savedTask);
+            statChanges.add(null, TaskStatsRecorder.Snapshot.of(savedTask));
+            taskChanges.add(savedTask.getId(), null, TaskChangeRecorder.State.of(savedTask));
+            results.add(BulkTaskResult.succeeded(i, savedTask.getId()));
+            notificationService.createInAppNotification(
+                    assignedUser,
+                    "New task assigned: " + taskDto.getTitle()
+            );
+
+            if (++pending == BULK_FLUSH_SIZE) {
+                entityManager.flush();
+                entityManager.clear();
+                pending = 0;
+            }
+        }
+
+        taskStatsRecorder.apply(statChanges);
+        taskChangeRecorder.apply(taskChanges);
+        logger.info("Bulk created {} of {} tasks", results.stream().filter(BulkTaskResult::isSuccess).count(),
+                taskDtos.size());
+        return results;
+    }
+
+    private Task buildTask(TaskDto taskDto, User assignedUser) {
         Task newTask = new Task();
         newTask.setTitle(taskDto.getTitle());
         newTask.setDescription(taskDto.getDescription());
@@ -67,46 +164,76 @@ public class AdminServiceImpl implements AdminService {
         newTask.setTaskStatus(TaskStatus.PENDING);
         newTask.setUser(assignedUser);
         newTask.setCreatedDate(new Date());
+        return newTask;
+    }
 
-        Task savedTask = taskRepository.save(newTask);
-        logger.info("Created task ID {} for employee {}", savedTask.getId(), assignedUser.getId());
+    @Override
+    @Transactional(readOnly = true)
+    public TaskPage getTasksPage(String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        logger.info("Fetching task page of size {}", pageSize);
+        // ask for one extra row to find out whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
-        notificationService.createInAppNotification(
-                assignedUser,
-                "New task assigned: " + taskDto.getTitle()
-        );
+        List<TaskDto> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = taskRepository.findFirstPage(limit);
+        } else {
+            TaskCursor position = TaskCursor.decode(cursor);
+            rows = position.hasDeadline()
+                    ? taskRepository.findPageAfter(position.getDeadline(), position.getId(), limit)
+                    : taskRepository.findUndatedPageAfter(position.getId(), limit);
+        }
 
-        return Task.fromTask(savedTask);
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskDto> tasks = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TaskDto last = tasks.get(tasks.size() - 1);
+            nextCursor = TaskCursor.of(last.getDeadline(), last.getId()).encode();
+        }
+
+        logger.debug("Returning {} tasks, more available: {}", tasks.size(), hasMore);
+        return new TaskPage(tasks, nextCursor);
     }
 
     @Override
-    public List<TaskDto> getAllTasks() {
-        logger.info("Fetching all tasks");
-        return taskRepository.findAll().stream()
-                .sorted(Comparator.comparing(Task::getDeadline).reversed())
-                .map(Task::fromTask)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void streamAllTasks(Consumer<TaskDto> sink) {
+        logger.info("Streaming all tasks");
+        // DTO rows are not managed entities, so the persistence context stays empty however long the stream runs
+        try (Stream<TaskDto> tasks = taskRepository.streamAllOrderByDeadlineDesc()) {
+            tasks.forEach(sink);
+        }
     }
 
     @Override
     @Transactional
     public void deleteTask(Long id) {
         logger.info("deleting task ID: {}", id);
-        if (!taskRepository.existsById(id)) {
-            logger.warn("task not found for deletion: {}", id);
-            throw new EntityNotFoundException("Task doesn't exist");
-        }
-        taskRepository.deleteById(id);
+        Task task = taskRepository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("task not found for deletion: {}", id);
+                    return new EntityNotFoundException("Task doesn't exist");
+                });
+        // the rollups need what the task counted for, so load it rather than delete by id
+        taskStatsRecorder.recordChange(TaskStatsRecorder.Snapshot.of(task), null);
+        TaskChangeRecorder.State deleted = TaskChangeRecorder.State.of(task);
+        taskRepository.delete(task);
+        taskChangeRecorder.recordChange(id, deleted, null);
+        taskSearchIndex.remove(id);
         logger.info("task {} deleted successfully", id);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskDto getTaskById(Long id) {
         logger.debug("Looking up task ID: {}", id);
-        return taskRepository.findById(id)
+        // one join for the task and its assignee's name, cached or not
+        return taskRepository.findTaskDtoById(id)
                 .map(task -> {
                     logger.debug("Found task {}", id);
-                    return Task.fromTask(task);
+                    return task;
                 })
                 .orElseThrow(() -> {
                     logger.warn("Task not found: {}", id);
@@ -116,16 +243,23 @@ public class AdminServiceImpl implements AdminService {
 
     @Override
     @Transactional
-    public TaskDto updateTask(Long id, TaskDto taskDto) {
+    public TaskDto updateTask(Long id, TaskDto taskDto, Long expectedVersion) {
         logger.info("Updating task ID: {}", id);
         Task existingTask = taskRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.warn("Task not found for update: {}", id);
                     return new EntityNotFoundException("Task doesn't exist");
                 });
+        // a writer committing after this check still loses: the versioned UPDATE matches no row
+        if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+            logger.info("Task {} is at version {}, not the expected {}", id, existingTask.getVersion(), expectedVersion);
+            throw new PreconditionFailedException("Task has changed since version " + expectedVersion);
+        }
 
         String oldTitle = existingTask.getTitle();
         TaskStatus oldStatus = existingTask.getTaskStatus();
+        TaskStatsRecorder.Snapshot before = TaskStatsRecorder.Snapshot.of(existingTask);
+        TaskChangeRecorder.State previous = TaskChangeRecorder.State.of(existingTask);
 
         existingTask.setTitle(taskDto.getTitle());
         existingTask.setDescription(taskDto.getDescription());
@@ -133,7 +267,11 @@ public class AdminServiceImpl implements AdminService {
         existingTask.setPriority(taskDto.getPriority());
         existingTask.setTaskStatus(taskDto.getTaskStatus());
 
-        Task updatedTask = taskRepository.save(existingTask);
+        // flushed here so the returned version (and ETag) is the one the UPDATE wrote
+        Task updatedTask = taskRepository.saveAndFlush(existingTask);
+        taskSearchIndex.index(updatedTask);
+        taskStatsRecorder.recordChange(before, TaskStatsRecorder.Snapshot.of(updatedTask));
+        taskChangeRecorder.recordChange(id, previous, TaskChangeRecorder.State.of(updatedTask));
         logger.info("Task {} updated successfully", id);
 
 
@@ -155,31 +293,41 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public List<TaskDto> searchTasksByTitle(String title) {
-        logger.info("Searching tasks with title: {}", title);
-        if (title == null || title.trim().isEmpty()) {
+    public TaskSearchPage searchTasks(String query, int page, int size) {
+        logger.info("Searching tasks for: {}", query);
+        int pageSize = Math.max(1, Math.min(size, MAX_SEARCH_PAGE_SIZE));
+        int pageNumber = Math.max(0, page);
+        if ((long) (pageNumber + 1) * pageSize > MAX_SEARCH_DEPTH) {
+            throw new InvalidRequestException("Search results are limited to the first " + MAX_SEARCH_DEPTH + " matches");
+        }
+        if (query == null || query.trim().isEmpty()) {
             logger.debug("Empty search term provided");
-            return Collections.emptyList();
+            return new TaskSearchPage(Collections.emptyList(), 0, pageNumber, pageSize);
         }
 
-        return taskRepository.findByTitleContainingIgnoreCase(title).stream()
-                .map(Task::fromTask)
-                .collect(Collectors.toList());
+        // ranking comes from the index, the fields from one IN query
+        TaskSearchIndex.Hits hits = taskSearchIndex.search(query, pageNumber, pageSize);
+        if (hits.taskIds().isEmpty()) {
+            return new TaskSearchPage(Collections.emptyList(), hits.totalHits(), pageNumber, pageSize);
+        }
+        Map<Long, TaskDto> byId = taskRepository.findTaskDtosByIdIn(hits.taskIds()).stream()
+                .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+        List<TaskDto> tasks = hits.taskIds().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new TaskSearchPage(tasks, hits.totalHits(), pageNumber, pageSize);
     }
 
     @Override
     public List<TaskDto> filterTasksByStatus(TaskStatus status) {
         logger.info("Filtering tasks by status: {}", status);
-        return taskRepository.findByTaskStatus(status).stream()
-                .map(Task::fromTask)
-                .collect(Collectors.toList());
+        return taskRepository.findTaskDtosByStatus(status);
     }
 
     @Override
     public List<TaskDto> filterTasksByPriority(String priority) {
         logger.info("Filtering tasks by priority: {}", priority);
-        return taskRepository.findByPriority(priority).stream()
-                .map(Task::fromTask)
-                .collect(Collectors.toList());
+        return taskRepository.findTaskDtosByPriority(priority);
     }
 }
@@ -1,10 +1,16 @@
 package com.example.task_management_system.service.analyticservice;
 
+import com.example.task_management_system.dto.OrganizationAnalytics;
+import com.example.task_management_system.dto.UserAnalytics;
+
 import java.util.Map;
 import java.util.Optional;
 
 public interface AnalyticsService {
 
+        // Get completion percentage, weekly trends and average completion time with a single query
+        UserAnalytics getUserAnalytics(Long userId);
+
         // Get the percentage of tasks completed by a specific user
         double getCompletionPercentage(Long userId);
 
@@ -13,4 +19,10 @@ public interface AnalyticsService {
 
         // Get the average time taken by the user to complete tasks
         Optional<Double> getAverageCompletionTime(Long userId);
+
+        // Completion, overdue, priority and per-employee figures across every task (admin view)
+        OrganizationAnalytics getOrganizationAnalytics();
+
+        // Recompute every user's rollups from the tasks table; JobAlreadyRunningException while a rebuild runs
+        void rebuildStats();
 }
@@ -1,35 +1,79 @@
 package com.example.task_management_system.service.analyticservice;
 
-import com.example.task_management_system.entity.Task;
-import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.dto.EmployeeThroughput;
+import com.example.task_management_system.dto.OrganizationAnalytics;
+import com.example.task_management_system.dto.TaskAnalyticsRow;
+import com.example.task_management_system.dto.UserAnalytics;
+import com.example.task_management_system.dto.UserAnalyticsRow;
+import com.example.task_management_system.entity.UserCompletionDay;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.entity.UserTaskStats;
 import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 
 import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
+// Reads the per-user rollups maintained by TaskStatsRecorder, so no request scans the tasks table
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class AnalyticsServiceImpl implements AnalyticsService {
     private static final Logger logger = LoggerFactory.getLogger(AnalyticsServiceImpl.class);
+    private final UserTaskStatsRepository statsRepository;
+    private final UserCompletionDayRepository completionDayRepository;
     private final TaskRepository taskRepository;
+    private final UserRepository userRepository;
+    private final OrganizationStatsAggregator statsAggregator;
+    private final TaskStatsRebuilder statsRebuilder;
+
+    @Override
+    public UserAnalytics getUserAnalytics(Long userId) {
+        logger.debug("Loading analytics for user: {}", userId);
+        LocalDate endDate = LocalDate.now();
+        List<UserAnalyticsRow> rows = statsRepository.findAnalyticsRows(userId, endDate.minusWeeks(1), endDate);
+
+        Map<String, Long> trends = emptyWeek();
+        if (rows.isEmpty()) {
+            logger.debug("No tasks found for user: {}", userId);
+            return new UserAnalytics(0.0, trends, null);
+        }
+        for (UserAnalyticsRow row : rows) {
+            if (row.getCompletionDate() != null) {
+                trends.merge(row.getCompletionDate().getDayOfWeek().toString(), row.getCompletedOnDate(), Long::sum);
+            }
+        }
+
+        UserAnalyticsRow totals = rows.get(0);
+        return new UserAnalytics(
+                percentage(totals.getCompletedTasks(), totals.getTotalTasks()),
+                trends,
+                average(totals.getCompletedEstimateSum(), totals.getCompletedEstimateCount()));
+    }
 
     @Override
     public double getCompletionPercentage(Long userId) {
         logger.debug("Calculating completion percentage for user: {}", userId);
-        long totalTasks = taskRepository.countByUserId(userId);
-        if (totalTasks == 0) {
+        UserTaskStats stats = statsRepository.findById(userId).orElse(null);
+        if (stats == null || stats.getTotalTasks() == 0) {
             logger.debug("No tasks found for user: {}", userId);
             return 0.0;
         }
 
-        long completedTasks = taskRepository.countByUserIdAndTaskStatus(userId, TaskStatus.COMPLETED);
-        double percentage = Math.round((completedTasks * 100.0 / totalTasks) * 10) / 10.0;
+        double percentage = percentage(stats.getCompletedTasks(), stats.getTotalTasks());
         logger.debug("Completion percentage for user {}: {}%", userId, percentage);
         return percentage;
     }
@@ -38,32 +82,14 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     public Map<String, Long> getWeeklyCompletionTrends(Long userId) {
         logger.debug("Generating weekly trends for user: {}", userId);
 
-        // First get the completed tasks
         LocalDate endDate = LocalDate.now();
         LocalDate startDate = endDate.minusWeeks(1);
 
-        List<Task> completedTasks = taskRepository.findByUserIdAndTaskStatusAndCompletedAtBetween(
-                userId,
-                TaskStatus.COMPLETED,
-                startDate.atStartOfDay(),
-                endDate.plusDays(1).atStartOfDay()
-        );
-
-        // Initialize with all days of the week
-        Map<String, Long> trends = new LinkedHashMap<>();
-        String[] daysOfWeek = {"MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"};
-
-        // initialize all days with 0 count
-        for (String day : daysOfWeek) {
-            trends.put(day, 0L);
-        }
-
-        // count tasks per day
-        for (Task task : completedTasks) {
-            if (task.getCompletedAt() != null) {
-                String day = task.getCompletedAt().getDayOfWeek().toString();
-                trends.merge(day, 1L, Long::sum);
-            }
+        Map<String, Long> trends = emptyWeek();
+        // at most eight daily buckets
+        for (UserCompletionDay bucket : completionDayRepository.findForUserBetween(userId, startDate, endDate)) {
+            trends.merge(bucket.getId().getCompletionDate().getDayOfWeek().toString(),
+                    bucket.getCompletedTasks(), Long::sum);
         }
 
         return trends;
@@ -72,15 +98,67 @@ public class AnalyticsServiceImpl implements AnalyticsService {
     @Override
     public Optional<Double> getAverageCompletionTime(Long userId) {
         logger.debug("Calculating average completion time for user: {}", userId);
-        List<Task> completedTasks = taskRepository.findByUserIdAndTaskStatus(userId, TaskStatus.COMPLETED);
+        return statsRepository.findById(userId)
+                .map(stats -> average(stats.getCompletedEstimateSum(), stats.getCompletedEstimateCount()));
+    }
 
-        OptionalDouble average = completedTasks.stream()
-                .filter(task -> task.getTimeEstimate() != null)
-                .mapToInt(Task::getTimeEstimate)
-                .average();
+    // one decimal place
+    private static double percentage(long completed, long total) {
+        return total == 0 ? 0.0 : Math.round((completed * 100.0 / total) * 10) / 10.0;
+    }
+
+    private static Double average(long sum, long count) {
+        return count == 0 ? null : (double) sum / count;
+    }
+
+    // all days of the week with a 0 count, in calendar order
+    private static Map<String, Long> emptyWeek() {
+        Map<String, Long> trends = new LinkedHashMap<>();
+        for (DayOfWeek day : DayOfWeek.values()) {
+            trends.put(day.toString(), 0L);
+        }
+        return trends;
+    }
 
-        return average.isPresent()
-                ? Optional.of(average.getAsDouble())
-                : Optional.empty();
+    @Override
+    @Transactional(readOnly = true)
+    public OrganizationAnalytics getOrganizationAnalytics() {
+        logger.info("Computing organization analytics");
+        long started = System.currentTimeMillis();
+        OrganizationStats stats;
+        try (Stream<TaskAnalyticsRow> rows = taskRepository.streamAnalyticsRows()) {
+            stats = statsAggregator.aggregate(rows, LocalDate.now());
+        }
+
+        // names for the employees that have tasks, in one IN query
+        Map<Long, long[]> employeeCounts = stats.getEmployeeCounts();
+        Map<Long, String> names = userRepository.findAllById(employeeCounts.keySet()).stream()
+                .collect(Collectors.toMap(User::getId, User::getName));
+        List<EmployeeThroughput> employees = employeeCounts.entrySet().stream()
+                .map(entry -> toThroughput(entry.getKey(), names.get(entry.getKey()), entry.getValue()))
+                .sorted(Comparator.comparingLong(EmployeeThroughput::getCompletedLastWeek).reversed()
+                        .thenComparing(EmployeeThroughput::getEmployeeId))
+                .toList();
+
+        logger.info("Aggregated {} tasks for {} employees in {} ms", stats.getTotalTasks(), employees.size(),
+                System.currentTimeMillis() - started);
+        return new OrganizationAnalytics(stats.getTotalTasks(), stats.getCompletedTasks(),
+                percentage(stats.getCompletedTasks(), stats.getTotalTasks()), stats.getOverdueTasks(),
+                stats.getPriorityDistribution(), employees);
+    }
+
+    private static EmployeeThroughput toThroughput(Long employeeId, String name, long[] counts) {
+        return new EmployeeThroughput(employeeId, name,
+                counts[OrganizationStats.TOTAL],
+                counts[OrganizationStats.COMPLETED],
+                counts[OrganizationStats.OVERDUE],
+                counts[OrganizationStats.COMPLETED_LAST_WEEK],
+                percentage(counts[OrganizationStats.COMPLETED], counts[OrganizationStats.TOTAL]));
+    }
+
+    @Override
+    public void rebuildStats() {
+        logger.info("Rebuilding task analytics rollups");
+        statsRebuilder.rebuild();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.dto.TaskAnalyticsRow;
+import com.example.task_management_system.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Mergeable task counters for the organization dashboard. One instance is filled per chunk on a
+ * single thread, then chunk results are merged; counters are plain longs (per employee, a long[]
+ * cell) so adding a row allocates nothing once the employee and priority have been seen.
+ */
+public final class OrganizationStats {
+    static final int TOTAL = 0;
+    static final int COMPLETED = 1;
+    static final int OVERDUE = 2;
+    static final int COMPLETED_LAST_WEEK = 3;
+    private static final String NO_PRIORITY = "NONE";
+
+    // a deadline before this instant is overdue; completions at or after recentSince count as recent
+    private final long overdueBeforeMillis;
+    private final LocalDateTime recentSince;
+
+    private long totalTasks;
+    private long completedTasks;
+    private long overdueTasks;
+    private final Map<String, long[]> priorityCounts = new HashMap<>();
+    private final Map<Long, long[]> employeeCounts = new HashMap<>();
+
+    public OrganizationStats(LocalDate today) {
+        this(today.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                today.atStartOfDay().minusWeeks(1));
+    }
+
+    private OrganizationStats(long overdueBeforeMillis, LocalDateTime recentSince) {
+        this.overdueBeforeMillis = overdueBeforeMillis;
+        this.recentSince = recentSince;
+    }
+
+    // An empty accumulator with the same cut-offs, for another chunk
+    public OrganizationStats newEmpty() {
+        return new OrganizationStats(overdueBeforeMillis, recentSince);
+    }
+
+    public void add(TaskAnalyticsRow row) {
+        boolean completed = row.getTaskStatus() == TaskStatus.COMPLETED;
+        boolean overdue = !completed && row.getDeadline() != null && row.getDeadline().getTime() < overdueBeforeMillis;
+        boolean recent = completed && row.getCompletedAt() != null && !row.getCompletedAt().isBefore(recentSince);
+
+        totalTasks++;
+        if (completed) {
+            completedTasks++;
+        }
+        if (overdue) {
+            overdueTasks++;
+        }
+        String priority = row.getPriority() != null ? row.getPriority() : NO_PRIORITY;
+        priorityCounts.computeIfAbsent(priority, key -> new long[1])[0]++;
+
+        long[] employee = employeeCounts.computeIfAbsent(row.getUserId(), key -> new long[4]);
+        employee[TOTAL]++;
+        if (completed) {
+            employee[COMPLETED]++;
+        }
+        if (overdue) {
+            employee[OVERDUE]++;
+        }
+        if (recent) {
+            employee[COMPLETED_LAST_WEEK]++;
+        }
+    }
+
+    // Folds other into this one; other must not be used afterwards
+    public OrganizationStats merge(OrganizationStats other) {
+        totalTasks += other.totalTasks;
+        completedTasks += other.completedTasks;
+        overdueTasks += other.overdueTasks;
+        other.priorityCounts.forEach((priority, count) ->
+                priorityCounts.merge(priority, count, (mine, theirs) -> {
+                    mine[0] += theirs[0];
+                    return mine;
+                }));
+        other.employeeCounts.forEach((userId, counts) ->
+                employeeCounts.merge(userId, counts, (mine, theirs) -> {
+                    for (int i = 0; i < mine.length; i++) {
+                        mine[i] += theirs[i];
+                    }
+                    return mine;
+                }));
+        return this;
+    }
+
+    public long getTotalTasks() {
+        return totalTasks;
+    }
+
+    public long getCompletedTasks() {
+        return completedTasks;
+    }
+
+    public long getOverdueTasks() {
+        return overdueTasks;
+    }
+
+    public Map<String, Long> getPriorityDistribution() {
+        Map<String, Long> distribution = new HashMap<>();
+        priorityCounts.forEach((priority, count) -> distribution.put(priority, count[0]));
+        return distribution;
+    }
+
+    // userId -> counters indexed by TOTAL, COMPLETED, OVERDUE and COMPLETED_LAST_WEEK
+    Map<Long, long[]> getEmployeeCounts() {
+        return employeeCounts;
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.dto.TaskAnalyticsRow;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * Folds a stream of task rows into {@link OrganizationStats} on a dedicated fork-join pool.
+ * <p>
+ * The calling thread reads the rows (typically off a DB cursor) and cuts them into chunks; each
+ * chunk is counted on a worker into its own accumulator, and the results are merged back on the
+ * calling thread. At most two chunks per worker are in flight, so memory stays bounded however
+ * many rows the stream holds.
+ */
+@Component
+public class OrganizationStatsAggregator {
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+    private final int maxInFlight;
+
+    public OrganizationStatsAggregator(@Value("${analytics.organization.parallelism:0}") int parallelism,
+                                       @Value("${analytics.organization.chunk-size:10000}") int chunkSize) {
+        // 0 means one worker per core
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        this.pool = new ForkJoinPool(workers);
+        this.chunkSize = chunkSize;
+        this.maxInFlight = workers * 2;
+    }
+
+    public OrganizationStats aggregate(Stream<TaskAnalyticsRow> rows, LocalDate today) {
+        OrganizationStats result = new OrganizationStats(today);
+        Deque<CompletableFuture<OrganizationStats>> inFlight = new ArrayDeque<>();
+
+        Iterator<TaskAnalyticsRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            List<TaskAnalyticsRow> chunk = new ArrayList<>(chunkSize);
+            while (chunk.size() < chunkSize && iterator.hasNext()) {
+                chunk.add(iterator.next());
+            }
+            OrganizationStats partial = result.newEmpty();
+            inFlight.add(CompletableFuture.supplyAsync(() -> {
+                chunk.forEach(partial::add);
+                return partial;
+            }, pool));
+            // keep reading while workers count, but never hold more than maxInFlight chunks
+            if (inFlight.size() >= maxInFlight) {
+                result.merge(inFlight.poll().join());
+            }
+        }
+        while (!inFlight.isEmpty()) {
+            result.merge(inFlight.poll().join());
+        }
+        return result;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdown();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.exception.JobAlreadyRunningException;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
+import com.example.task_management_system.service.scheduling.JobLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * Recomputes the analytics rollups from the tasks table, one node at a time.
+ * <p>
+ * The rollups only receive deltas, so a fresh deploy (or an emptied table) starts from nothing;
+ * the first node to become ready backfills them while holding a database lease, and the other
+ * nodes skip. Manual rebuilds take the same lease and are rejected while it is held, so two
+ * delete-and-insert rebuilds never interleave. The rebuild is a single transaction, so the lease
+ * must outlast it.
+ */
+@Component
+public class TaskStatsRebuilder {
+    private static final Logger logger = LoggerFactory.getLogger(TaskStatsRebuilder.class);
+    static final String JOB_NAME = "analytics-rebuild";
+
+    private final JobLockService jobLockService;
+    private final UserTaskStatsRepository statsRepository;
+    private final UserCompletionDayRepository completionDayRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+
+    public TaskStatsRebuilder(JobLockService jobLockService,
+                              UserTaskStatsRepository statsRepository,
+                              UserCompletionDayRepository completionDayRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${analytics.rebuild.lease:30m}") Duration lease) {
+        this.jobLockService = jobLockService;
+        this.statsRepository = statsRepository;
+        this.completionDayRepository = completionDayRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lease = lease;
+    }
+
+    // Backfills the rollups once when they are empty, e.g. on the first start after they were introduced
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        if (statsRepository.count() > 0) {
+            return;
+        }
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            logger.info("Analytics rollups are empty; another node is rebuilding them");
+            return;
+        }
+        try {
+            // a node that held the lease a moment ago may have filled them already
+            if (statsRepository.count() == 0) {
+                logger.info("Analytics rollups are empty, backfilling them from the tasks table");
+                rebuildHoldingLease();
+            }
+        } finally {
+            jobLockService.release(JOB_NAME);
+        }
+    }
+
+    public void rebuild() {
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            throw new JobAlreadyRunningException("The analytics rollups are already being rebuilt");
+        }
+        try {
+            rebuildHoldingLease();
+        } finally {
+            jobLockService.release(JOB_NAME);
+        }
+    }
+
+    private void rebuildHoldingLease() {
+        long started = System.currentTimeMillis();
+        int[] rows = transactionTemplate.execute(status -> {
+            statsRepository.deleteAllRows();
+            completionDayRepository.deleteAllRows();
+            return new int[]{statsRepository.insertFromTasks(), completionDayRepository.insertFromTasks()};
+        });
+        logger.info("Rebuilt rollups for {} users and {} completion days in {} ms", rows[0], rows[1],
+                System.currentTimeMillis() - started);
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.UserCompletionDayId;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps the analytics rollups (user_task_stats and user_completion_days) in step with task writes.
+ * <p>
+ * Callers pass what a task contributed before and after their change; the difference is applied
+ * with {@code INSERT ... ON DUPLICATE KEY UPDATE col = col + delta} inside the caller's transaction,
+ * so a missing row is created by the same statement and the rollups commit or roll back together
+ * with the task, on the caller's connection. Rows are written in key order, so two bulk writes
+ * touching the same users take their row locks in the same order.
+ */
+@Component
+public class TaskStatsRecorder {
+
+    private final UserTaskStatsRepository statsRepository;
+    private final UserCompletionDayRepository completionDayRepository;
+
+    public TaskStatsRecorder(UserTaskStatsRepository statsRepository,
+                             UserCompletionDayRepository completionDayRepository) {
+        this.statsRepository = statsRepository;
+        this.completionDayRepository = completionDayRepository;
+    }
+
+    // Either side may be null, for a created or deleted task
+    public void recordChange(Snapshot before, Snapshot after) {
+        Changes changes = new Changes();
+        changes.add(before, after);
+        apply(changes);
+    }
+
+    // Applies changes collected over a bulk write, one statement per affected row
+    public void apply(Changes changes) {
+        changes.statDeltas.forEach(this::applyStatsDelta);
+        changes.dayDeltas.forEach(this::applyDayDelta);
+    }
+
+    private void applyStatsDelta(Long userId, long[] delta) {
+        if (delta[0] == 0 && delta[1] == 0 && delta[2] == 0 && delta[3] == 0) {
+            return;
+        }
+        statsRepository.applyDelta(userId, delta[0], delta[1], delta[2], delta[3]);
+    }
+
+    private void applyDayDelta(UserCompletionDayId id, Long delta) {
+        if (delta == 0) {
+            return;
+        }
+        completionDayRepository.applyDelta(id.getUserId(), id.getCompletionDate(), delta);
+    }
+
+    // Net rollup deltas of any number of task changes
+    public static class Changes {
+        // per user: total, completed, estimate sum, estimate count
+        private final Map<Long, long[]> statDeltas = new TreeMap<>();
+        private final Map<UserCompletionDayId, Long> dayDeltas = new TreeMap<>(
+                Comparator.comparing(UserCompletionDayId::getUserId).thenComparing(UserCompletionDayId::getCompletionDate));
+
+        public void add(Snapshot before, Snapshot after) {
+            if (before != null && before.equals(after)) {
+                return;
+            }
+            accumulate(before, -1);
+            accumulate(after, 1);
+        }
+
+        private void accumulate(Snapshot snapshot, int sign) {
+            if (snapshot == null || snapshot.userId() == null) {
+                return;
+            }
+            long[] delta = statDeltas.computeIfAbsent(snapshot.userId(), id -> new long[4]);
+            delta[0] += sign;
+            if (snapshot.status() == TaskStatus.COMPLETED) {
+                delta[1] += sign;
+                if (snapshot.timeEstimate() != null) {
+                    delta[2] += (long) sign * snapshot.timeEstimate();
+                    delta[3] += sign;
+                }
+                if (snapshot.completedAt() != null) {
+                    dayDeltas.merge(new UserCompletionDayId(snapshot.userId(), snapshot.completedAt().toLocalDate()),
+                            (long) sign, Long::sum);
+                }
+            }
+        }
+    }
+
+    // What one task contributes to its user's rollups
+    public record Snapshot(Long userId, TaskStatus status, LocalDateTime completedAt, Integer timeEstimate) {
+        public static Snapshot of(Task task) {
+            return new Snapshot(task.getUser() != null ? task.getUser().getId() : null,
+                    task.getTaskStatus(), task.getCompletedAt(), task.getTimeEstimate());
+        }
+    }
+}
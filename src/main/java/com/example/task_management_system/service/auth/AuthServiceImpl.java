@@ -2,29 +2,33 @@ package com.example.task_management_system.service.auth;
 
 import com.example.task_management_system.dto.SignupRequest;
 import com.example.task_management_system.dto.UserDto;
+import com.example.task_management_system.entity.EmailOutbox;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.exception.EmailAlreadyInUseException;
+import com.example.task_management_system.repository.EmailOutboxRepository;
 import com.example.task_management_system.repository.UserRepository;
 import com.example.task_management_system.service.notification.NotificationService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class AuthServiceImpl implements AuthService {
     private static final Logger logger = LoggerFactory.getLogger(AuthServiceImpl.class);
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository emailOutboxRepository;
     private final NotificationService notificationService;
 
     @PostConstruct
@@ -42,12 +46,15 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    // The welcome email is queued in the same transaction and sent by EmailOutboxDispatcher,
+    // so signup never waits on SMTP and the email is not lost if the node dies right after
     @Override
+    @Transactional
     public UserDto signupUser(SignupRequest signupRequest) {
         logger.info("Registering new user: {}", signupRequest.getEmail());
         if (hasUserWithEmail(signupRequest.getEmail())) {
             logger.warn("Email already registered: {}", signupRequest.getEmail());
-            throw new IllegalArgumentException("Email already in use");
+            throw new EmailAlreadyInUseException("Email already in use");
         }
 
         User newUser = new User();
@@ -56,28 +63,28 @@ public class AuthServiceImpl implements AuthService {
         newUser.setPassword(passwordEncoder.encode(signupRequest.getPassword()));
         newUser.setUserRole(UserRole.EMPLOYEE);
 
-        User createdUser = userRepository.save(newUser);
+        User createdUser;
+        try {
+            // flushed here so a concurrent signup with the same email hits the unique key inside this method
+            createdUser = userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            logger.warn("Email registered concurrently: {}", signupRequest.getEmail());
+            throw new EmailAlreadyInUseException("Email already in use");
+        }
         logger.info("User registered successfully with ID: {}", createdUser.getId());
 
-        sendRegistrationEmail(createdUser);
+        queueRegistrationEmail(createdUser);
         return createdUser.getUserDto();
     }
 
-    private void sendRegistrationEmail(User user) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(user.getEmail());
-            message.setSubject("Welcome to Task Management System");
-            message.setText(String.format(
-                    "Dear %s,\n\nuou have been successfully registered as an employee in our Task Management System.\n\n" +
-                            "Your login email: %s\n\nRegards,\nTask Management Team",
-                    user.getName(),
-                    user.getEmail()
-            ));
-            mailSender.send(message);
-        } catch (MailException e) {
-            logger.error("Failed to send registration email to {}: {}", user.getEmail(), e.getMessage());
-        }
+    private void queueRegistrationEmail(User user) {
+        String body = String.format(
+                "Dear %s,\n\nYou have been successfully registered as an employee in our Task Management System.\n\n" +
+                        "Your login email: %s\n\nRegards,\nTask Management Team",
+                user.getName(),
+                user.getEmail()
+        );
+        emailOutboxRepository.save(EmailOutbox.pending(user.getEmail(), "Welcome to Task Management System", body));
     }
 
     @Override
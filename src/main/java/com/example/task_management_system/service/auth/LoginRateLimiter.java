@@ -0,0 +1,114 @@
+package com.example.task_management_system.service.auth;
+
+import com.example.task_management_system.exception.RateLimitExceededException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets in front of login, one per client IP and one per email, so a credential-stuffing
+ * burst is turned away before any password is hashed. A bucket holds {@code capacity} attempts and
+ * refills at a steady rate; idle buckets are dropped and the number tracked is capped, so memory
+ * stays bounded however many addresses or emails are tried. Limits are per node.
+ */
+@Component
+public class LoginRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private final Limit perIp;
+    private final Limit perEmail;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${security.login.rate-limit.per-ip.capacity:20}") int ipCapacity,
+                            @Value("${security.login.rate-limit.per-ip.refill-per-minute:10}") int ipRefillPerMinute,
+                            @Value("${security.login.rate-limit.per-email.capacity:5}") int emailCapacity,
+                            @Value("${security.login.rate-limit.per-email.refill-per-minute:5}") int emailRefillPerMinute,
+                            @Value("${security.login.rate-limit.max-tracked-keys:100000}") long maxTrackedKeys) {
+        this(meterRegistry, ipCapacity, ipRefillPerMinute, emailCapacity, emailRefillPerMinute, maxTrackedKeys,
+                System::nanoTime);
+    }
+
+    LoginRateLimiter(MeterRegistry meterRegistry, int ipCapacity, int ipRefillPerMinute,
+                     int emailCapacity, int emailRefillPerMinute, long maxTrackedKeys, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.perIp = new Limit("ip", ipCapacity, ipRefillPerMinute, maxTrackedKeys, meterRegistry);
+        this.perEmail = new Limit("email", emailCapacity, emailRefillPerMinute, maxTrackedKeys, meterRegistry);
+    }
+
+    // Takes one attempt from both buckets, or throws if either is empty
+    public void checkLogin(String clientIp, String email) {
+        perIp.acquire(clientIp);
+        if (email != null) {
+            perEmail.acquire(email.trim().toLowerCase(Locale.ROOT));
+        }
+    }
+
+    private final class Limit {
+        private final String name;
+        private final int capacity;
+        private final double tokensPerNano;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter limitedCounter;
+
+        Limit(String name, int capacity, int refillPerMinute, long maxTrackedKeys, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.capacity = capacity;
+            this.tokensPerNano = refillPerMinute / (double) TimeUnit.MINUTES.toNanos(1);
+            // an idle bucket is full again after capacity / rate, so it can be forgotten by then
+            long refillMinutes = Math.max(1, (long) Math.ceil(capacity / (double) Math.max(1, refillPerMinute)));
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxTrackedKeys)
+                    .expireAfterAccess(Duration.ofMinutes(refillMinutes))
+                    .build();
+            this.limitedCounter = Counter.builder("auth.login.rate_limited")
+                    .tag("key", name)
+                    .description("Login attempts refused by the rate limiter")
+                    .register(meterRegistry);
+        }
+
+        void acquire(String key) {
+            long retryAfterNanos = buckets.get(key, k -> new TokenBucket(capacity, nanoClock.getAsLong()))
+                    .tryConsume(capacity, tokensPerNano, nanoClock.getAsLong());
+            if (retryAfterNanos > 0) {
+                limitedCounter.increment();
+                logger.warn("Login rate limit hit for {} {}", name, key);
+                long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(retryAfterNanos - 1) + 1;
+                throw new RateLimitExceededException("Too many login attempts, retry later", retryAfterSeconds);
+            }
+        }
+    }
+
+    private static final class TokenBucket {
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(int capacity, long now) {
+            this.tokens = capacity;
+            this.refilledAt = now;
+        }
+
+        // 0 when a token was taken, otherwise the nanos until one is available
+        synchronized long tryConsume(int capacity, double tokensPerNano, long now) {
+            tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+            refilledAt = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.example.task_management_system.service.changefeed;
+
+import com.example.task_management_system.dto.TaskChangeEventDto;
+import com.example.task_management_system.dto.TaskChangePage;
+import com.example.task_management_system.exception.SubscriberLimitExceededException;
+import com.example.task_management_system.repository.TaskChangeEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serves the task change feed by offset, and holds long-poll requests until events past their
+ * offset exist.
+ * <p>
+ * A waiting request costs no database work of its own: the sequencer wakes the waiters on its node
+ * as soon as a batch of offsets has committed, and every node checks the last offset with one
+ * indexed query per interval, only while something is waiting. Waiters woken at the same offset
+ * share one read. The number of waiting requests per node is capped. The check runs on a thread of
+ * its own, so it keeps going on nodes that are kept out of the scheduled jobs.
+ */
+@Component
+public class TaskChangeFeed implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeFeed.class);
+    static final int MAX_LIMIT = 1_000;
+
+    private final TaskChangeEventRepository eventRepository;
+    private final int maxWaiters;
+    private final Duration maxWait;
+    private final long checkIntervalMillis;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private volatile boolean running;
+    private ScheduledExecutorService checker;
+
+    public TaskChangeFeed(TaskChangeEventRepository eventRepository,
+                          @Value("${task-changes.feed.max-waiters:100}") int maxWaiters,
+                          @Value("${task-changes.feed.max-wait:30s}") Duration maxWait,
+                          @Value("${task-changes.feed.check-interval-ms:500}") long checkIntervalMillis) {
+        this.eventRepository = eventRepository;
+        this.maxWaiters = maxWaiters;
+        this.maxWait = maxWait;
+        this.checkIntervalMillis = checkIntervalMillis;
+    }
+
+    // Events after the offset, oldest first
+    public TaskChangePage read(long after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<TaskChangeEventDto> events = eventRepository.findAfter(after, PageRequest.of(0, pageSize)).stream()
+                .map(TaskChangeEventDto::fromEvent)
+                .toList();
+        long nextOffset = events.isEmpty() ? after : events.get(events.size() - 1).getOffset();
+        return new TaskChangePage(events, nextOffset);
+    }
+
+    /**
+     * Like read, but when nothing is past the offset yet the result is held back until something
+     * is, or until the wait (capped at the configured maximum) runs out and it completes empty.
+     */
+    public DeferredResult<TaskChangePage> poll(long after, int limit, Duration wait) {
+        Duration timeout = wait.compareTo(maxWait) > 0 ? maxWait : wait;
+        DeferredResult<TaskChangePage> result = new DeferredResult<>(Math.max(1, timeout.toMillis()),
+                () -> new TaskChangePage(List.of(), after));
+
+        TaskChangePage page = read(after, limit);
+        if (!page.getEvents().isEmpty() || timeout.isZero() || timeout.isNegative()) {
+            result.setResult(page);
+            return result;
+        }
+        if (waiters.size() >= maxWaiters) {
+            throw new SubscriberLimitExceededException("Too many waiting task change polls, retry shortly");
+        }
+        Waiter waiter = new Waiter(after, limit, result);
+        waiters.add(waiter);
+        result.onCompletion(() -> waiters.remove(waiter));
+
+        // an offset handed out between the read and the registration woke nobody, so look once more
+        long lastOffset = eventRepository.findLastOffset();
+        if (lastOffset > after) {
+            wake(lastOffset);
+        }
+        return result;
+    }
+
+    // Called by the sequencer once offsets up to lastOffset have committed
+    void published(long lastOffset) {
+        wake(lastOffset);
+    }
+
+    // for waiters on nodes other than the sequencer's
+    void checkForEvents() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        try {
+            wake(eventRepository.findLastOffset());
+        } catch (RuntimeException e) {
+            // an exception escaping a fixed-delay task would cancel all its later runs
+            logger.warn("Could not check for task changes: {}", e.getMessage());
+        }
+    }
+
+    int waiterCount() {
+        return waiters.size();
+    }
+
+    private void wake(long lastOffset) {
+        Map<Position, TaskChangePage> pages = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            // remove first: the sequencer and the periodic check may both get here
+            if (waiter.after() >= lastOffset || !waiters.remove(waiter)) {
+                continue;
+            }
+            try {
+                waiter.result().setResult(pages.computeIfAbsent(new Position(waiter.after(), waiter.limit()),
+                        position -> read(position.after(), position.limit())));
+            } catch (RuntimeException e) {
+                logger.warn("Could not read task changes after offset {}: {}", waiter.after(), e.getMessage());
+                waiter.result().setErrorResult(e);
+            }
+        }
+    }
+
+    // ========== LIFECYCLE ========== //
+    @Override
+    public void start() {
+        checker = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("task-change-feed-"));
+        checker.scheduleWithFixedDelay(this::checkForEvents, checkIntervalMillis, checkIntervalMillis,
+                TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        checker.shutdown();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // stop after the web server, so polls still open while it drains are woken rather than left to time out
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private record Position(long after, int limit) {
+    }
+
+    private record Waiter(long after, int limit, DeferredResult<TaskChangePage> result) {
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.task_management_system.service.changefeed;
+
+import com.example.task_management_system.dto.TaskStatusRow;
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.enums.TaskStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Writes the task change events that the change feed is served from, inside the caller's
+ * transaction, so an event exists exactly when its change committed.
+ * <p>
+ * Events are inserted only after the pending task writes have been flushed. From then on the
+ * transaction holds the task's row lock until it commits, and the event id comes from an
+ * auto-increment column assigned at insert time, so two changes of the same task always get ids in
+ * the order they committed. TaskChangeSequencer relies on that when it gives events their offsets.
+ */
+@Component
+public class TaskChangeRecorder {
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    public TaskChangeRecorder(EntityManager entityManager, ObjectMapper objectMapper) {
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+
+    // Either side may be null, for a created or deleted task
+    public void recordChange(Long taskId, State before, State after) {
+        Changes changes = new Changes();
+        changes.add(taskId, before, after);
+        apply(changes);
+    }
+
+    // Writes the events collected over a bulk write, after one flush
+    public void apply(Changes changes) {
+        if (changes.events.isEmpty()) {
+            return;
+        }
+        entityManager.flush();
+        LocalDateTime now = LocalDateTime.now();
+        for (Change change : changes.events) {
+            entityManager.persist(new TaskChangeEvent(null, null, change.taskId(), change.type(),
+                    change.fromStatus(), change.toStatus(), toJson(change.fields()), now));
+        }
+    }
+
+    private String toJson(Map<String, Object> fields) {
+        if (fields == null) {
+            return null;
+        }
+        try {
+            return objectMapper.writeValueAsString(fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task change", e);
+        }
+    }
+
+    // Task changes of one transaction, in the order they were made
+    public static class Changes {
+        private final List<Change> events = new ArrayList<>();
+
+        public void add(Long taskId, State before, State after) {
+            if (before == null && after == null) {
+                return;
+            }
+            if (before == null) {
+                events.add(new Change(taskId, TaskChangeType.CREATED, null, after.status(), after.fields()));
+            } else if (after == null) {
+                events.add(new Change(taskId, TaskChangeType.DELETED, before.status(), null, null));
+            } else {
+                Map<String, Object> changed = new LinkedHashMap<>();
+                Map<String, Object> old = before.fields();
+                after.fields().forEach((field, value) -> {
+                    if (!Objects.equals(old.get(field), value)) {
+                        changed.put(field, value);
+                    }
+                });
+                if (changed.isEmpty()) {
+                    return;
+                }
+                boolean statusChanged = before.status() != after.status();
+                events.add(new Change(taskId, TaskChangeType.UPDATED, statusChanged ? before.status() : null,
+                        statusChanged ? after.status() : null, changed));
+            }
+        }
+    }
+
+    private record Change(Long taskId, TaskChangeType type, TaskStatus fromStatus, TaskStatus toStatus,
+                          Map<String, Object> fields) {
+    }
+
+    // The task fields consumers see; names follow TaskDto
+    public record State(String title, String description, String priority, LocalDate deadline, TaskStatus status,
+                        Long employeeId, LocalDateTime completedAt, Integer timeEstimate) {
+        public static State of(Task task) {
+            return new State(task.getTitle(), task.getDescription(), task.getPriority(), toLocalDate(task.getDeadline()),
+                    task.getTaskStatus(), task.getUser() != null ? task.getUser().getId() : null,
+                    task.getCompletedAt(), task.getTimeEstimate());
+        }
+
+        public static State of(TaskStatusRow row) {
+            return new State(row.getTitle(), row.getDescription(), row.getPriority(), toLocalDate(row.getDeadline()),
+                    row.getTaskStatus(), row.getEmployeeId(), row.getCompletedAt(), row.getTimeEstimate());
+        }
+
+        public State withStatus(TaskStatus newStatus, LocalDateTime newCompletedAt) {
+            return new State(title, description, priority, deadline, newStatus, employeeId, newCompletedAt, timeEstimate);
+        }
+
+        Map<String, Object> fields() {
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("title", title);
+            fields.put("description", description);
+            fields.put("priority", priority);
+            fields.put("deadline", deadline);
+            fields.put("taskStatus", status);
+            fields.put("employeeId", employeeId);
+            fields.put("completedAt", completedAt);
+            fields.put("timeEstimate", timeEstimate);
+            return fields;
+        }
+
+        // a loaded task holds a java.sql.Date, one built from a request a java.util.Date; the column is a DATE
+        private static LocalDate toLocalDate(Date date) {
+            if (date == null) {
+                return null;
+            }
+            return date instanceof java.sql.Date sqlDate
+                    ? sqlDate.toLocalDate()
+                    : date.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.task_management_system.service.changefeed;
+
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.repository.TaskChangeEventRepository;
+import com.example.task_management_system.service.scheduling.JobLockService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Gives committed task change events their feed offsets, on one node at a time.
+ * <p>
+ * Ids alone cannot serve as offsets: a transaction that took a smaller id may commit after a
+ * consumer has already read past it. Offsets are instead handed out in the order events become
+ * visible to this job, so everything a consumer has not read yet is always past its offset. Each
+ * batch is numbered in a short transaction and the waiting long polls on this node are woken once
+ * it has committed. The lease is renewed every half lease period rather than on every run; should
+ * two nodes ever number at once, the unique offset index fails one of them.
+ * <p>
+ * It runs on a thread of its own rather than on the shared {@code @Scheduled} pool, where mail
+ * delivery and the reminder job would hold back every long poll. Like those jobs it takes a
+ * cluster-wide lease, so a node with {@code spring.task.scheduling.enabled=false} does not run it.
+ */
+@Component
+@ConditionalOnProperty(name = "spring.task.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class TaskChangeSequencer implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TaskChangeSequencer.class);
+    static final String JOB_NAME = "task-change-sequencer";
+
+    private final TaskChangeEventRepository eventRepository;
+    private final TaskChangeFeed feed;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Duration lease;
+    private final long intervalMillis;
+    // a lock rather than synchronized: it is held across transactions, which would pin a virtual thread
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private boolean holdingLease;
+    private long nextLeaseCheck = System.nanoTime();
+    private volatile boolean running;
+    private ScheduledExecutorService executor;
+
+    public TaskChangeSequencer(TaskChangeEventRepository eventRepository,
+                               TaskChangeFeed feed,
+                               JobLockService jobLockService,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${task-changes.sequencer.batch-size:500}") int batchSize,
+                               @Value("${task-changes.sequencer.lease:10s}") Duration lease,
+                               @Value("${task-changes.sequencer.interval-ms:200}") long intervalMillis) {
+        this.eventRepository = eventRepository;
+        this.feed = feed;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.intervalMillis = intervalMillis;
+    }
+
+    // Numbers every committed event still without an offset; returns how many this node numbered
+    public int sequencePending() {
+        lock.lock();
+        try {
+            return holdsLease() ? sequenceBatches() : 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private int sequenceBatches() {
+        int sequenced = 0;
+        long lastOffset = 0;
+        try {
+            List<Long> batch;
+            do {
+                batch = transactionTemplate.execute(status -> assignOffsets());
+                if (batch != null && !batch.isEmpty()) {
+                    sequenced += batch.size();
+                    lastOffset = batch.get(batch.size() - 1);
+                }
+            } while (batch != null && batch.size() == batchSize);
+        } catch (DataAccessException | TransactionException e) {
+            // most likely another node numbering at the same time; check the lease again on the next run
+            logger.warn("Could not assign task change offsets: {}", e.getMessage());
+            nextLeaseCheck = System.nanoTime();
+        }
+        if (sequenced > 0) {
+            logger.debug("Assigned offsets to {} task change events, up to {}", sequenced, lastOffset);
+            feed.published(lastOffset);
+        }
+        return sequenced;
+    }
+
+    // returns the offsets it assigned
+    private List<Long> assignOffsets() {
+        List<TaskChangeEvent> events = eventRepository.findUnsequenced(PageRequest.of(0, batchSize));
+        if (events.isEmpty()) {
+            return List.of();
+        }
+        long offset = eventRepository.findLastOffset();
+        for (TaskChangeEvent event : events) {
+            event.setFeedOffset(++offset);
+        }
+        return events.stream().map(TaskChangeEvent::getFeedOffset).toList();
+    }
+
+    private boolean holdsLease() {
+        long now = System.nanoTime();
+        if (now - nextLeaseCheck >= 0) {
+            holdingLease = jobLockService.tryAcquire(JOB_NAME, lease);
+            nextLeaseCheck = now + lease.toNanos() / 2;
+        }
+        return holdingLease;
+    }
+
+    // ========== LIFECYCLE ========== //
+    @Override
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("task-change-sequencer-"));
+        executor.scheduleWithFixedDelay(this::runQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    // an exception escaping a fixed-delay task would cancel all its later runs
+    private void runQuietly() {
+        try {
+            sequencePending();
+        } catch (RuntimeException e) {
+            logger.error("Task change sequencing failed", e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Task change sequencer did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+}
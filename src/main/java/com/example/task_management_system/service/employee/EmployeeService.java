@@ -1,6 +1,8 @@
 package com.example.task_management_system.service.employee;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskStatusUpdate;
 import java.util.List;
 
 public interface EmployeeService {
@@ -9,5 +11,9 @@ public interface EmployeeService {
     List<TaskDto> getTasksByUserId(Long userId);
 
     // Update the status of a task (like marking it as in-progress or completed)
-    TaskDto updateTask(Long id, String status);
+    // With an expected version (If-Match) only if the task is still at it
+    TaskDto updateTask(Long id, String status, Long expectedVersion);
+
+    // Update the status of many tasks at once, reporting success or failure per item
+    List<BulkTaskResult> updateTaskStatuses(List<TaskStatusUpdate> updates);
 }
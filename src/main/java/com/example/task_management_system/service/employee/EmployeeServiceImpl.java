@@ -1,68 +1,201 @@
 package com.example.task_management_system.service.employee;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskStatusRow;
+import com.example.task_management_system.dto.TaskStatusUpdate;
 import com.example.task_management_system.entity.Task;
 import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.exception.InvalidRequestException;
+import com.example.task_management_system.exception.PreconditionFailedException;
 import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
 import com.example.task_management_system.service.notification.NotificationService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed("service.method")
 public class EmployeeServiceImpl implements EmployeeService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServiceImpl.class);
     private final TaskRepository taskRepository;
     private final NotificationService notificationService;
+    private final TaskStatsRecorder taskStatsRecorder;
+    private final TaskChangeRecorder taskChangeRecorder;
+    static final int MAX_BULK_SIZE = 10_000;
 
     @Override
     public List<TaskDto> getTasksByUserId(Long userId) {
         logger.info("Fetching tasks for user ID: {}", userId);
-        return taskRepository.findByUserId(userId).stream()
-                .map(Task::fromTask)
-                .toList();
+        return taskRepository.findTaskDtosByUserId(userId);
     }
 
     @Override
     @Transactional
-    public TaskDto updateTask(Long id, String status) {
+    public TaskDto updateTask(Long id, String status, Long expectedVersion) {
         logger.info("Updating task {} status to: {}", id, status);
-        TaskStatus newStatus = TaskStatus.valueOf(status.toUpperCase());
+        TaskStatus newStatus = parseStatus(status);
+        if (expectedVersion == null) {
+            return updateStatusIfUnchanged(id, newStatus);
+        }
+        // If-Match names a version, so the check needs the versioned entity and its "where version = ?" UPDATE
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> {
                     logger.warn("Task not found: {}", id);
                     return new EntityNotFoundException("Task doesn't exist");
                 });
+        if (!expectedVersion.equals(task.getVersion())) {
+            logger.info("Task {} is at version {}, not the expected {}", id, task.getVersion(), expectedVersion);
+            throw new PreconditionFailedException("Task has changed since version " + expectedVersion);
+        }
+
+        TaskStatsRecorder.Snapshot before = TaskStatsRecorder.Snapshot.of(task);
+        TaskChangeRecorder.State previous = TaskChangeRecorder.State.of(task);
+        TaskStatus oldStatus = applyStatus(task, newStatus);
+        taskStatsRecorder.recordChange(before, TaskStatsRecorder.Snapshot.of(task));
+        // flushed here so the returned version (and ETag) is the one the UPDATE wrote
+        Task updatedTask = taskRepository.saveAndFlush(task);
+        taskChangeRecorder.recordChange(id, previous, TaskChangeRecorder.State.of(updatedTask));
+        notifyStatusChange(task, oldStatus, newStatus);
+
+        return Task.fromTask(updatedTask);
+    }
+
+    // Without If-Match only the status has to be current: one projection read, then an UPDATE that matches
+    // while the status is still the one read. Edits to other fields in between neither block nor fail it
+    private TaskDto updateStatusIfUnchanged(Long id, TaskStatus newStatus) {
+        TaskStatusRow row = taskRepository.findStatusRow(id)
+                .orElseThrow(() -> {
+                    logger.warn("Task not found: {}", id);
+                    return new EntityNotFoundException("Task doesn't exist");
+                });
+        TaskStatus oldStatus = row.getTaskStatus();
+        if (oldStatus == newStatus) {
+            return row.toTaskDto(oldStatus, row.getVersion());
+        }
+        LocalDateTime completedAt = completedAt(oldStatus, row.getCompletedAt(), newStatus);
+        if (taskRepository.updateStatusIfUnchanged(id, oldStatus, newStatus, completedAt) == 0) {
+            logger.info("Task {} left status {} before it could be set to {}", id, oldStatus, newStatus);
+            throw new ObjectOptimisticLockingFailureException(Task.class, id);
+        }
+
+        TaskChangeRecorder.State previous = TaskChangeRecorder.State.of(row);
+        TaskChangeRecorder.State current = previous.withStatus(newStatus, completedAt);
+        taskStatsRecorder.recordChange(
+                new TaskStatsRecorder.Snapshot(row.getEmployeeId(), oldStatus, row.getCompletedAt(), row.getTimeEstimate()),
+                new TaskStatsRecorder.Snapshot(row.getEmployeeId(), newStatus, completedAt, row.getTimeEstimate()));
+        taskChangeRecorder.recordChange(id, previous, current);
+        notificationService.createInAppNotification(row.getEmployeeId(), statusChangeMessage(row.getTitle(), oldStatus, newStatus));
+
+        return row.toTaskDto(newStatus, row.getVersion() + 1);
+    }
+
+    @Override
+    @Transactional
+    public List<BulkTaskResult> updateTaskStatuses(List<TaskStatusUpdate> updates) {
+        if (updates.size() > MAX_BULK_SIZE) {
+            throw new InvalidRequestException("At most " + MAX_BULK_SIZE + " status updates per bulk request");
+        }
+        logger.info("Bulk updating status of {} tasks", updates.size());
+
+        // one IN query for every task; the dirty entities are flushed as batched UPDATEs on commit
+        Set<Long> taskIds = updates.stream()
+                .map(TaskStatusUpdate::getTaskId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Task> tasks = taskRepository.findAllById(taskIds).stream()
+                .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<BulkTaskResult> results = new ArrayList<>(updates.size());
+        TaskStatsRecorder.Changes statChanges = new TaskStatsRecorder.Changes();
+        TaskChangeRecorder.Changes taskChanges = new TaskChangeRecorder.Changes();
+        for (int i = 0; i < updates.size(); i++) {
+            TaskStatusUpdate update = updates.get(i);
+            Task task = tasks.get(update.getTaskId());
+            if (task == null) {
+                results.add(BulkTaskResult.failed(i, update.getTaskId(), "Task doesn't exist"));
+                continue;
+            }
+            TaskStatus newStatus = toStatus(update.getStatus()).orElse(null);
+            if (newStatus == null) {
+                results.add(BulkTaskResult.failed(i, task.getId(), "Invalid status: " + update.getStatus()));
+                continue;
+            }
+
+            TaskStatsRecorder.Snapshot before = TaskStatsRecorder.Snapshot.of(task);
+            TaskChangeRecorder.State previous = TaskChangeRecorder.State.of(task);
+            TaskStatus oldStatus = applyStatus(task, newStatus);
+            statChanges.add(before, TaskStatsRecorder.Snapshot.of(task));
+            taskChanges.add(task.getId(), previous, TaskChangeRecorder.State.of(task));
+            notifyStatusChange(task, oldStatus, newStatus);
+            results.add(BulkTaskResult.succeeded(i, task.getId()));
+        }
+        taskStatsRecorder.apply(statChanges);
+        taskChangeRecorder.apply(taskChanges);
+        return results;
+    }
+
+    private static TaskStatus parseStatus(String status) {
+        return toStatus(status).orElseThrow(() -> new InvalidRequestException("Invalid status: " + status));
+    }
 
+    // case-insensitive; empty for null or an unknown name
+    private static Optional<TaskStatus> toStatus(String status) {
+        if (status == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(TaskStatus.valueOf(status.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Sets the new status and keeps completedAt in step with it; returns the previous status
+    private TaskStatus applyStatus(Task task, TaskStatus newStatus) {
         TaskStatus oldStatus = task.getTaskStatus();
 
         task.setTaskStatus(newStatus);
+        task.setCompletedAt(completedAt(oldStatus, task.getCompletedAt(), newStatus));
+        return oldStatus;
+    }
 
+    // Stamped when a task becomes COMPLETED, cleared when it leaves it, otherwise unchanged
+    private static LocalDateTime completedAt(TaskStatus oldStatus, LocalDateTime completedAt, TaskStatus newStatus) {
         if (newStatus == TaskStatus.COMPLETED && oldStatus != TaskStatus.COMPLETED) {
-            task.setCompletedAt(LocalDateTime.now());
+            return LocalDateTime.now();
         } else if (oldStatus == TaskStatus.COMPLETED && newStatus != TaskStatus.COMPLETED) {
-            task.setCompletedAt(null);
+            return null;
         }
+        return completedAt;
+    }
 
-        Task updatedTask = taskRepository.save(task);
-
-        if (!oldStatus.equals(newStatus)) {
-            notificationService.createInAppNotification(
-                    task.getUser(),
-                    String.format("Task '%s' status changed from %s to %s",
-                            task.getTitle(),
-                            oldStatus,
-                            newStatus)
-            );
+    private void notifyStatusChange(Task task, TaskStatus oldStatus, TaskStatus newStatus) {
+        if (!newStatus.equals(oldStatus)) {
+            notificationService.createInAppNotification(task.getUser(),
+                    statusChangeMessage(task.getTitle(), oldStatus, newStatus));
         }
+    }
 
-        return Task.fromTask(updatedTask);
+    private static String statusChangeMessage(String title, TaskStatus oldStatus, TaskStatus newStatus) {
+        return String.format("Task '%s' status changed from %s to %s", title, oldStatus, newStatus);
     }
-}
\ No newline at end of file
+}
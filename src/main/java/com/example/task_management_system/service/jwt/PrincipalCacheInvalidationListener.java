@@ -0,0 +1,26 @@
+package com.example.task_management_system.service.jwt;
+
+import com.example.task_management_system.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * JPA entity listener that drops a user's cached principal whenever the row is updated or deleted.
+ * Instantiated by Hibernate through Spring's bean container; the cache is looked up lazily so
+ * persistence-only contexts (e.g. repository slice tests) can still bootstrap without it.
+ */
+public class PrincipalCacheInvalidationListener {
+
+    private final ObjectProvider<PrincipalCache> principalCache;
+
+    public PrincipalCacheInvalidationListener(ObjectProvider<PrincipalCache> principalCache) {
+        this.principalCache = principalCache;
+    }
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        principalCache.ifAvailable(cache -> cache.invalidate(user.getEmail()));
+    }
+}
@@ -1,9 +1,13 @@
 package com.example.task_management_system.service.jwt;
 
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 
 public interface UserService {
 
     // Provides user details (like username, password, roles) to Spring Security for authentication
     UserDetailsService userDetailService();
+
+    // Stores a re-encoded password after a successful login whose stored hash needed upgrading
+    UserDetailsPasswordService userDetailsPasswordService();
 }
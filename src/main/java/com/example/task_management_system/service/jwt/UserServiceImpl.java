@@ -5,6 +5,7 @@ import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
@@ -26,4 +27,16 @@ public class UserServiceImpl implements UserService {
                     });
         };
     }
+
+    // Saved through the entity so the principal cache listener sees the update
+    @Override
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        return (user, newPassword) -> userRepository.findByEmail(user.getUsername())
+                .<UserDetails>map(account -> {
+                    account.setPassword(newPassword);
+                    logger.info("Upgraded password hash of user {}", account.getId());
+                    return userRepository.save(account);
+                })
+                .orElse(user);
+    }
 }
\ No newline at end of file
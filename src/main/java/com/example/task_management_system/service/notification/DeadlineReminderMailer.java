@@ -0,0 +1,265 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.dto.DeadlineReminder;
+import com.example.task_management_system.repository.TaskRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends one digest email per user for the tasks due on a given day.
+ * <p>
+ * Reminders are read in keyset pages ordered by user, so no transaction or connection is held
+ * while mail goes out. Digests are handed to a small fixed pool in batches; each batch is sent
+ * through a single {@code send(MimeMessage...)} call, which reuses one SMTP connection. When
+ * every worker is busy and the queue is full the paging thread sends the batch itself, which
+ * keeps paging in step with the mail server. Messages the server rejects are retried with a
+ * linear backoff.
+ */
+@Component
+public class DeadlineReminderMailer {
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineReminderMailer.class);
+
+    private final TaskRepository taskRepository;
+    private final JavaMailSender mailSender;
+    private final ExecutorService executor;
+    private final int pageSize;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private final Counter retriedCounter;
+    private final Timer batchTimer;
+
+    public DeadlineReminderMailer(TaskRepository taskRepository,
+                                  JavaMailSender mailSender,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${reminders.page-size:500}") int pageSize,
+                                  @Value("${reminders.mail.batch-size:50}") int batchSize,
+                                  @Value("${reminders.mail.pool-size:4}") int poolSize,
+                                  @Value("${reminders.mail.max-attempts:3}") int maxAttempts,
+                                  @Value("${reminders.mail.retry-backoff-ms:1000}") long retryBackoffMillis) {
+        this.taskRepository = taskRepository;
+        this.mailSender = mailSender;
+        this.pageSize = pageSize;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoffMillis = retryBackoffMillis;
+
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(poolSize * 2),
+                new CustomizableThreadFactory("reminder-mail-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "reminder.mail");
+
+        this.sentCounter = Counter.builder("reminders.emails.sent")
+                .description("Deadline digest emails accepted by the mail server")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("reminders.emails.failed")
+                .description("Deadline digest emails given up on after all retries")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("reminders.emails.retried")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("reminders.batch.send")
+                .description("Time to send one batch of digest emails over one SMTP connection")
+                .register(meterRegistry);
+    }
+
+    // Returns the number of digest emails delivered
+    public int sendReminders(LocalDate deadline) {
+        return sendReminders(deadline, 0, 1, 0, 0, (userId, taskId) -> {
+        });
+    }
+
+    /**
+     * Sends the digests of one partition of users, starting after the given (user, task) position.
+     * After each page the listener is told the last position whose digests have all been sent,
+     * which is where a later call should resume.
+     */
+    public int sendReminders(LocalDate deadline, int partition, int partitions,
+                             long afterUserId, long afterTaskId, ProgressListener listener) {
+        Date day = Date.valueOf(deadline);
+        List<CompletableFuture<Integer>> sends = new ArrayList<>();
+        List<Digest> batch = new ArrayList<>(batchSize);
+        Digest current = null;
+        Digest lastClosed = null;
+        long lastUserId = afterUserId;
+        long lastTaskId = afterTaskId;
+        int reminders = 0;
+        int delivered = 0;
+
+        List<DeadlineReminder> page;
+        do {
+            page = taskRepository.findDeadlineRemindersAfter(day, partition, partitions, lastUserId, lastTaskId,
+                    PageRequest.of(0, pageSize));
+            for (DeadlineReminder reminder : page) {
+                // a user's tasks may straddle pages, so a digest is only closed when the next user starts
+                if (current == null || !current.userId().equals(reminder.getUserId())) {
+                    if (current != null) {
+                        batch.add(current);
+                        lastClosed = current;
+                        if (batch.size() == batchSize) {
+                            sends.add(submit(batch, deadline));
+                            batch = new ArrayList<>(batchSize);
+                        }
+                    }
+                    current = new Digest(reminder.getUserId(), reminder.getEmail(), reminder.getName(), new ArrayList<>());
+                }
+                current.reminders().add(reminder);
+            }
+            reminders += page.size();
+            if (!page.isEmpty()) {
+                DeadlineReminder last = page.get(page.size() - 1);
+                lastUserId = last.getUserId();
+                lastTaskId = last.getTaskId();
+            }
+
+            // checkpoint only what has actually gone out: the closed digests queued so far
+            if (page.size() == pageSize && lastClosed != null) {
+                if (!batch.isEmpty()) {
+                    sends.add(submit(batch, deadline));
+                    batch = new ArrayList<>(batchSize);
+                }
+                delivered += awaitAll(sends);
+                listener.onProgress(lastClosed.userId(), lastClosed.lastTaskId());
+                lastClosed = null;
+            }
+        } while (page.size() == pageSize);
+
+        if (current != null) {
+            batch.add(current);
+        }
+        if (!batch.isEmpty()) {
+            sends.add(submit(batch, deadline));
+        }
+        delivered += awaitAll(sends);
+        if (current != null) {
+            listener.onProgress(current.userId(), current.lastTaskId());
+        }
+
+        logger.info("Sent {} deadline digests covering {} tasks due {} (partition {} of {})",
+                delivered, reminders, deadline, partition, partitions);
+        return delivered;
+    }
+
+    private static int awaitAll(List<CompletableFuture<Integer>> sends) {
+        int delivered = sends.stream().mapToInt(CompletableFuture::join).sum();
+        sends.clear();
+        return delivered;
+    }
+
+    private CompletableFuture<Integer> submit(List<Digest> batch, LocalDate deadline) {
+        return CompletableFuture.supplyAsync(() -> sendBatch(batch, deadline), executor);
+    }
+
+    private int sendBatch(List<Digest> batch, LocalDate deadline) {
+        List<MimeMessage> pending = new ArrayList<>(batch.size());
+        for (Digest digest : batch) {
+            try {
+                pending.add(toMessage(digest, deadline));
+            } catch (MessagingException e) {
+                failedCounter.increment();
+                logger.error("Failed to build reminder for user {}: {}", digest.userId(), e.getMessage());
+            }
+        }
+
+        int delivered = 0;
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            MimeMessage[] messages = pending.toArray(new MimeMessage[0]);
+            try {
+                batchTimer.record(() -> mailSender.send(messages));
+                sentCounter.increment(messages.length);
+                return delivered + messages.length;
+            } catch (MailSendException e) {
+                // failed messages are listed by the sender; an empty map means nothing went out (e.g. connect failure)
+                if (!e.getFailedMessages().isEmpty()) {
+                    List<MimeMessage> failed = e.getFailedMessages().keySet().stream()
+                            .map(MimeMessage.class::cast)
+                            .toList();
+                    delivered += messages.length - failed.size();
+                    sentCounter.increment(messages.length - failed.size());
+                    pending = failed;
+                }
+                logger.warn("Attempt {} failed for {} reminder emails: {}", attempt, pending.size(), e.getMessage());
+            } catch (MailException e) {
+                logger.warn("Attempt {} failed for {} reminder emails: {}", attempt, pending.size(), e.getMessage());
+            }
+
+            if (attempt >= maxAttempts) {
+                failedCounter.increment(pending.size());
+                logger.error("Giving up on {} reminder emails after {} attempts", pending.size(), attempt);
+                break;
+            }
+            retriedCounter.increment(pending.size());
+            try {
+                Thread.sleep(retryBackoffMillis * attempt);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                failedCounter.increment(pending.size());
+                break;
+            }
+        }
+        return delivered;
+    }
+
+    private MimeMessage toMessage(Digest digest, LocalDate deadline) throws MessagingException {
+        StringBuilder body = new StringBuilder()
+                .append(String.format("Hi %s,%n%nThe following tasks are due on %s:%n", digest.name(), deadline));
+        for (DeadlineReminder reminder : digest.reminders()) {
+            body.append(String.format("%n- %s (Priority: %s)%n  %s%n",
+                    reminder.getTitle(), reminder.getPriority(), reminder.getDescription()));
+        }
+        String subject = digest.reminders().size() == 1
+                ? "Deadline Reminder: " + digest.reminders().get(0).getTitle()
+                : "Deadline Reminder: " + digest.reminders().size() + " tasks due " + deadline;
+
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, "UTF-8");
+        helper.setTo(digest.email());
+        helper.setSubject(subject);
+        helper.setText(body.toString());
+        return message;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    @FunctionalInterface
+    public interface ProgressListener {
+        void onProgress(long userId, long taskId);
+    }
+
+    private record Digest(Long userId, String email, String name, List<DeadlineReminder> reminders) {
+        long lastTaskId() {
+            return reminders.get(reminders.size() - 1).getTaskId();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.entity.EmailOutbox;
+import com.example.task_management_system.enums.EmailStatus;
+import com.example.task_management_system.repository.EmailOutboxRepository;
+import com.example.task_management_system.service.scheduling.JobLockService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends the emails queued in the outbox table, off the request path.
+ * <p>
+ * Due rows are read in batches and each batch goes out through one {@code send(...)} call, so one
+ * SMTP connection is reused; no transaction is held while mail is sent. Rows the server rejects are
+ * retried with exponential backoff until the attempt limit, then left as FAILED for inspection. A
+ * database lease keeps dispatch to one node at a time. Delivery is at-least-once: a node that dies
+ * after sending but before marking a batch sent will have it sent again.
+ */
+@Component
+public class EmailOutboxDispatcher {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+    static final String JOB_NAME = "email-outbox";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final JobLockService jobLockService;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration lease;
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+
+    public EmailOutboxDispatcher(EmailOutboxRepository outboxRepository,
+                                 JavaMailSender mailSender,
+                                 JobLockService jobLockService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${email.outbox.batch-size:50}") int batchSize,
+                                 @Value("${email.outbox.max-attempts:8}") int maxAttempts,
+                                 @Value("${email.outbox.retry-backoff:30s}") Duration retryBackoff,
+                                 @Value("${email.outbox.lease:2m}") Duration lease) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.jobLockService = jobLockService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.retryBackoff = retryBackoff;
+        this.lease = lease;
+
+        this.sentCounter = Counter.builder("email.outbox.sent")
+                .description("Outbox emails accepted by the mail server")
+                .register(meterRegistry);
+        this.retriedCounter = Counter.builder("email.outbox.retried")
+                .description("Outbox emails rescheduled after a failed attempt")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("email.outbox.failed")
+                .description("Outbox emails given up on after all attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${email.outbox.poll-interval-ms:2000}")
+    public void run() {
+        dispatch();
+    }
+
+    // Sends everything currently due; returns the number of emails delivered by this node
+    public int dispatch() {
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            return 0;
+        }
+        int delivered = 0;
+        try {
+            List<EmailOutbox> due;
+            do {
+                due = outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+                        EmailStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, batchSize));
+                if (!due.isEmpty()) {
+                    delivered += sendBatch(due);
+                    // renew while we still hold it; stop if it expired and was taken over
+                    if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+                        logger.warn("Lost lease {} mid-run", JOB_NAME);
+                        break;
+                    }
+                }
+            } while (due.size() == batchSize);
+        } finally {
+            jobLockService.release(JOB_NAME);
+        }
+        if (delivered > 0) {
+            logger.info("Sent {} outbox emails", delivered);
+        }
+        return delivered;
+    }
+
+    private int sendBatch(List<EmailOutbox> batch) {
+        Map<SimpleMailMessage, EmailOutbox> rows = new IdentityHashMap<>();
+        for (EmailOutbox email : batch) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setTo(email.getRecipient());
+            message.setSubject(email.getSubject());
+            message.setText(email.getBody());
+            rows.put(message, email);
+        }
+
+        Map<EmailOutbox, String> failed = new IdentityHashMap<>();
+        try {
+            mailSender.send(rows.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            // failed messages are listed by the sender; an empty map means nothing went out (e.g. connect failure)
+            if (e.getFailedMessages().isEmpty()) {
+                batch.forEach(email -> failed.put(email, e.getMessage()));
+            } else {
+                e.getFailedMessages().forEach((message, cause) -> failed.put(rows.get(message), cause.getMessage()));
+            }
+        } catch (MailException e) {
+            batch.forEach(email -> failed.put(email, e.getMessage()));
+        }
+
+        List<Long> sentIds = new ArrayList<>(batch.size());
+        for (EmailOutbox email : batch) {
+            if (!failed.containsKey(email)) {
+                sentIds.add(email.getId());
+            } else {
+                scheduleRetry(email, failed.get(email));
+            }
+        }
+        LocalDateTime now = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!sentIds.isEmpty()) {
+                outboxRepository.markSent(sentIds, now);
+            }
+            if (!failed.isEmpty()) {
+                outboxRepository.saveAll(failed.keySet());
+            }
+        });
+        sentCounter.increment(sentIds.size());
+        return sentIds.size();
+    }
+
+    private void scheduleRetry(EmailOutbox email, String error) {
+        email.setAttempts(email.getAttempts() + 1);
+        email.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (email.getAttempts() >= maxAttempts) {
+            email.setStatus(EmailStatus.FAILED);
+            failedCounter.increment();
+            logger.error("Giving up on email {} to {} after {} attempts: {}",
+                    email.getId(), email.getRecipient(), email.getAttempts(), error);
+            return;
+        }
+        // 1x, 2x, 4x ... the base backoff
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(email.getAttempts() - 1, 20));
+        email.setNextAttemptAt(LocalDateTime.now().plus(delay));
+        retriedCounter.increment();
+        logger.warn("Email {} to {} failed (attempt {}), retrying in {}s: {}",
+                email.getId(), email.getRecipient(), email.getAttempts(), delay.toSeconds(), error);
+    }
+}
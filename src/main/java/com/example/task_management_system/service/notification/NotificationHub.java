@@ -0,0 +1,259 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.exception.SubscriberLimitExceededException;
+import com.example.task_management_system.repository.NotificationRepository;
+import com.example.task_management_system.utils.NotificationCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-process fan-out of new in-app notifications to the Server-Sent Event streams open on this node.
+ * <p>
+ * The notification writer publishes each batch once it has committed, so every event carries the
+ * notification's (created_at, id) cursor as its id; a client reconnecting with {@code Last-Event-ID} gets
+ * what it missed replayed from the database, and nothing else touches the database while a stream sits
+ * idle. Live pushes are never filtered by position: ids and timestamps from different writers do not
+ * arrive in order, so only notifications the replay already sent are held back. Sends run on a small
+ * dispatch pool so a slow client never holds up the writer; if that pool falls behind, the affected
+ * streams are closed and their clients resume from their last id. A periodic comment line keeps
+ * proxies from timing idle streams out, and the number of open streams per node is capped.
+ */
+@Component
+public class NotificationHub implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationHub.class);
+    static final String EVENT_NAME = "notification";
+
+    private final NotificationRepository notificationRepository;
+    private final int maxConnections;
+    private final long streamTimeoutMillis;
+    private final long heartbeatMillis;
+    private final int replayLimit;
+    private final ThreadPoolExecutor dispatcher;
+    private final ScheduledExecutorService heartbeat;
+
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final Counter rejectedCounter;
+    private final Counter droppedCounter;
+    private volatile boolean running;
+
+    public NotificationHub(NotificationRepository notificationRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${notifications.stream.max-connections:10000}") int maxConnections,
+                           @Value("${notifications.stream.timeout:30m}") Duration streamTimeout,
+                           @Value("${notifications.stream.heartbeat:15s}") Duration heartbeatInterval,
+                           @Value("${notifications.stream.replay-limit:500}") int replayLimit,
+                           @Value("${notifications.stream.dispatch-threads:2}") int dispatchThreads,
+                           @Value("${notifications.stream.dispatch-queue:10000}") int dispatchQueue) {
+        this.notificationRepository = notificationRepository;
+        this.maxConnections = maxConnections;
+        this.streamTimeoutMillis = streamTimeout.toMillis();
+        this.heartbeatMillis = heartbeatInterval.toMillis();
+        this.replayLimit = replayLimit;
+        this.dispatcher = new ThreadPoolExecutor(dispatchThreads, dispatchThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(dispatchQueue), new CustomizableThreadFactory("notification-push-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.heartbeat = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("notification-heartbeat-"));
+
+        Gauge.builder("notifications.stream.connections", connections, AtomicInteger::get)
+                .description("Open notification streams on this node")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("notifications.stream.rejected")
+                .description("Stream requests refused because the connection cap was reached")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("notifications.stream.dropped")
+                .description("Streams closed because pushes could not keep up; clients resume from their last id")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. When lastEventId (a notification cursor) is given, notifications
+     * created after it are sent first (at most the replay limit; older backlog stays available from the
+     * list endpoint).
+     */
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        NotificationCursor resumeAfter = lastEventId != null ? NotificationCursor.decode(lastEventId) : null;
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejectedCounter.increment();
+            throw new SubscriberLimitExceededException("Too many open notification streams, retry shortly");
+        }
+        SseEmitter emitter = new SseEmitter(streamTimeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+
+        // registered before the replay query, so nothing published meanwhile is missed, and locked until the
+        // replay is done, so pushes wait behind it and skip what it already sent
+        subscriber.lock.lock();
+        try {
+            subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+            if (resumeAfter != null) {
+                notificationRepository.findAfter(userId, resumeAfter.getCreatedAt(), resumeAfter.getId(),
+                        PageRequest.of(0, replayLimit)).forEach(subscriber::replay);
+            }
+        } catch (RuntimeException e) {
+            // the emitter never reaches MVC, so none of its callbacks would ever release the slot
+            remove(subscriber);
+            throw e;
+        } finally {
+            subscriber.lock.unlock();
+        }
+        logger.debug("Opened notification stream for user {} ({} open)", userId, connections.get());
+        return emitter;
+    }
+
+    // Called by the writer after the batch has committed
+    public void publish(Long userId, List<NotificationDto> notifications) {
+        Set<Subscriber> targets = subscribers.get(userId);
+        if (!running || targets == null || targets.isEmpty()) {
+            return;
+        }
+        try {
+            dispatcher.execute(() -> targets.forEach(subscriber -> notifications.forEach(subscriber::push)));
+        } catch (RejectedExecutionException e) {
+            // closing is safe: the clients reconnect with their last id and the replay fills the gap
+            droppedCounter.increment(targets.size());
+            logger.warn("Push queue full, closing {} streams of user {} so they resume", targets.size(), userId);
+            targets.forEach(subscriber -> subscriber.emitter().complete());
+        }
+    }
+
+    int connectionCount() {
+        return connections.get();
+    }
+
+    private void remove(Subscriber subscriber) {
+        Set<Subscriber> userSubscribers = subscribers.get(subscriber.userId());
+        if (userSubscribers != null && userSubscribers.remove(subscriber)) {
+            connections.decrementAndGet();
+            subscribers.computeIfPresent(subscriber.userId(), (id, set) -> set.isEmpty() ? null : set);
+        }
+    }
+
+    private void sendHeartbeats() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(Subscriber::heartbeat));
+    }
+
+    // ========== LIFECYCLE ========== //
+    @Override
+    public void start() {
+        heartbeat.scheduleWithFixedDelay(this::sendHeartbeats, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        heartbeat.shutdownNow();
+        dispatcher.shutdown();
+        // ends the open responses so a graceful shutdown is not held up by idle streams
+        subscribers.values().forEach(userSubscribers ->
+                userSubscribers.forEach(subscriber -> subscriber.emitter().complete()));
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        // a lock rather than synchronized: the replay holds it across a query, which would pin a virtual thread
+        private final ReentrantLock lock = new ReentrantLock();
+        // ids sent by the replay (at most the replay limit); the writer may publish them again right after
+        private final Set<Long> replayedIds = new HashSet<>();
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        Long userId() {
+            return userId;
+        }
+
+        SseEmitter emitter() {
+            return emitter;
+        }
+
+        // called with the lock held by subscribe
+        void replay(NotificationDto notification) {
+            if (replayedIds.add(notification.getId())) {
+                send(notification);
+            }
+        }
+
+        void push(NotificationDto notification) {
+            lock.lock();
+            try {
+                if (!replayedIds.contains(notification.getId())) {
+                    send(notification);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void send(NotificationDto notification) {
+            if (notification.getId() == null) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event()
+                        .id(notification.getCursor())
+                        .name(EVENT_NAME)
+                        .data(notification, MediaType.APPLICATION_JSON));
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            }
+        }
+
+        void heartbeat() {
+            lock.lock();
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // the client went away; the emitter callbacks take it out of the hub
+        private void fail(Exception e) {
+            logger.debug("Notification stream of user {} closed: {}", userId, e.getMessage());
+            remove(this);
+            emitter.completeWithError(e);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package com.example.task_management_system.service.notification;
 
-import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.dto.NotificationPage;
 import com.example.task_management_system.entity.User;
 
 import java.util.List;
@@ -10,9 +10,19 @@ public interface NotificationService {
     // Creates an in-app notification for a specific user with the given message
     void createInAppNotification(User user, String message);
 
+    // Same, for callers that only have the user's id
+    void createInAppNotification(Long userId, String message);
+
     // Sends email reminders to users about upcoming or missed task deadlines
     void sendDeadlineReminderEmails();
 
-    // Retrieves all notifications for a specific user based on their user ID
-    List<Notification> getUserNotifications(Long userId);
+    // One page of the user's notifications: older than the before cursor (newest first), newer than
+    // the since cursor (oldest first), or the latest when neither is given
+    NotificationPage getUserNotifications(Long userId, String before, String since, int size);
+
+    // Number of the user's notifications not yet marked as read
+    long countUnread(Long userId);
+
+    // Marks the given notifications (or all up to the upTo cursor) of the user as read; returns how many changed
+    int markAsRead(Long userId, List<Long> ids, String upTo);
 }
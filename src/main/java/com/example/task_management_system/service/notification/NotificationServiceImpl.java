@@ -1,90 +1,118 @@
 package com.example.task_management_system.service.notification;
 
-import com.example.task_management_system.entity.Notification;
-import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.dto.NotificationPage;
 import com.example.task_management_system.entity.User;
+import com.example.task_management_system.exception.InvalidRequestException;
 import com.example.task_management_system.repository.NotificationRepository;
-import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.service.scheduling.DeadlineReminderJob;
+import com.example.task_management_system.utils.NotificationCursor;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
+@Timed("service.method")
 public class NotificationServiceImpl implements NotificationService {
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_MARK_READ_IDS = 1000;
+
     private final NotificationRepository notificationRepository;
-    private final JavaMailSender mailSender;
-    private final TaskRepository taskRepository;
+    private final NotificationWriteQueue writeQueue;
+    private final DeadlineReminderJob reminderJob;
 
+    // Hands the notification to the background writer once the caller's transaction has committed,
+    // so task writes never wait on (or roll back with) notification inserts.
     @Override
-    @Transactional
     public void createInAppNotification(User user, String message) {
-        log.info("Creating in-app notification for user {}: {}", user.getId(), message);
-        Notification notification = Notification.builder()
-                .user(user)
-                .message(message)
-                .createdAt(LocalDateTime.now())
-                .build();
-        notificationRepository.save(notification);
+        createInAppNotification(user.getId(), message);
     }
 
     @Override
-    @Scheduled(cron = "0 0 9 * * ?")
-    @Transactional
+    public void createInAppNotification(Long userId, String message) {
+        // once per assignment or status change, bulk requests included, so not at INFO
+        log.debug("Queueing in-app notification for user {}", userId);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    writeQueue.enqueue(userId, message);
+                }
+            });
+        } else {
+            writeQueue.enqueue(userId, message);
+        }
+    }
+
+    // Runs today's reminder job on demand; the scheduled trigger lives in DeadlineReminderJob,
+    // and both go through the same leases and checkpoints so nothing is mailed twice
+    @Override
     public void sendDeadlineReminderEmails() {
         log.info("Starting deadline reminder email job");
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        List<Task> upcomingTasks = taskRepository.findByDeadline(tomorrow);
+        reminderJob.runFor(LocalDate.now());
+    }
 
-        upcomingTasks.forEach(task -> {
-            if (task.getUser() != null) {
-                try {
-                    String message = String.format(
-                            "Reminder: Task '%s' is due tomorrow%n%n" +
-                                    "Description: %s%n" +
-                                    "Priority: %s",
-                            task.getTitle(),
-                            task.getDescription(),
-                            task.getPriority()
-                    );
+    @Override
+    @Transactional(readOnly = true)
+    public NotificationPage getUserNotifications(Long userId, String before, String since, int size) {
+        if (before != null && since != null) {
+            throw new InvalidRequestException("Pass either before or since, not both");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // ask for one extra row to find out whether another page follows
+        Pageable limit = PageRequest.of(0, pageSize + 1);
 
-                    sendEmailNotification(
-                            task.getUser().getEmail(),
-                            "Deadline Reminder: " + task.getTitle(),
-                            message
-                    );
-                } catch (Exception e) {
-                    log.error("Error sending reminder for task {}: {}", task.getId(), e.getMessage());
-                }
-            }
-        });
+        List<NotificationDto> rows;
+        if (since != null) {
+            NotificationCursor position = NotificationCursor.decode(since);
+            rows = notificationRepository.findAfter(userId, position.getCreatedAt(), position.getId(), limit);
+        } else if (before != null) {
+            NotificationCursor position = NotificationCursor.decode(before);
+            rows = notificationRepository.findBefore(userId, position.getCreatedAt(), position.getId(), limit);
+        } else {
+            rows = notificationRepository.findLatest(userId, limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<NotificationDto> notifications = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = hasMore ? NotificationCursor.of(notifications.get(notifications.size() - 1)).encode() : null;
+        return new NotificationPage(notifications, nextCursor);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<Notification> getUserNotifications(Long userId) {
-        return notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+    public long countUnread(Long userId) {
+        return notificationRepository.countByUserIdAndReadFalse(userId);
     }
 
-    private void sendEmailNotification(String to, String subject, String body) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setTo(to);
-            message.setSubject(subject);
-            message.setText(body);
-            mailSender.send(message);
-        } catch (MailException e) {
-            log.error("Failed to send email to {}: {}", to, e.getMessage());
+    @Override
+    @Transactional
+    public int markAsRead(Long userId, List<Long> ids, String upTo) {
+        if (upTo != null) {
+            NotificationCursor position = NotificationCursor.decode(upTo);
+            return notificationRepository.markReadUpTo(userId, position.getCreatedAt(), position.getId());
+        }
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("Pass the notification ids or upTo");
+        }
+        if (ids.size() > MAX_MARK_READ_IDS) {
+            throw new InvalidRequestException("At most " + MAX_MARK_READ_IDS + " ids per request, use upTo instead");
         }
+        int updated = notificationRepository.markRead(userId, ids);
+        log.debug("Marked {} of {} notifications read for user {}", updated, ids.size(), userId);
+        return updated;
     }
-}
\ No newline at end of file
+}
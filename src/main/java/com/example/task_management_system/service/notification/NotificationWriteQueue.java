@@ -0,0 +1,273 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.repository.NotificationRepository;
+import com.example.task_management_system.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded in-process queue of in-app notifications, persisted by a single background writer
+ * in Hibernate JDBC batches (ids come from a pooled sequence, so inserts are not forced one
+ * at a time). A batch is flushed once it reaches the configured size or the flush interval
+ * has passed since its first entry, whichever comes first.
+ * <p>
+ * When the queue stays full for longer than the offer timeout the caller writes its own
+ * notification synchronously, so a slow database slows producers down instead of losing rows.
+ * Every write runs in a transaction of its own: callers enqueue from {@code afterCommit}, where the
+ * finished transaction is still bound to the thread and joining it would never commit. A batch the
+ * database rejects is retried one row at a time, so a single bad row costs only itself.
+ * Committed batches are handed to the {@link NotificationHub} for any open streams.
+ */
+@Component
+public class NotificationWriteQueue implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationWriteQueue.class);
+
+    private final NotificationRepository notificationRepository;
+    private final UserRepository userRepository;
+    private final NotificationHub notificationHub;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<PendingNotification> queue;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final long offerTimeoutMillis;
+
+    private final Timer flushTimer;
+    private final DistributionSummary batchSizes;
+    private final Counter overflowCounter;
+    private final Counter failedCounter;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public NotificationWriteQueue(NotificationRepository notificationRepository,
+                                  UserRepository userRepository,
+                                  NotificationHub notificationHub,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${notifications.queue.capacity:10000}") int capacity,
+                                  @Value("${notifications.batch.size:200}") int batchSize,
+                                  @Value("${notifications.batch.flush-interval-ms:200}") long flushIntervalMillis,
+                                  @Value("${notifications.queue.offer-timeout-ms:50}") long offerTimeoutMillis) {
+        this.notificationRepository = notificationRepository;
+        this.userRepository = userRepository;
+        this.notificationHub = notificationHub;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+
+        Gauge.builder("notifications.queue.depth", queue, BlockingQueue::size)
+                .description("In-app notifications waiting to be written")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("notifications.flush.latency")
+                .description("Time to write one notification batch")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("notifications.flush.batch.size")
+                .register(meterRegistry);
+        this.overflowCounter = Counter.builder("notifications.queue.overflow")
+                .description("Notifications written on the caller thread because the queue was full")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("notifications.flush.failed")
+                .description("Notifications dropped because their insert failed")
+                .register(meterRegistry);
+    }
+
+    public void enqueue(Long userId, String message) {
+        PendingNotification notification = new PendingNotification(userId, message);
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(notification, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            overflowCounter.increment();
+            logger.debug("Notification queue unavailable, writing on caller thread for user {}", userId);
+            flush(List.of(notification));
+        }
+    }
+
+    int depth() {
+        return queue.size();
+    }
+
+    // ========== WRITER ========== //
+    private void runWriter() {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // stop() interrupts a writer blocked on an empty queue; anything left is drained below
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collectBatch(List<PendingNotification> batch) throws InterruptedException {
+        PendingNotification first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0) {
+                return;
+            }
+            PendingNotification next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingNotification> batch) {
+        List<Notification> saved;
+        try {
+            saved = flushTimer.record(() -> insert(batch));
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                dropped(batch, e);
+            } else {
+                logger.warn("Failed to write a batch of {} notifications, retrying one at a time: {}",
+                        batch.size(), e.getMessage());
+                flushOneByOne(batch);
+            }
+            return;
+        }
+        batchSizes.record(batch.size());
+        logger.debug("Flushed {} notifications", batch.size());
+        publish(batch, saved);
+    }
+
+    private void flushOneByOne(List<PendingNotification> batch) {
+        for (int i = 0; i < batch.size(); i++) {
+            List<PendingNotification> single = batch.subList(i, i + 1);
+            List<Notification> saved;
+            try {
+                saved = insert(single);
+            } catch (CannotCreateTransactionException e) {
+                // no connection: the database is down rather than the row bad, so don't try the rest
+                dropped(batch.subList(i, batch.size()), e);
+                return;
+            } catch (RuntimeException e) {
+                dropped(single, e);
+                continue;
+            }
+            publish(single, saved);
+        }
+    }
+
+    // created_at is stamped here, just before the insert commits, rather than when the notification was queued:
+    // list and stream cursors follow it, and a row stamped long before it becomes visible could land behind
+    // a cursor a client already holds. Microseconds, the column's precision, so cursors match the stored value
+    private List<Notification> insert(List<PendingNotification> batch) {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime createdAt = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            return notificationRepository.saveAll(batch.stream().map(pending -> toEntity(pending, createdAt)).toList());
+        });
+    }
+
+    private void dropped(List<PendingNotification> notifications, RuntimeException e) {
+        failedCounter.increment(notifications.size());
+        if (notifications.size() == 1) {
+            logger.error("Failed to write notification for user {}: {}", notifications.get(0).userId(), e.getMessage());
+        } else {
+            logger.error("Failed to write {} notifications: {}", notifications.size(), e.getMessage());
+        }
+    }
+
+    // saveAll returns the entities in batch order, now carrying their ids
+    private void publish(List<PendingNotification> batch, List<Notification> saved) {
+        if (saved == null) {
+            return;
+        }
+        Map<Long, List<NotificationDto>> byUser = new LinkedHashMap<>();
+        for (int i = 0; i < Math.min(batch.size(), saved.size()); i++) {
+            byUser.computeIfAbsent(batch.get(i).userId(), id -> new ArrayList<>())
+                    .add(NotificationDto.fromNotification(saved.get(i)));
+        }
+        byUser.forEach(notificationHub::publish);
+    }
+
+    // user is a reference proxy, so no SELECT is issued per notification
+    private Notification toEntity(PendingNotification pending, LocalDateTime createdAt) {
+        return Notification.builder()
+                .user(userRepository.getReferenceById(pending.userId()))
+                .message(pending.message())
+                .createdAt(createdAt)
+                .build();
+    }
+
+    // ========== LIFECYCLE ========== //
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::runWriter, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writer != null) {
+            writer.interrupt();
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // anything enqueued after the writer exited is written here rather than lost
+        List<PendingNotification> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            flush(remaining);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    record PendingNotification(Long userId, String message) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.task_management_system.service.scheduling;
+
+import com.example.task_management_system.entity.JobCheckpoint;
+import com.example.task_management_system.repository.JobCheckpointRepository;
+import com.example.task_management_system.service.notification.DeadlineReminderMailer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Daily deadline reminder run, safe to schedule on every node.
+ * <p>
+ * Users are split into a fixed number of partitions, each guarded by its own database lease, so
+ * several nodes can share a large day while no partition is ever mailed twice. Each partition
+ * checkpoints the last (user, task) it has mailed; a node that dies leaves its lease to expire and
+ * the next trigger on any node resumes from the checkpoint. The trigger fires repeatedly through
+ * the day and completed partitions are skipped, which is what makes the resume happen.
+ */
+@Component
+public class DeadlineReminderJob {
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineReminderJob.class);
+    static final String JOB_NAME = "deadline-reminders";
+
+    private final JobLockService jobLockService;
+    private final JobCheckpointRepository checkpointRepository;
+    private final DeadlineReminderMailer reminderMailer;
+    private final int partitions;
+    private final Duration lease;
+
+    public DeadlineReminderJob(JobLockService jobLockService,
+                               JobCheckpointRepository checkpointRepository,
+                               DeadlineReminderMailer reminderMailer,
+                               @Value("${reminders.partitions:6}") int partitions,
+                               @Value("${reminders.lock.lease:10m}") Duration lease) {
+        this.jobLockService = jobLockService;
+        this.checkpointRepository = checkpointRepository;
+        this.reminderMailer = reminderMailer;
+        this.partitions = partitions;
+        this.lease = lease;
+    }
+
+    @Scheduled(cron = "${reminders.cron:0 */5 9-23 * * ?}")
+    public void run() {
+        runFor(LocalDate.now());
+    }
+
+    // Mails the reminders for tasks due the day after runDate; returns the digests sent by this node
+    public int runFor(LocalDate runDate) {
+        int delivered = 0;
+        for (int partition = 0; partition < partitions; partition++) {
+            String checkpointId = JOB_NAME + ":" + runDate + ":" + partition;
+            if (isCompleted(checkpointId)) {
+                continue;
+            }
+            String lockName = JOB_NAME + "-" + partition;
+            if (!jobLockService.tryAcquire(lockName, lease)) {
+                logger.debug("Partition {} of {} is held by another node", partition, JOB_NAME);
+                continue;
+            }
+            try {
+                delivered += runPartition(runDate, partition, checkpointId, lockName);
+            } catch (LeaseLostException e) {
+                logger.warn("Lost lease {} mid-run; another node will resume from the checkpoint", lockName);
+            } finally {
+                jobLockService.release(lockName);
+            }
+        }
+        return delivered;
+    }
+
+    private int runPartition(LocalDate runDate, int partition, String checkpointId, String lockName) {
+        // re-read under the lease, another node may have finished it in the meantime
+        JobCheckpoint checkpoint = checkpointRepository.findById(checkpointId)
+                .orElseGet(() -> new JobCheckpoint(checkpointId, 0L, 0L, false, LocalDateTime.now()));
+        if (checkpoint.isCompleted()) {
+            return 0;
+        }
+        if (checkpoint.getLastUserId() > 0) {
+            logger.info("Resuming {} after user {} task {}", checkpointId,
+                    checkpoint.getLastUserId(), checkpoint.getLastTaskId());
+        }
+
+        int delivered = reminderMailer.sendReminders(runDate.plusDays(1), partition, partitions,
+                checkpoint.getLastUserId(), checkpoint.getLastTaskId(), (userId, taskId) -> {
+                    checkpoint.setLastUserId(userId);
+                    checkpoint.setLastTaskId(taskId);
+                    checkpoint.setUpdatedAt(LocalDateTime.now());
+                    checkpointRepository.save(checkpoint);
+                    // renew while we still hold it; stop if it expired and was taken over
+                    if (!jobLockService.tryAcquire(lockName, lease)) {
+                        throw new LeaseLostException();
+                    }
+                });
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+        return delivered;
+    }
+
+    private boolean isCompleted(String checkpointId) {
+        return checkpointRepository.findById(checkpointId).map(JobCheckpoint::isCompleted).orElse(false);
+    }
+
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.task_management_system.service.scheduling;
+
+import java.time.Duration;
+
+public interface JobLockService {
+
+    // Takes (or renews) the named lease for this node; false if another node holds it
+    boolean tryAcquire(String name, Duration lease);
+
+    // Gives the lease up early so another node can take it without waiting for it to expire
+    void release(String name);
+}
@@ -0,0 +1,85 @@
+package com.example.task_management_system.service.scheduling;
+
+import com.example.task_management_system.entity.JobLock;
+import com.example.task_management_system.repository.JobLockRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Database leases shared by every node. Claiming is a single conditional UPDATE, so two nodes
+ * can never both see the lease as free; the first claim of a name inserts its row, and a node
+ * that loses that insert race simply does not get the lease.
+ */
+@Service
+public class JobLockServiceImpl implements JobLockService {
+    private static final Logger logger = LoggerFactory.getLogger(JobLockServiceImpl.class);
+
+    private final JobLockRepository jobLockRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final String owner;
+
+    @Autowired
+    public JobLockServiceImpl(JobLockRepository jobLockRepository,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this(jobLockRepository, entityManager, transactionManager,
+                ManagementFactory.getRuntimeMXBean().getName() + "/" + UUID.randomUUID().toString().substring(0, 8));
+    }
+
+    JobLockServiceImpl(JobLockRepository jobLockRepository,
+                       EntityManager entityManager,
+                       PlatformTransactionManager transactionManager,
+                       String owner) {
+        this.jobLockRepository = jobLockRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.owner = owner;
+    }
+
+    @Override
+    public boolean tryAcquire(String name, Duration lease) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime until = now.plus(lease);
+
+        Integer claimed = transactionTemplate.execute(status -> jobLockRepository.claim(name, owner, now, until));
+        if (claimed != null && claimed == 1) {
+            return true;
+        }
+
+        // no row yet: the first node to insert it owns the lease
+        try {
+            Boolean inserted = transactionTemplate.execute(status -> {
+                if (jobLockRepository.existsById(name)) {
+                    return false;
+                }
+                entityManager.persist(new JobLock(name, owner, until));
+                return true;
+            });
+            if (Boolean.TRUE.equals(inserted)) {
+                logger.info("Created job lock {} for {}", name, owner);
+                return true;
+            }
+        } catch (DataAccessException | TransactionException e) {
+            logger.debug("Lost the race to create job lock {}: {}", name, e.getMessage());
+        }
+        return false;
+    }
+
+    @Override
+    public void release(String name) {
+        transactionTemplate.executeWithoutResult(status -> jobLockRepository.release(name, owner, LocalDateTime.now()));
+    }
+}
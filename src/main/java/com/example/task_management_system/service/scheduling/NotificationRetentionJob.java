@@ -0,0 +1,84 @@
+package com.example.task_management_system.service.scheduling;
+
+import com.example.task_management_system.repository.NotificationRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Nightly purge of in-app notifications older than the retention period, so the hot table only
+ * holds what users still page through.
+ * <p>
+ * Rows are deleted in small batches, each in its own transaction, so no single statement holds
+ * row locks (or grows the undo log) long enough to stall the notification writer. A database lease
+ * keeps it to one node; a run that stops midway simply continues on the next trigger.
+ */
+@Component
+public class NotificationRetentionJob {
+    private static final Logger logger = LoggerFactory.getLogger(NotificationRetentionJob.class);
+    static final String JOB_NAME = "notification-retention";
+
+    private final JobLockService jobLockService;
+    private final NotificationRepository notificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+    private final int batchSize;
+    private final Duration lease;
+
+    public NotificationRetentionJob(JobLockService jobLockService,
+                                    NotificationRepository notificationRepository,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${notifications.retention.days:90}") int retentionDays,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${notifications.retention.lease:10m}") Duration lease) {
+        this.jobLockService = jobLockService;
+        this.notificationRepository = notificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+        this.lease = lease;
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * ?}")
+    public void run() {
+        // 0 keeps notifications forever
+        if (retentionDays > 0) {
+            purgeOlderThan(LocalDateTime.now().minusDays(retentionDays));
+        }
+    }
+
+    // Deletes notifications created before the cutoff; returns how many this node removed
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+            logger.debug("{} is running on another node", JOB_NAME);
+            return 0;
+        }
+        int deleted = 0;
+        try {
+            List<Long> ids;
+            while (!(ids = notificationRepository.findIdsCreatedBefore(cutoff, PageRequest.of(0, batchSize))).isEmpty()) {
+                List<Long> batch = ids;
+                Integer removed = transactionTemplate.execute(status -> notificationRepository.deleteByIdIn(batch));
+                deleted += removed != null ? removed : 0;
+                // renew while we still hold it; stop if it expired and was taken over
+                if (!jobLockService.tryAcquire(JOB_NAME, lease)) {
+                    logger.warn("Lost lease {} mid-run after deleting {} notifications", JOB_NAME, deleted);
+                    return deleted;
+                }
+            }
+            logger.info("Deleted {} notifications created before {}", deleted, cutoff);
+            return deleted;
+        } finally {
+            jobLockService.release(JOB_NAME);
+        }
+    }
+}
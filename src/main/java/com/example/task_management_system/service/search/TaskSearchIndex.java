@@ -0,0 +1,412 @@
+package com.example.task_management_system.service.search;
+
+import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.repository.TaskChangeEventRepository;
+import com.example.task_management_system.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.SegmentInfos;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-process Lucene index over task titles and descriptions, one per node.
+ * <p>
+ * The index only holds ids and analysed text; callers load the matching rows by id, so results
+ * never show stale field values. Every node follows the task change feed (task_change_events by
+ * offset), so changes made through any node reach every index within the catch-up interval; the
+ * task services also index their own changes once they commit, so the writing node sees them
+ * at once. The last applied offset is stored with each index commit: on an FSDirectory (required
+ * in prod) a restart only catches up from there, and the full rebuild from the tasks table runs
+ * only when there is no index yet. The follower runs on a thread of its own, not as a {@code @Scheduled}
+ * job: a node kept out of the cluster jobs (spring.task.scheduling.enabled=false) still serves searches.
+ */
+@Component
+public class TaskSearchIndex implements SmartLifecycle {
+    private static final Logger logger = LoggerFactory.getLogger(TaskSearchIndex.class);
+    static final String ID = "id";
+    static final String TITLE = "title";
+    static final String DESCRIPTION = "description";
+    private static final float TITLE_BOOST = 2.0f;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    static final String FEED_OFFSET = "feedOffset";
+
+    private final TaskRepository taskRepository;
+    private final TaskChangeEventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+    private final String indexPath;
+    private final int catchUpBatchSize;
+    private final long catchUpIntervalMillis;
+    private final Analyzer analyzer = new StandardAnalyzer();
+
+    private Directory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+    private ScheduledExecutorService follower;
+    // last change feed offset applied; only the catch-up (the follower thread, or start) moves it
+    private volatile long appliedOffset;
+    private volatile boolean running;
+
+    public TaskSearchIndex(TaskRepository taskRepository,
+                           TaskChangeEventRepository eventRepository,
+                           ObjectMapper objectMapper,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${search.index.path:}") String indexPath,
+                           @Value("${search.index.catch-up.batch-size:500}") int catchUpBatchSize,
+                           @Value("${search.index.catch-up-interval-ms:1000}") long catchUpIntervalMillis) {
+        this.taskRepository = taskRepository;
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.indexPath = indexPath;
+        this.catchUpBatchSize = catchUpBatchSize;
+        this.catchUpIntervalMillis = catchUpIntervalMillis;
+    }
+
+    // ========== LOCAL UPDATES ========== //
+    // Both run after the caller's transaction commits, so a rolled back write never reaches the index;
+    // the change feed brings the same change (and every other node's) shortly after
+    public void index(Task task) {
+        Long id = task.getId();
+        String title = task.getTitle();
+        String description = task.getDescription();
+        afterCommit(() -> update(id, title, description));
+    }
+
+    public void remove(Long taskId) {
+        afterCommit(() -> {
+            try {
+                writer.deleteDocuments(new Term(ID, taskId.toString()));
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                logger.error("Failed to remove task {} from the search index: {}", taskId, e.getMessage());
+            }
+        });
+    }
+
+    private void update(Long id, String title, String description) {
+        try {
+            writer.updateDocument(new Term(ID, id.toString()), toDocument(id, title, description));
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            logger.error("Failed to index task {}: {}", id, e.getMessage());
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // ========== CHANGE FEED ========== //
+    void catchUp() {
+        if (!running) {
+            return;
+        }
+        try {
+            applyFeed();
+        } catch (IOException | RuntimeException e) {
+            // the offset only moves after a commit, so the next run retries the same events
+            logger.error("Search index catch-up failed at offset {}: {}", appliedOffset, e.getMessage());
+        }
+    }
+
+    private void applyFeed() throws IOException {
+        List<TaskChangeEvent> events;
+        do {
+            events = eventRepository.findAfter(appliedOffset, PageRequest.of(0, catchUpBatchSize));
+            if (events.isEmpty()) {
+                return;
+            }
+            apply(events);
+            long offset = events.get(events.size() - 1).getFeedOffset();
+            commit(offset);
+            appliedOffset = offset;
+            searcherManager.maybeRefresh();
+            logger.debug("Applied {} task changes to the search index, now at offset {}", events.size(), offset);
+        } while (events.size() == catchUpBatchSize);
+    }
+
+    // Text changes are reloaded rather than taken from the event, which only carries the fields that changed
+    // (and a later change may already have replaced them); status-only changes don't touch the index
+    private void apply(List<TaskChangeEvent> events) throws IOException {
+        Set<Long> changed = new LinkedHashSet<>();
+        Set<Long> deleted = new LinkedHashSet<>();
+        for (TaskChangeEvent event : events) {
+            if (event.getChangeType() == TaskChangeType.DELETED) {
+                deleted.add(event.getTaskId());
+                changed.remove(event.getTaskId());
+            } else if (event.getChangeType() == TaskChangeType.CREATED || changesText(event)) {
+                changed.add(event.getTaskId());
+                deleted.remove(event.getTaskId());
+            }
+        }
+        if (!changed.isEmpty()) {
+            Map<Long, TaskDto> current = taskRepository.findTaskDtosByIdIn(changed).stream()
+                    .collect(Collectors.toMap(TaskDto::getId, Function.identity()));
+            for (Long id : changed) {
+                TaskDto task = current.get(id);
+                if (task == null) {
+                    // deleted since; its DELETED event is in a later batch
+                    deleted.add(id);
+                } else {
+                    writer.updateDocument(new Term(ID, id.toString()), toDocument(id, task.getTitle(), task.getDescription()));
+                }
+            }
+        }
+        for (Long id : deleted) {
+            writer.deleteDocuments(new Term(ID, id.toString()));
+        }
+    }
+
+    private boolean changesText(TaskChangeEvent event) {
+        if (event.getChanges() == null) {
+            return false;
+        }
+        try {
+            JsonNode fields = objectMapper.readTree(event.getChanges());
+            return fields.has(TITLE) || fields.has(DESCRIPTION);
+        } catch (JsonProcessingException e) {
+            return true;
+        }
+    }
+
+    private void commit(long offset) throws IOException {
+        writer.setLiveCommitData(Map.of(FEED_OFFSET, Long.toString(offset)).entrySet());
+        writer.commit();
+    }
+
+    // ========== SEARCH ========== //
+    /**
+     * Ranks tasks whose title or description contains every term of the query, either as a whole
+     * word or as a word prefix (so "rep" finds "report"). Title matches weigh double.
+     */
+    public Hits search(String text, int page, int size) {
+        Query query = buildQuery(text);
+        if (query == null) {
+            return new Hits(List.of(), 0);
+        }
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                TopDocs top = searcher.search(query, (page + 1) * size);
+                List<Long> ids = new ArrayList<>(size);
+                ScoreDoc[] scoreDocs = top.scoreDocs;
+                for (int i = page * size; i < scoreDocs.length; i++) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(scoreDocs[i].doc).get(ID)));
+                }
+                return new Hits(ids, top.totalHits.value);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Task search failed", e);
+        }
+    }
+
+    Query buildQuery(String text) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            if (term.length() >= MIN_PREFIX_LENGTH) {
+                anyField.add(new BoostQuery(new PrefixQuery(new Term(TITLE, term)), TITLE_BOOST), BooleanClause.Occur.SHOULD)
+                        .add(new PrefixQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(TITLE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    // ========== REBUILD ========== //
+    // Reads the feed position first: changes committed while the table is being read are applied again
+    // by the catch-up that follows, and applying a change twice leaves the same document
+    private void rebuild() throws IOException {
+        long started = System.currentTimeMillis();
+        long offset = eventRepository.findLastOffset();
+        writer.deleteAll();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<TaskDto> tasks = taskRepository.streamAllOrderByDeadlineDesc()) {
+                tasks.forEach(task -> {
+                    try {
+                        writer.addDocument(toDocument(task.getId(), task.getTitle(), task.getDescription()));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        });
+        commit(offset);
+        appliedOffset = offset;
+        logger.info("Indexed {} tasks for search in {} ms", writer.getDocStats().numDocs,
+                System.currentTimeMillis() - started);
+    }
+
+    private static Document toDocument(Long id, String title, String description) {
+        Document document = new Document();
+        document.add(new StringField(ID, id.toString(), Field.Store.YES));
+        if (title != null) {
+            document.add(new TextField(TITLE, title, Field.Store.NO));
+        }
+        if (description != null) {
+            document.add(new TextField(DESCRIPTION, description, Field.Store.NO));
+        }
+        return document;
+    }
+
+    // ========== LIFECYCLE ========== //
+    @Override
+    public void start() {
+        try {
+            // an empty path keeps the index on the heap and rebuilds it on every start (tests, local runs)
+            directory = indexPath.isBlank() ? new ByteBuffersDirectory() : FSDirectory.open(Path.of(indexPath));
+            String storedOffset = committedOffset(directory);
+            writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                    .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+            searcherManager = new SearcherManager(writer, null);
+            if (storedOffset == null) {
+                rebuild();
+            } else {
+                appliedOffset = Long.parseLong(storedOffset);
+                logger.info("Opened the task search index at {}, catching up from offset {}", indexPath, appliedOffset);
+            }
+            applyFeed();
+            searcherManager.maybeRefreshBlocking();
+            running = true;
+            follower = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("search-index-follower-"));
+            follower.scheduleWithFixedDelay(this::catchUp, catchUpIntervalMillis, catchUpIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the task search index", e);
+        }
+    }
+
+    // the feed offset of the last commit, or null when there is no index (or one from before offsets were stored)
+    private static String committedOffset(Directory directory) throws IOException {
+        if (!DirectoryReader.indexExists(directory)) {
+            return null;
+        }
+        return SegmentInfos.readLatestCommit(directory).getUserData().get(FEED_OFFSET);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            // let a catch-up in progress finish its batch before the writer closes under it
+            follower.shutdown();
+            if (!follower.awaitTermination(10, TimeUnit.SECONDS)) {
+                logger.warn("Search index follower did not stop in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the task search index: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // start before the web server (which starts in a late phase) so no search arrives before the rebuild or catch-up
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    public record Hits(List<Long> taskIds, long totalHits) {
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.task_management_system.utils;
+
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position of a notification in the (created_at, id) ordering of a user's notifications.
+ * Ids come from pooled sequence blocks, one per node, so they do not follow creation time
+ * across nodes; the id only breaks ties between notifications created in the same microsecond.
+ * Encoded as a url-safe base64 string so clients treat it as opaque.
+ */
+public final class NotificationCursor {
+
+    private final LocalDateTime createdAt;
+    private final long id;
+
+    private NotificationCursor(LocalDateTime createdAt, long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    // created_at is stored to the microsecond, so the cursor compares at that precision too
+    public static NotificationCursor of(LocalDateTime createdAt, Long id) {
+        return new NotificationCursor(createdAt.truncatedTo(ChronoUnit.MICROS), id);
+    }
+
+    public static NotificationCursor of(NotificationDto notification) {
+        return of(notification.getCreatedAt(), notification.getId());
+    }
+
+    public static NotificationCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            LocalDateTime createdAt = LocalDateTime.parse(raw.substring(0, separator));
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return of(createdAt, id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
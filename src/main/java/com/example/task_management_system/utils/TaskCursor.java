@@ -0,0 +1,71 @@
+package com.example.task_management_system.utils;
+
+import com.example.task_management_system.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Keyset position in the (deadline DESC, id DESC) ordering of the admin task list.
+ * Encoded as a url-safe base64 string so clients treat it as opaque.
+ */
+public final class TaskCursor {
+
+    private static final String NO_DEADLINE = "-";
+
+    private final LocalDate deadline;
+    private final long id;
+
+    private TaskCursor(LocalDate deadline, long id) {
+        this.deadline = deadline;
+        this.id = id;
+    }
+
+    public static TaskCursor of(Date deadline, Long id) {
+        LocalDate day = deadline == null ? null : toLocalDate(deadline);
+        return new TaskCursor(day, id);
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            String day = raw.substring(0, separator);
+            long id = Long.parseLong(raw.substring(separator + 1));
+            return new TaskCursor(NO_DEADLINE.equals(day) ? null : LocalDate.parse(day), id);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidRequestException("Invalid cursor", e);
+        }
+    }
+
+    public String encode() {
+        String raw = (deadline == null ? NO_DEADLINE : deadline.toString()) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public boolean hasDeadline() {
+        return deadline != null;
+    }
+
+    public Date getDeadline() {
+        return deadline == null ? null : java.sql.Date.valueOf(deadline);
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    private static LocalDate toLocalDate(Date date) {
+        // DATE columns come back as java.sql.Date, which does not support toInstant()
+        if (date instanceof java.sql.Date sqlDate) {
+            return sqlDate.toLocalDate();
+        }
+        return new java.sql.Date(date.getTime()).toLocalDate();
+    }
+}
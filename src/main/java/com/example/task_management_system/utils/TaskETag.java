@@ -0,0 +1,37 @@
+package com.example.task_management_system.utils;
+
+import com.example.task_management_system.exception.InvalidRequestException;
+
+/**
+ * Strong ETag of a task, its version number in quotes. Clients send it back in If-Match so an
+ * update only applies to the version they have seen, and in If-None-Match to revalidate a read.
+ */
+public final class TaskETag {
+
+    private TaskETag() {
+    }
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    // The version an If-Match header asks for; null when the header is absent or "*" (any version)
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        // weak tags carry the same version; If-Match compares strongly, but a proxy may have weakened ours
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw new InvalidRequestException("If-Match must be a single task ETag");
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match must be a single task ETag");
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.dto.UserAnalyticsRow;
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.UserTaskStats;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
+import com.example.task_management_system.service.analyticservice.AnalyticsService;
+import com.example.task_management_system.service.analyticservice.AnalyticsServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * In-JVM cost of one analytics dashboard view, with repository calls answered from memory so only the
+ * service's own work is measured. The rollup rows are derived from the generated tasks; the cost should
+ * stay flat as tasksPerUser grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AnalyticsBenchmark {
+
+    private static final Long USER_ID = 1L;
+
+    @Param({"10", "1000", "10000"})
+    public int tasksPerUser;
+
+    private AnalyticsService analyticsService;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = BenchmarkData.tasks(BenchmarkData.employee(USER_ID), tasksPerUser);
+        List<Task> completed = tasks.stream()
+                .filter(task -> task.getTaskStatus() == TaskStatus.COMPLETED)
+                .toList();
+
+        UserTaskStats stats = new UserTaskStats(USER_ID, tasks.size(), completed.size(),
+                completed.stream().filter(task -> task.getTimeEstimate() != null).mapToLong(Task::getTimeEstimate).sum(),
+                completed.stream().filter(task -> task.getTimeEstimate() != null).count());
+        LocalDate weekAgo = LocalDate.now().minusWeeks(1);
+        // what the single dashboard query returns: the totals joined with each bucket of the past week
+        List<UserAnalyticsRow> rows = completed.stream()
+                .filter(task -> task.getCompletedAt() != null)
+                .collect(Collectors.groupingBy(task -> task.getCompletedAt().toLocalDate(), Collectors.counting()))
+                .entrySet().stream()
+                .filter(day -> !day.getKey().isBefore(weekAgo))
+                .map(day -> new UserAnalyticsRow(stats.getTotalTasks(), stats.getCompletedTasks(),
+                        stats.getCompletedEstimateSum(), stats.getCompletedEstimateCount(), day.getKey(), day.getValue()))
+                .toList();
+
+        UserTaskStatsRepository statsRepository = BenchmarkData.stub(UserTaskStatsRepository.class, Map.of(
+                "findAnalyticsRows", args -> rows
+        ));
+        UserCompletionDayRepository completionDayRepository = BenchmarkData.stub(UserCompletionDayRepository.class, Map.of());
+        // the organization view is measured separately (OrganizationAnalyticsBenchmark)
+        analyticsService = new AnalyticsServiceImpl(statsRepository, completionDayRepository, null, null, null, null);
+    }
+
+    @Benchmark
+    public void dashboard(Blackhole blackhole) {
+        blackhole.consume(analyticsService.getUserAnalytics(USER_ID));
+    }
+}
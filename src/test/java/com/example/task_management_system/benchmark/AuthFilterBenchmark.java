@@ -0,0 +1,73 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.config.JWTAuthFilter;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.service.jwt.PrincipalCache;
+import com.example.task_management_system.service.jwt.UserService;
+import com.example.task_management_system.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One pass of an authenticated request through JWTAuthFilter, with the user lookup answered from memory.
+ * "coldCaches" disables the verified-token and principal caches to show the steady-state miss cost.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthFilterBenchmark {
+
+    @Param({"0", "16"})
+    public int claimCount;
+
+    @Param({"false", "true"})
+    public boolean coldCaches;
+
+    private JWTAuthFilter filter;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        User user = BenchmarkData.employee(1L);
+        JwtUtil jwtUtil = new JwtUtil(coldCaches ? 0 : 10_000);
+        PrincipalCache principalCache = new PrincipalCache(coldCaches ? 0 : 10_000, Duration.ofMinutes(5),
+                new SimpleMeterRegistry());
+        UserDetailsService userDetailsService = username -> user;
+        UserService userService = BenchmarkData.stub(UserService.class,
+                Map.of("userDetailService", args -> userDetailsService));
+        filter = new JWTAuthFilter(jwtUtil, userService, principalCache);
+
+        Map<String, Object> claims = new HashMap<>();
+        for (int i = 0; i < claimCount; i++) {
+            claims.put("claim" + i, "value-" + i);
+        }
+        authorization = "Bearer " + jwtUtil.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public Object authenticate() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/employee/tasks/1");
+        request.addHeader("Authorization", authorization);
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.enums.UserRole;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+
+/**
+ * Synthetic fixtures shared by the benchmarks. Seeded so every run (and release) measures the same data.
+ */
+final class BenchmarkData {
+
+    private static final String[] PRIORITIES = {"HIGH", "MEDIUM", "LOW"};
+
+    private BenchmarkData() {
+    }
+
+    static User employee(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setName("Employee " + id);
+        user.setEmail("employee" + id + "@example.com");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuv");
+        user.setUserRole(UserRole.EMPLOYEE);
+        return user;
+    }
+
+    static List<Task> tasks(User owner, int count) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i);
+            task.setDescription("Synthetic benchmark task number " + i);
+            task.setPriority(PRIORITIES[i % PRIORITIES.length]);
+            task.setCreatedDate(new Date());
+            task.setDeadline(new Date(System.currentTimeMillis() + random.nextInt(30) * 86_400_000L));
+            task.setTimeEstimate(15 + random.nextInt(240));
+            if (random.nextBoolean()) {
+                task.setTaskStatus(TaskStatus.COMPLETED);
+                task.setCompletedAt(now.minusHours(random.nextInt(24 * 7)));
+            } else {
+                task.setTaskStatus(TaskStatus.PENDING);
+            }
+            task.setUser(owner);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    /**
+     * Minimal dynamic-proxy stand-in for a Spring Data repository: answers the named methods and
+     * fails loudly on anything else, without the per-call bookkeeping a mocking framework adds.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T stub(Class<T> type, Map<String, Function<Object[], Object>> answers) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Function<Object[], Object> answer = answers.get(method.getName());
+            if (answer == null) {
+                throw new UnsupportedOperationException(method.getName() + " is not stubbed");
+            }
+            return answer.apply(args);
+        });
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.UserDto;
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity -> DTO mapping of a full task list and user list, as done by the list endpoints.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int size;
+
+    private List<Task> tasks;
+    private List<User> users;
+
+    @Setup
+    public void setUp() {
+        tasks = BenchmarkData.tasks(BenchmarkData.employee(1L), size);
+        users = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            users.add(BenchmarkData.employee(i));
+        }
+    }
+
+    @Benchmark
+    public List<TaskDto> fromTask() {
+        return tasks.stream().map(Task::fromTask).toList();
+    }
+
+    @Benchmark
+    public List<UserDto> fromUser() {
+        return users.stream().map(UserDto::fromUser).toList();
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue and (uncached) verification cost as the number of extra claims grows.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtTokenBenchmark {
+
+    @Param({"0", "4", "16"})
+    public int claimCount;
+
+    private JwtUtil jwtUtil;
+    private User user;
+    private Map<String, Object> claims;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(0);
+        user = BenchmarkData.employee(1L);
+        claims = new HashMap<>();
+        for (int i = 0; i < claimCount; i++) {
+            claims.put("claim" + i, "value-" + i);
+        }
+        token = jwtUtil.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public String generate() {
+        return jwtUtil.generateToken(claims, user);
+    }
+
+    @Benchmark
+    public Optional<Claims> validate() {
+        return jwtUtil.validateToken(token);
+    }
+}
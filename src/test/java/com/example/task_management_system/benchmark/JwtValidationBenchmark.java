@@ -0,0 +1,75 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.utils.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token.
+ * "legacy" reproduces the previous JWTAuthFilter path: three full parses, each rebuilding the key and parser.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtValidationBenchmark {
+
+    private static final String SECRET_KEY = "413F4428472B4B6250655368566D5970337336763979244226452948404D6351";
+
+    private JwtUtil uncached;
+    private JwtUtil cached;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        uncached = new JwtUtil(0);
+        cached = new JwtUtil(10_000);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("bench@example.com");
+        user.setUserRole(UserRole.EMPLOYEE);
+        token = cached.generateToken(user);
+    }
+
+    @Benchmark
+    public boolean legacy() {
+        // extractUsername, then isTokenValid -> extractUsername + extractExpiration
+        String username = legacyClaims(token).getSubject();
+        String again = legacyClaims(token).getSubject();
+        Date expiration = legacyClaims(token).getExpiration();
+        return username.equals(user.getUsername()) && again.equals(username) && expiration.after(new Date());
+    }
+
+    @Benchmark
+    public Optional<Claims> parseOnce() {
+        return uncached.validateToken(token);
+    }
+
+    @Benchmark
+    public Optional<Claims> parseOnceCached() {
+        return cached.validateToken(token);
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET_KEY));
+        return Jwts.parser()
+                .verifyWith(key)
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.task_management_system.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.encoder.Encoder;
+import com.example.task_management_system.config.RequestLogSamplingFilter;
+import com.example.task_management_system.config.SampledDebugTurboFilter;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.MDC;
+import org.springframework.boot.logging.logback.StructuredLogEncoder;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-path logging under contention, eight threads logging at once:
+ * <ul>
+ *   <li>{@code sync-pattern}: the default configuration, the package at DEBUG, pattern lines
+ *       written to the file by the calling thread under the appender lock;</li>
+ *   <li>{@code async-json}: the "prod" profile, the package at INFO with sampled DEBUG, JSON lines
+ *       handed to a bounded async queue.</li>
+ * </ul>
+ * Once the writer falls behind, the async queue drops INFO events instead of blocking, so its
+ * {@code info} score is what callers see, not what reaches the file. The console appender of the
+ * default configuration is left out; it would only make the synchronous numbers worse.
+ * <p>
+ * Each thread carries a request id in its MDC, as RequestLogSamplingFilter leaves it for an
+ * unsampled request, so the {@code async-json} {@code debug} score includes the turbo filter's
+ * MDC lookup on a populated map before the level check drops the event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class LoggingBenchmark {
+
+    @Param({"sync-pattern", "async-json"})
+    public String configuration;
+
+    private LoggerContext context;
+    private Logger logger;
+    private Path logFile;
+    private long taskId = 42L;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = Files.createTempFile("logging-benchmark", ".log");
+        context = new LoggerContext();
+        // StructuredLogEncoder reads the Spring environment from the logger context, as Boot sets it up
+        context.putObject(Environment.class.getName(), new StandardEnvironment());
+        boolean prod = configuration.equals("async-json");
+
+        FileAppender<ILoggingEvent> file = new FileAppender<>();
+        file.setContext(context);
+        file.setFile(logFile.toString());
+        file.setEncoder(prod ? jsonEncoder() : patternEncoder());
+        file.start();
+
+        Appender<ILoggingEvent> appender = file;
+        if (prod) {
+            AsyncAppender async = new AsyncAppender();
+            async.setContext(context);
+            async.setQueueSize(8192);
+            async.setIncludeCallerData(false);
+            async.addAppender(file);
+            async.start();
+            appender = async;
+
+            SampledDebugTurboFilter sampling = new SampledDebugTurboFilter();
+            sampling.setContext(context);
+            sampling.start();
+            context.addTurboFilter(sampling);
+        }
+
+        Logger root = context.getLogger(Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+        context.getLogger("com.example.task_management_system").setLevel(prod ? Level.INFO : Level.DEBUG);
+        logger = context.getLogger("com.example.task_management_system.service.admin.AdminServiceImpl");
+    }
+
+    // the MDC of an unsampled request: an id, no sampling mark
+    @State(Scope.Thread)
+    public static class Request {
+        @Setup
+        public void setUp() {
+            MDC.put(RequestLogSamplingFilter.REQUEST_ID_KEY, Long.toHexString(Thread.currentThread().getId()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            MDC.clear();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        context.stop();
+        Files.deleteIfExists(logFile);
+    }
+
+    @Benchmark
+    public void info(Request request) {
+        logger.info("Updating task ID: {}", taskId);
+    }
+
+    // a detail line: written by the default configuration, skipped by "prod" outside sampled requests
+    @Benchmark
+    public void debug(Request request) {
+        logger.debug("Task {} update: {}", taskId, "TaskDto(title=Write report, taskStatus=COMPLETED)");
+    }
+
+    private Encoder<ILoggingEvent> patternEncoder() {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd HH:mm:ss} [%thread] %-5level %logger{36} - %msg%n");
+        encoder.start();
+        return encoder;
+    }
+
+    private Encoder<ILoggingEvent> jsonEncoder() {
+        StructuredLogEncoder encoder = new StructuredLogEncoder();
+        encoder.setContext(context);
+        encoder.setFormat("logstash");
+        encoder.start();
+        return encoder;
+    }
+}
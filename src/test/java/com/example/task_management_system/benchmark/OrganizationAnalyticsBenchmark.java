@@ -0,0 +1,80 @@
+package com.example.task_management_system.benchmark;
+
+import com.example.task_management_system.dto.TaskAnalyticsRow;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.service.analyticservice.OrganizationStats;
+import com.example.task_management_system.service.analyticservice.OrganizationStatsAggregator;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Organization-wide aggregation over 5M synthetic task rows held in memory, so only the counting
+ * and merging is measured. Compare the scores across worker counts: the time should drop close to
+ * linearly until the core count of the machine is reached.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+@State(Scope.Benchmark)
+public class OrganizationAnalyticsBenchmark {
+
+    private static final int TASKS = 5_000_000;
+    private static final int EMPLOYEES = 5_000;
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    private List<TaskAnalyticsRow> rows;
+    private OrganizationStatsAggregator aggregator;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rows = syntheticRows();
+        aggregator = new OrganizationStatsAggregator(workers, 10_000);
+    }
+
+    @Benchmark
+    public OrganizationStats aggregate() {
+        return aggregator.aggregate(rows.stream(), TODAY);
+    }
+
+    // Seeded; ids, dates and timestamps are shared instances so 5M rows fit in a modest heap
+    private static List<TaskAnalyticsRow> syntheticRows() {
+        Random random = new Random(42);
+        Long[] userIds = new Long[EMPLOYEES];
+        for (int i = 0; i < EMPLOYEES; i++) {
+            userIds[i] = (long) i + 1;
+        }
+        Date[] deadlines = new Date[60];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = java.sql.Date.valueOf(TODAY.plusDays(i - 30));
+        }
+        LocalDateTime[] completions = new LocalDateTime[24 * 14];
+        for (int i = 0; i < completions.length; i++) {
+            completions[i] = LocalDateTime.now().minusHours(i);
+        }
+        String[] priorities = {"HIGH", "MEDIUM", "LOW"};
+
+        List<TaskAnalyticsRow> rows = new ArrayList<>(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            boolean completed = random.nextBoolean();
+            rows.add(new TaskAnalyticsRow(
+                    userIds[random.nextInt(EMPLOYEES)],
+                    completed ? TaskStatus.COMPLETED : TaskStatus.PENDING,
+                    priorities[i % priorities.length],
+                    deadlines[random.nextInt(deadlines.length)],
+                    completed ? completions[random.nextInt(completions.length)] : null));
+        }
+        return rows;
+    }
+}
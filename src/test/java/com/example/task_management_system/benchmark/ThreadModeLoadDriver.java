@@ -0,0 +1,147 @@
+package com.example.task_management_system.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop HTTP load against a running instance, for comparing platform and virtual threads.
+ * <p>
+ * Start the application once normally and once with {@code -Dspring.profiles.active=virtual-threads}
+ * (built with {@code -Pjava21}), against the same database and mail server, and run this driver with
+ * the same arguments each time. Use a concurrency well above Tomcat's 200 workers and an endpoint
+ * that blocks on the database or SMTP; on platform threads p99 then grows with the queue in front of
+ * the worker pool, on virtual threads it is bounded by the connection pool instead.
+ * <pre>
+ * mvn -q exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.example.task_management_system.benchmark.ThreadModeLoadDriver \
+ *     -Dexec.args="--url=http://localhost:8080/api/notifications --token=$JWT --concurrency=1000 --duration=60"
+ * </pre>
+ */
+public final class ThreadModeLoadDriver {
+
+    private ThreadModeLoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        URI url = URI.create(required(options, "url"));
+        String token = options.get("token");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "500"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(30)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        System.out.printf("%s with %d concurrent clients, %ds warm-up, %ds measured%n",
+                url, concurrency, warmup.toSeconds(), duration.toSeconds());
+        run(client, request, concurrency, warmup, false);
+        Result result = run(client, request, concurrency, duration, true);
+        result.print(duration);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency,
+                              Duration duration, boolean record) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        long[][] latencies = new long[concurrency][];
+        int[] counts = new int[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        for (int c = 0; c < concurrency; c++) {
+            int slot = c;
+            clients.execute(() -> {
+                long[] samples = new long[1024];
+                int count = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() >= 400) {
+                                errors.incrementAndGet();
+                            }
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                        if (record) {
+                            if (count == samples.length) {
+                                samples = Arrays.copyOf(samples, count * 2);
+                            }
+                            samples[count++] = System.nanoTime() - start;
+                        }
+                    }
+                } finally {
+                    latencies[slot] = samples;
+                    counts[slot] = count;
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        clients.shutdown();
+
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < concurrency; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(all, errors.get());
+    }
+
+    private record Result(long[] sortedNanos, long errors) {
+
+        void print(Duration duration) {
+            if (sortedNanos.length == 0) {
+                System.out.println("No requests completed");
+                return;
+            }
+            System.out.printf("requests: %d, errors: %d, throughput: %.1f req/s%n",
+                    sortedNanos.length, errors, sortedNanos.length / (double) duration.toSeconds());
+            System.out.printf("latency ms  p50: %.1f  p90: %.1f  p99: %.1f  max: %.1f%n",
+                    percentile(0.50), percentile(0.90), percentile(0.99), sortedNanos[sortedNanos.length - 1] / 1e6);
+        }
+
+        private double percentile(double p) {
+            int index = (int) Math.ceil(p * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, index)] / 1e6;
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    private static String required(Map<String, String> options, String name) {
+        String value = options.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("Missing --" + name + "=...");
+        }
+        return value;
+    }
+}
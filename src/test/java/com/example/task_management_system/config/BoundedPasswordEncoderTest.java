@@ -0,0 +1,118 @@
+package com.example.task_management_system.config;
+
+import com.example.task_management_system.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.shutdown();
+    }
+
+    @Test
+    void encode_ShouldPrefixHashAndStillMatchLegacyBcrypt() {
+        // Arrange
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+        encoder = new BoundedPasswordEncoder(delegating, 1, 4, Duration.ofSeconds(5), meterRegistry);
+        String legacy = bcrypt.encode("secret");
+
+        // Act
+        String encoded = encoder.encode("secret");
+
+        // Assert
+        assertTrue(encoded.startsWith("{bcrypt}"));
+        assertTrue(encoder.matches("secret", encoded));
+        assertTrue(encoder.matches("secret", legacy));
+        assertFalse(encoder.matches("wrong", legacy));
+        assertTrue(encoder.upgradeEncoding(legacy), "unprefixed hashes are rehashed on login");
+        assertFalse(encoder.upgradeEncoding(encoded));
+        assertEquals(3, meterRegistry.get("password.hash.duration").tag("operation", "matches").timer().count());
+    }
+
+    @Test
+    void matches_WhenPoolAndQueueAreFull_ShouldFailFast() throws Exception {
+        // Arrange: one worker blocked on a slow hash, one more waiting in the single queue slot
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(5), meterRegistry);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        callers.submit(() -> encoder.matches("a", "a"));
+        callers.submit(() -> encoder.matches("b", "b"));
+        waitForQueued(1);
+
+        // Act & Assert
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("c", "c"));
+        assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+        release.countDown();
+        callers.shutdown();
+        assertTrue(callers.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void matches_WhenWaitExceedsTimeout_ShouldFail() {
+        // Arrange
+        PasswordEncoder hanging = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+        encoder = new BoundedPasswordEncoder(hanging, 1, 1, Duration.ofMillis(50), meterRegistry);
+
+        // Act & Assert
+        assertThrows(PasswordHashingBusyException.class, () -> encoder.matches("a", "a"));
+    }
+
+    private void waitForQueued(double queued) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (meterRegistry.get("executor.queued").tag("name", "password.hash").gauge().value() < queued
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.task_management_system.config;
+
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.repository.UserRepository;
+import org.hibernate.dialect.MySQLDialect;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import(IdSequenceSeeder.class)
+// ALTER SEQUENCE commits on H2, so the test manages its own rows instead of rolling back
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class IdSequenceSeederTest {
+
+    @Autowired
+    private IdSequenceSeeder seeder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void seedSequences_ShouldMoveSequencePastExistingIds() {
+        // Arrange: a row written with an IDENTITY id before the switch to task_seq
+        User user = userRepository.save(user());
+        jdbcTemplate.update("INSERT INTO tasks (id, title, user_id, version) VALUES (1000, 'legacy', ?, 0)", user.getId());
+
+        // Act
+        seeder.seedSequences();
+        Task task = new Task();
+        task.setTitle("new");
+        task.setUser(user);
+        Task created = taskRepository.save(task);
+
+        // Assert
+        assertEquals(1001L, created.getId());
+    }
+
+    @Test
+    void seedSequences_OnMySql_ShouldOnlyMoveTheSequenceTableForward() {
+        // Arrange: MySQL keeps task_seq as a table; notifications is still empty
+        JdbcTemplate mysql = mock(JdbcTemplate.class);
+        when(mysql.queryForObject("SELECT MAX(id) FROM tasks", Long.class)).thenReturn(1000L);
+
+        // Act
+        new IdSequenceSeeder(mysql, new MySQLDialect()).seedSequences();
+
+        // Assert: allocationSize 50 past the largest id, as a conditional update
+        verify(mysql).update("UPDATE task_seq SET next_val = ? WHERE next_val < ?", 1050L, 1050L);
+        verify(mysql, never()).update(eq("UPDATE notification_seq SET next_val = ? WHERE next_val < ?"), anyLong(), anyLong());
+        verify(mysql, never()).execute(anyString());
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setName("assignee");
+        user.setEmail("assignee@example.com");
+        user.setPassword("secret");
+        user.setUserRole(UserRole.EMPLOYEE);
+        return user;
+    }
+}
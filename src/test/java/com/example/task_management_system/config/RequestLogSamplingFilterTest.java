@@ -0,0 +1,66 @@
+package com.example.task_management_system.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestLogSamplingFilterTest {
+
+    private final Map<String, String> mdcInChain = new HashMap<>();
+    private final FilterChain chain = (request, response) -> mdcInChain.putAll(MDC.getCopyOfContextMap());
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+    }
+
+    @Test
+    void doFilter_ShouldMarkSampledRequestAndClearAfterwards() throws Exception {
+        // Arrange
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(0.01, () -> 0.005);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), response, chain);
+
+        // Assert
+        assertEquals("true", mdcInChain.get(RequestLogSamplingFilter.SAMPLED_KEY));
+        assertEquals(response.getHeader(RequestLogSamplingFilter.REQUEST_ID_HEADER),
+                mdcInChain.get(RequestLogSamplingFilter.REQUEST_ID_KEY));
+        assertNull(MDC.get(RequestLogSamplingFilter.SAMPLED_KEY));
+        assertNull(MDC.get(RequestLogSamplingFilter.REQUEST_ID_KEY));
+    }
+
+    @Test
+    void doFilter_ShouldOnlyTagRequestIdWhenNotSampled() throws Exception {
+        // Arrange
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(0.01, () -> 0.5);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNotNull(mdcInChain.get(RequestLogSamplingFilter.REQUEST_ID_KEY));
+        assertFalse(mdcInChain.containsKey(RequestLogSamplingFilter.SAMPLED_KEY));
+    }
+
+    @Test
+    void doFilter_ShouldNeverSampleAtRateZero() throws Exception {
+        // Arrange
+        RequestLogSamplingFilter filter = new RequestLogSamplingFilter(0, () -> 0.0);
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertFalse(mdcInChain.containsKey(RequestLogSamplingFilter.SAMPLED_KEY));
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.task_management_system.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SampledDebugTurboFilterTest {
+
+    private LoggerContext context;
+    private Logger appLogger;
+    private Logger libraryLogger;
+
+    @BeforeEach
+    void setUp() {
+        // a context of its own, so the test's logging configuration is left alone
+        context = new LoggerContext();
+        SampledDebugTurboFilter filter = new SampledDebugTurboFilter();
+        filter.setContext(context);
+        filter.start();
+        context.addTurboFilter(filter);
+        context.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+        appLogger = context.getLogger("com.example.task_management_system.service.admin.AdminServiceImpl");
+        libraryLogger = context.getLogger("org.hibernate.SQL");
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        context.stop();
+    }
+
+    @Test
+    void sampledRequest_ShouldEnableApplicationDebugOnly() {
+        // Arrange
+        MDC.put(RequestLogSamplingFilter.SAMPLED_KEY, "true");
+
+        // Act & Assert
+        assertTrue(appLogger.isDebugEnabled());
+        assertFalse(libraryLogger.isDebugEnabled());
+    }
+
+    @Test
+    void unsampledRequest_ShouldKeepLoggerLevel() {
+        // Act & Assert
+        assertFalse(appLogger.isDebugEnabled());
+        assertTrue(appLogger.isInfoEnabled());
+    }
+}
@@ -1,21 +1,30 @@
 package com.example.task_management_system.controller.admin;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskPage;
+import com.example.task_management_system.dto.TaskSearchPage;
 import com.example.task_management_system.dto.UserDto;
 import com.example.task_management_system.enums.TaskStatus;
 import com.example.task_management_system.enums.UserRole;
 import com.example.task_management_system.service.admin.AdminService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +35,9 @@ class AdminControllerTest {
     @Mock
     private AdminService adminService;
 
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
     @InjectMocks
     private AdminController adminController;
 
@@ -40,6 +52,7 @@ class AdminControllerTest {
         taskDto.setDescription("Test Description");
         taskDto.setPriority("High");
         taskDto.setTaskStatus(TaskStatus.PENDING);
+        taskDto.setVersion(3L);
 
         userDto = new UserDto();
         userDto.setId(1L);
@@ -86,18 +99,51 @@ class AdminControllerTest {
         verify(adminService, times(1)).createTask(taskDto);
     }
 
+    // Test: Bulk Create Tasks
+    @Test
+    void createTasks_Success() {
+        List<BulkTaskResult> results = List.of(BulkTaskResult.succeeded(0, 1L));
+        when(adminService.createTasks(List.of(taskDto))).thenReturn(results);
+
+        ResponseEntity<List<BulkTaskResult>> response = adminController.createTasks(List.of(taskDto));
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(results, response.getBody());
+        verify(adminService, times(1)).createTasks(List.of(taskDto));
+    }
+
     // Test: Get All Tasks
     @Test
     void getAllTasks_Success() {
-        List<TaskDto> tasks = Collections.singletonList(taskDto);
-        when(adminService.getAllTasks()).thenReturn(tasks);
+        TaskPage page = new TaskPage(Collections.singletonList(taskDto), "next");
+        when(adminService.getTasksPage(null, 50)).thenReturn(page);
 
-        ResponseEntity<?> response = adminController.getAllTasks();
+        ResponseEntity<TaskPage> response = adminController.getAllTasks(null, 50);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(tasks, response.getBody());
-        verify(adminService, times(1)).getAllTasks();
+        assertEquals(page, response.getBody());
+        verify(adminService, times(1)).getTasksPage(null, 50);
+    }
+
+    // Test: Stream All Tasks as NDJSON
+    @Test
+    void streamAllTasks_WritesOneLinePerTask() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<TaskDto> sink = invocation.getArgument(0);
+            sink.accept(taskDto);
+            sink.accept(taskDto);
+            return null;
+        }).when(adminService).streamAllTasks(any());
+
+        ResponseEntity<StreamingResponseBody> response = adminController.streamAllTasks();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"title\":\"Test Task\""));
     }
 
     // Test: Delete Task
@@ -125,43 +171,65 @@ class AdminControllerTest {
         verify(adminService, times(1)).getTaskById(1L);
     }
 
+    @Test
+    void getTaskById_ShouldCarryVersionAsETag() {
+        when(adminService.getTaskById(1L)).thenReturn(taskDto);
+
+        ResponseEntity<?> response = adminController.getTaskById(1L);
+
+        assertEquals("\"3\"", response.getHeaders().getETag());
+    }
+
+    @Test
+    void updateTask_ShouldPassIfMatchVersionAndReturnNewETag() {
+        TaskDto updated = new TaskDto();
+        updated.setId(1L);
+        updated.setVersion(4L);
+        when(adminService.updateTask(1L, taskDto, 3L)).thenReturn(updated);
+
+        ResponseEntity<?> response = adminController.updateTask(1L, taskDto, "\"3\"");
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals("\"4\"", response.getHeaders().getETag());
+    }
+
     //  Test: Update Task - Success
     @Test
     void updateTask_Success() {
-        when(adminService.updateTask(1L, taskDto)).thenReturn(taskDto);
+        when(adminService.updateTask(1L, taskDto, null)).thenReturn(taskDto);
 
-        ResponseEntity<?> response = adminController.updateTask(1L, taskDto);
+        ResponseEntity<?> response = adminController.updateTask(1L, taskDto, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(taskDto, response.getBody());
-        verify(adminService, times(1)).updateTask(1L, taskDto);
+        verify(adminService, times(1)).updateTask(1L, taskDto, null);
     }
 
     // Test: Update Task - Not Found
     @Test
     void updateTask_NotFound() {
-        when(adminService.updateTask(1L, taskDto)).thenReturn(null);
+        when(adminService.updateTask(1L, taskDto, null)).thenReturn(null);
 
-        ResponseEntity<?> response = adminController.updateTask(1L, taskDto);
+        ResponseEntity<?> response = adminController.updateTask(1L, taskDto, null);
 
         assertNotNull(response);
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
-        verify(adminService, times(1)).updateTask(1L, taskDto);
+        verify(adminService, times(1)).updateTask(1L, taskDto, null);
     }
 
-    // Test: Search Tasks By Title
+    // Test: Search Tasks
     @Test
-    void searchTasksByTitle_Success() {
-        List<TaskDto> tasks = Collections.singletonList(taskDto);
-        when(adminService.searchTasksByTitle("Test")).thenReturn(tasks);
+    void searchTasks_Success() {
+        TaskSearchPage results = new TaskSearchPage(Collections.singletonList(taskDto), 1, 0, 20);
+        when(adminService.searchTasks("Test", 0, 20)).thenReturn(results);
 
-        ResponseEntity<List<TaskDto>> response = adminController.searchTasksByTitle("Test");
+        ResponseEntity<TaskSearchPage> response = adminController.searchTasks("Test", 0, 20);
 
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(tasks, response.getBody());
-        verify(adminService, times(1)).searchTasksByTitle("Test");
+        assertEquals(results, response.getBody());
+        verify(adminService, times(1)).searchTasks("Test", 0, 20);
     }
 
     // Test: Filter By Status
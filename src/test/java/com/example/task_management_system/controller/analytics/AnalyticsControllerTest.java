@@ -1,9 +1,12 @@
 package com.example.task_management_system.controller.analytics;
 
+import com.example.task_management_system.dto.OrganizationAnalytics;
+import com.example.task_management_system.dto.UserAnalytics;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.UserRole;
 import com.example.task_management_system.service.analyticservice.AnalyticsService;
 import com.example.task_management_system.utils.JwtUtil;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,9 +16,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -33,7 +35,7 @@ class AnalyticsControllerTest {
     private AnalyticsController analyticsController;
 
     private User testUser;
-    private Map<String, Object> testAnalytics;
+    private UserAnalytics testAnalytics;
 
     @BeforeEach
     void setUp() {
@@ -42,39 +44,31 @@ class AnalyticsControllerTest {
         testUser.setEmail("admin@example.com");
         testUser.setUserRole(UserRole.ADMIN);
 
-        testAnalytics = new HashMap<>();
-        testAnalytics.put("completionPercentage", 75.5);
-        testAnalytics.put("weeklyTrends", Map.of("MONDAY", 3L, "TUESDAY", 2L));
-        testAnalytics.put("averageCompletionTime", 12.5);
+        testAnalytics = new UserAnalytics(75.5, Map.of("MONDAY", 3L, "TUESDAY", 2L), 12.5);
     }
 
     @Test
     void getAnalytics_Success() {
         // Arrange
         when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
-        when(analyticsService.getCompletionPercentage(testUser.getId())).thenReturn(75.5);
-        when(analyticsService.getWeeklyCompletionTrends(testUser.getId()))
-                .thenReturn((Map<String, Long>) testAnalytics.get("weeklyTrends"));
-        when(analyticsService.getAverageCompletionTime(testUser.getId()))
-                .thenReturn(Optional.of(12.5));
+        when(analyticsService.getUserAnalytics(testUser.getId())).thenReturn(testAnalytics);
 
-       
-        ResponseEntity<Map<String, Object>> response = analyticsController.getAnalytics();
+        // Act
+        ResponseEntity<UserAnalytics> response = analyticsController.getAnalytics();
 
         // Assert
         assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        Map<String, Object> responseBody = response.getBody();
-        assertEquals(75.5, responseBody.get("completionPercentage"));
-        assertEquals(3L, ((Map<?, ?>) responseBody.get("weeklyTrends")).get("MONDAY"));
-        assertEquals(12.5, responseBody.get("averageCompletionTime"));
+        UserAnalytics responseBody = response.getBody();
+        assertEquals(75.5, responseBody.getCompletionPercentage());
+        assertEquals(3L, responseBody.getWeeklyTrends().get("MONDAY"));
+        assertEquals(12.5, responseBody.getAverageCompletionTime());
 
         verify(jwtUtil, times(1)).getLoggedInUser();
-        verify(analyticsService, times(1)).getCompletionPercentage(testUser.getId());
-        verify(analyticsService, times(1)).getWeeklyCompletionTrends(testUser.getId());
-        verify(analyticsService, times(1)).getAverageCompletionTime(testUser.getId());
+        verify(analyticsService, times(1)).getUserAnalytics(testUser.getId());
+        verifyNoMoreInteractions(analyticsService);
     }
 
     @Test
@@ -82,8 +76,8 @@ class AnalyticsControllerTest {
         // Arrange
         when(jwtUtil.getLoggedInUser()).thenReturn(null);
 
-       
-        ResponseEntity<Map<String, Object>> response = analyticsController.getAnalytics();
+        // Act
+        ResponseEntity<UserAnalytics> response = analyticsController.getAnalytics();
 
         // Assert
         assertNotNull(response);
@@ -94,58 +88,44 @@ class AnalyticsControllerTest {
     }
 
     @Test
-    void getAnalytics_NoAverageCompletionTime() {
+    void getAnalytics_NoAverageCompletionTime() throws Exception {
         // Arrange
-        Map<String, Object> analyticsWithoutAvg = new HashMap<>(testAnalytics);
-        analyticsWithoutAvg.remove("averageCompletionTime");
-
+        testAnalytics.setAverageCompletionTime(null);
         when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
-        when(analyticsService.getCompletionPercentage(testUser.getId()))
-                .thenReturn(75.5);
-        when(analyticsService.getWeeklyCompletionTrends(testUser.getId()))
-                .thenReturn((Map<String, Long>) testAnalytics.get("weeklyTrends"));
-        when(analyticsService.getAverageCompletionTime(testUser.getId()))
-                .thenReturn(Optional.empty());
+        when(analyticsService.getUserAnalytics(testUser.getId())).thenReturn(testAnalytics);
 
-        
-        ResponseEntity<Map<String, Object>> response = analyticsController.getAnalytics();
+        // Act
+        ResponseEntity<UserAnalytics> response = analyticsController.getAnalytics();
 
-        // assert
-        assertNotNull(response);
+        // Assert: the field is left out of the JSON, as before
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
-
-        Map<String, Object> responseBody = response.getBody();
-        assertEquals(75.5, responseBody.get("completionPercentage"));
-        assertEquals(3L, ((Map<?, ?>) responseBody.get("weeklyTrends")).get("MONDAY"));
-        assertFalse(responseBody.containsKey("averageCompletionTime"));
+        Map<?, ?> json = new ObjectMapper().convertValue(response.getBody(), Map.class);
+        assertEquals(75.5, json.get("completionPercentage"));
+        assertFalse(json.containsKey("averageCompletionTime"));
     }
 
     @Test
-    void getAnalytics_EmptyWeeklyTrends() {
-        // arrange
-        Map<String, Object> analyticsWithEmptyTrends = new HashMap<>(testAnalytics);
-        analyticsWithEmptyTrends.put("weeklyTrends", Map.of());
-
-        when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
-        when(analyticsService.getCompletionPercentage(testUser.getId()))
-                .thenReturn(0.0);
-        when(analyticsService.getWeeklyCompletionTrends(testUser.getId()))
-                .thenReturn(Map.of());
-        when(analyticsService.getAverageCompletionTime(testUser.getId()))
-                .thenReturn(Optional.empty());
+    void getOrganizationAnalytics_ShouldReturnFleetFigures() {
+        // Arrange
+        OrganizationAnalytics organization = new OrganizationAnalytics(10, 4, 40.0, 2, Map.of("HIGH", 10L), List.of());
+        when(analyticsService.getOrganizationAnalytics()).thenReturn(organization);
 
-        
-        ResponseEntity<Map<String, Object>> response = analyticsController.getAnalytics();
+        // Act
+        ResponseEntity<OrganizationAnalytics> response = analyticsController.getOrganizationAnalytics();
 
         // Assert
-        assertNotNull(response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertNotNull(response.getBody());
+        assertSame(organization, response.getBody());
+        verifyNoInteractions(jwtUtil);
+    }
 
-        Map<String, Object> responseBody = response.getBody();
-        assertEquals(0.0, responseBody.get("completionPercentage"));
-        assertTrue(((Map<?, ?>) responseBody.get("weeklyTrends")).isEmpty());
-        assertFalse(responseBody.containsKey("averageCompletionTime"));
+    @Test
+    void rebuildStats_ShouldDelegateToService() {
+        // Act
+        ResponseEntity<Void> response = analyticsController.rebuildStats();
+
+        // Assert
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        verify(analyticsService).rebuildStats();
     }
 }
@@ -3,9 +3,10 @@ package com.example.task_management_system.controller.auth;
 import com.example.task_management_system.dto.*;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.UserRole;
-import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.exception.EmailAlreadyInUseException;
+import com.example.task_management_system.exception.RateLimitExceededException;
 import com.example.task_management_system.service.auth.AuthService;
-import com.example.task_management_system.service.jwt.UserService;
+import com.example.task_management_system.service.auth.LoginRateLimiter;
 import com.example.task_management_system.utils.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,12 +16,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,9 +29,6 @@ class AuthControllerTest {
     @Mock
     private AuthService authService;
 
-    @Mock
-    private UserRepository userRepository;
-
     @Mock
     private JwtUtil jwtUtil;
 
@@ -41,7 +36,7 @@ class AuthControllerTest {
     private AuthenticationManager authenticationManager;
 
     @Mock
-    private UserService userService;
+    private LoginRateLimiter loginRateLimiter;
 
     @InjectMocks
     private AuthController authController;
@@ -51,6 +46,7 @@ class AuthControllerTest {
     private User user;
     private UserDto userDto;
     private AuthenticationResponse authResponse;
+    private final MockHttpServletRequest httpRequest = new MockHttpServletRequest();
 
     @BeforeEach
     void setUp() {
@@ -83,7 +79,6 @@ class AuthControllerTest {
 
     @Test
     void signupUser_Success() {
-        when(authService.hasUserWithEmail(signupRequest.getEmail())).thenReturn(false);
         when(authService.signupUser(signupRequest)).thenReturn(userDto);
 
         ResponseEntity<?> response = authController.signupUser(signupRequest);
@@ -91,36 +86,27 @@ class AuthControllerTest {
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
         assertEquals(userDto, response.getBody());
         verify(authService, times(1)).signupUser(signupRequest);
+        verify(authService, never()).hasUserWithEmail(any());
     }
 
     @Test
     void signupUser_EmailExists() {
-        when(authService.hasUserWithEmail(signupRequest.getEmail())).thenReturn(true);
+        when(authService.signupUser(signupRequest)).thenThrow(new EmailAlreadyInUseException("Email already in use"));
 
         ResponseEntity<?> response = authController.signupUser(signupRequest);
 
         assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
-        verify(authService, never()).signupUser(any());
+        verify(authService, never()).hasUserWithEmail(any());
     }
 
     @Test
-    void login_UserNotFound() {
-        // Mock authentication
-        Authentication authentication = mock(Authentication.class);
-        when(authenticationManager.authenticate(any())).thenReturn(authentication);
-
-        // Mock user details
-        UserDetails userDetails = mock(UserDetails.class);
-        when(userService.userDetailService().loadUserByUsername(authRequest.getEmail()))
-                .thenReturn(userDetails);
-
-        // Mock repository
-        when(userRepository.findByEmail(authRequest.getEmail())).thenReturn(Optional.of(user));
-
-        // Mock JWT generation
-        when(jwtUtil.generateToken(userDetails)).thenReturn("test.jwt.token");
+    void login_Success() {
+        // the provider's result carries the User it loaded, so nothing is looked up again
+        when(authenticationManager.authenticate(any()))
+                .thenReturn(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        when(jwtUtil.generateToken(user)).thenReturn("test.jwt.token");
 
-        ResponseEntity<?> response = authController.login(authRequest);
+        ResponseEntity<?> response = authController.login(authRequest, httpRequest);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody() instanceof AuthenticationResponse);
@@ -131,17 +117,16 @@ class AuthControllerTest {
         assertEquals(UserRole.EMPLOYEE, responseBody.getUserRole());
 
         verify(authenticationManager, times(1)).authenticate(any());
-        verify(jwtUtil, times(1)).generateToken(userDetails);
+        verify(jwtUtil, times(1)).generateToken(user);
     }
 
-   @Test
-    void login_Success(){
-        when(authenticationManager.authenticate(any())).thenReturn(mock(Authentication.class));
-        when(userService.userDetailService().loadUserByUsername(authRequest.getEmail()))
-                .thenReturn(mock(UserDetails.class));
-        when(userRepository.findByEmail(authRequest.getEmail())).thenReturn(Optional.empty());
+    @Test
+    void login_UnexpectedPrincipal() {
+        when(authenticationManager.authenticate(any())).thenReturn(
+                new UsernamePasswordAuthenticationToken("test@example.com", null, user.getAuthorities()));
 
-        assertThrows(RuntimeException.class, () -> authController.login(authRequest));
+        assertThrows(IllegalStateException.class, () -> authController.login(authRequest, httpRequest));
+        verifyNoInteractions(jwtUtil);
     }
 
     @Test
@@ -149,6 +134,15 @@ class AuthControllerTest {
         when(authenticationManager.authenticate(any()))
                 .thenThrow(new RuntimeException("Bad credentials"));
 
-        assertThrows(RuntimeException.class, () -> authController.login(authRequest));
+        assertThrows(RuntimeException.class, () -> authController.login(authRequest, httpRequest));
+    }
+
+    @Test
+    void login_RateLimited_ShouldNotAuthenticate() {
+        doThrow(new RateLimitExceededException("Too many login attempts, retry later", 30))
+                .when(loginRateLimiter).checkLogin(httpRequest.getRemoteAddr(), authRequest.getEmail());
+
+        assertThrows(RateLimitExceededException.class, () -> authController.login(authRequest, httpRequest));
+        verifyNoInteractions(authenticationManager);
     }
 }
@@ -0,0 +1,128 @@
+package com.example.task_management_system.controller.auth;
+
+import com.example.task_management_system.dto.AuthenticationRequest;
+import com.example.task_management_system.dto.AuthenticationResponse;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.service.auth.AuthService;
+import com.example.task_management_system.service.auth.LoginRateLimiter;
+import com.example.task_management_system.service.jwt.UserService;
+import com.example.task_management_system.service.jwt.UserServiceImpl;
+import com.example.task_management_system.utils.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.ProviderManager;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Login goes through the real authentication provider against a database: it must read the
+ * user once and hash the password once, however the token response is built.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(UserServiceImpl.class)
+class LoginQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    private final AtomicInteger hashes = new AtomicInteger();
+    private Statistics statistics;
+    private AuthController authController;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        PasswordEncoder countingEncoder = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                hashes.incrementAndGet();
+                return bcrypt.encode(rawPassword);
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                hashes.incrementAndGet();
+                return bcrypt.matches(rawPassword, encodedPassword);
+            }
+        };
+
+        employee = new User();
+        employee.setName("Employee");
+        employee.setEmail("employee@example.com");
+        employee.setPassword(bcrypt.encode("secret"));
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = entityManager.persistFlushFind(employee);
+        entityManager.clear();
+
+        DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
+        provider.setUserDetailsService(userService.userDetailService());
+        provider.setPasswordEncoder(countingEncoder);
+        authController = new AuthController(mock(AuthService.class), new JwtUtil(0),
+                new ProviderManager(provider), mock(LoginRateLimiter.class));
+    }
+
+    @Test
+    void login_ShouldReadUserOnceAndHashOnce() {
+        // Arrange
+        AuthenticationRequest request = new AuthenticationRequest();
+        request.setEmail("employee@example.com");
+        request.setPassword("secret");
+        // the provider hashes a dummy password once, on first use, for its timing-attack protection
+        authController.login(request, new MockHttpServletRequest());
+        statistics.clear();
+        hashes.set(0);
+
+        // Act
+        ResponseEntity<?> response = authController.login(request, new MockHttpServletRequest());
+
+        // Assert
+        assertEquals(employee.getId(), ((AuthenticationResponse) response.getBody()).getUserId());
+        assertEquals(1L, statistics.getPrepareStatementCount());
+        assertEquals(1, hashes.get());
+    }
+
+    @Test
+    void usersEmail_ShouldBeUnique() {
+        // Arrange
+        User duplicate = new User();
+        duplicate.setName("Someone Else");
+        duplicate.setEmail("employee@example.com");
+        duplicate.setPassword("x");
+        duplicate.setUserRole(UserRole.EMPLOYEE);
+
+        // Act & Assert
+        assertThrows(DataIntegrityViolationException.class, () -> userRepository.saveAndFlush(duplicate));
+    }
+}
@@ -1,6 +1,8 @@
 package com.example.task_management_system.controller.employee;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskStatusUpdate;
 import com.example.task_management_system.enums.TaskStatus;
 import com.example.task_management_system.service.employee.EmployeeService;
 import org.junit.jupiter.api.BeforeEach;
@@ -37,6 +39,7 @@ class EmployeeControllerTest {
         taskDto.setDescription("Test Description");
         taskDto.setTaskStatus(TaskStatus.PENDING);
         taskDto.setEmployeeId(1L);
+        taskDto.setVersion(3L);
     }
 
     @Test
@@ -59,14 +62,14 @@ class EmployeeControllerTest {
         // Arrange
         Long taskId = 1L;
         String newStatus = "COMPLETED";
-        when(employeeService.updateTask(taskId, newStatus)).thenReturn(taskDto);
-        ResponseEntity<TaskDto> response = employeeController.updateTaskStatus(taskId, newStatus);
+        when(employeeService.updateTask(taskId, newStatus, null)).thenReturn(taskDto);
+        ResponseEntity<TaskDto> response = employeeController.updateTaskStatus(taskId, newStatus, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(taskDto, response.getBody());
-        verify(employeeService, times(1)).updateTask(taskId, newStatus);
+        verify(employeeService, times(1)).updateTask(taskId, newStatus, null);
     }
 
     @Test
@@ -77,10 +80,10 @@ class EmployeeControllerTest {
 
 
         assertThrows(IllegalArgumentException.class, () -> {
-            employeeController.updateTaskStatus(taskId, invalidStatus);
+            employeeController.updateTaskStatus(taskId, invalidStatus, null);
         });
 
-        verify(employeeService, never()).updateTask(any(), any());
+        verify(employeeService, never()).updateTask(any(), any(), any());
     }
 
     @Test
@@ -91,17 +94,18 @@ class EmployeeControllerTest {
         TaskDto completedTask = new TaskDto();
         completedTask.setId(taskId);
         completedTask.setTaskStatus(TaskStatus.COMPLETED);
+        completedTask.setVersion(4L);
 
-        when(employeeService.updateTask(taskId, newStatus)).thenReturn(completedTask);
+        when(employeeService.updateTask(taskId, newStatus, null)).thenReturn(completedTask);
 
         
-        ResponseEntity<TaskDto> response = employeeController.updateTaskStatus(taskId, newStatus);
+        ResponseEntity<TaskDto> response = employeeController.updateTaskStatus(taskId, newStatus, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(TaskStatus.COMPLETED, response.getBody().getTaskStatus());
-        verify(employeeService, times(1)).updateTask(taskId, newStatus);
+        verify(employeeService, times(1)).updateTask(taskId, newStatus, null);
     }
 
     @Test
@@ -112,14 +116,31 @@ class EmployeeControllerTest {
         TaskDto pendingTask = new TaskDto();
         pendingTask.setId(taskId);
         pendingTask.setTaskStatus(TaskStatus.PENDING);
+        pendingTask.setVersion(4L);
 
-        when(employeeService.updateTask(taskId, newStatus)).thenReturn(pendingTask);
-        ResponseEntity<TaskDto> response = employeeController.updateTaskStatus(taskId, newStatus);
+        when(employeeService.updateTask(taskId, newStatus, null)).thenReturn(pendingTask);
+        ResponseEntity<TaskDto> response = employeeController.updateTaskStatus(taskId, newStatus, null);
 
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
         assertEquals(TaskStatus.PENDING, response.getBody().getTaskStatus());
-        verify(employeeService, times(1)).updateTask(taskId, newStatus);
+        verify(employeeService, times(1)).updateTask(taskId, newStatus, null);
+    }
+
+    @Test
+    void updateTaskStatuses_Success() {
+        // Arrange
+        List<TaskStatusUpdate> updates = List.of(new TaskStatusUpdate(1L, "COMPLETED"));
+        List<BulkTaskResult> results = List.of(BulkTaskResult.succeeded(0, 1L));
+        when(employeeService.updateTaskStatuses(updates)).thenReturn(results);
+
+        // Act
+        ResponseEntity<List<BulkTaskResult>> response = employeeController.updateTaskStatuses(updates);
+
+        // Assert
+        assertEquals(200, response.getStatusCodeValue());
+        assertEquals(results, response.getBody());
+        verify(employeeService, times(1)).updateTaskStatuses(updates);
     }
 }
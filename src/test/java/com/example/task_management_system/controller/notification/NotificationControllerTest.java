@@ -1,8 +1,11 @@
 package com.example.task_management_system.controller.notification;
 
-import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.dto.MarkNotificationsReadRequest;
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.dto.NotificationPage;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.service.notification.NotificationHub;
 import com.example.task_management_system.service.notification.NotificationService;
 import com.example.task_management_system.utils.JwtUtil;
 import org.junit.jupiter.api.BeforeEach;
@@ -11,11 +14,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -26,6 +31,9 @@ class NotificationControllerTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private NotificationHub notificationHub;
+
     @Mock
     private JwtUtil jwtUtil;
 
@@ -33,7 +41,7 @@ class NotificationControllerTest {
     private NotificationController notificationController;
 
     private User testUser;
-    private List<Notification> testNotifications;
+    private NotificationPage testPage;
 
     @BeforeEach
     void setUp() {
@@ -42,53 +50,45 @@ class NotificationControllerTest {
         testUser.setEmail("test@example.com");
         testUser.setUserRole(UserRole.EMPLOYEE);
 
-        Notification notification1 = Notification.builder()
-                .id(1L)
-                .user(testUser)
-                .message("Task 'Complete Project' status changed to COMPLETED")
-                .createdAt(LocalDateTime.now().minusHours(2))
-                .build();
-
-        Notification notification2 = Notification.builder()
-                .id(2L)
-                .user(testUser)
-                .message("New task assigned: 'Review Documentation'")
-                .createdAt(LocalDateTime.now().minusHours(1))
-                .build();
-
-        testNotifications = Arrays.asList(notification1, notification2);
+        NotificationDto notification1 = new NotificationDto(2L, "New task assigned: 'Review Documentation'",
+                LocalDateTime.now().minusHours(1), false);
+        NotificationDto notification2 = new NotificationDto(1L, "Task 'Complete Project' status changed to COMPLETED",
+                LocalDateTime.now().minusHours(2), true);
+
+        testPage = new NotificationPage(List.of(notification1, notification2), notification2.getCursor());
     }
 
     @Test
     void getUserNotifications_Success() {
         // Arrange
         when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
-        when(notificationService.getUserNotifications(testUser.getId())).thenReturn(testNotifications);
+        when(notificationService.getUserNotifications(testUser.getId(), null, null, 20)).thenReturn(testPage);
 
-        ResponseEntity<List<Notification>> response = notificationController.getUserNotifications();
+        ResponseEntity<NotificationPage> response = notificationController.getUserNotifications(null, null, 20);
 
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertEquals(testNotifications, response.getBody());
+        assertEquals(testPage, response.getBody());
         verify(jwtUtil, times(1)).getLoggedInUser();
-        verify(notificationService, times(1)).getUserNotifications(testUser.getId());
+        verify(notificationService, times(1)).getUserNotifications(testUser.getId(), null, null, 20);
     }
 
     @Test
-    void getUserNotifications_EmptyList() {
+    void getUserNotifications_EmptyPage() {
         // Arrange
         when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
-        when(notificationService.getUserNotifications(testUser.getId())).thenReturn(List.of());
+        String cursor = testPage.getNextCursor();
+        when(notificationService.getUserNotifications(testUser.getId(), cursor, null, 20))
+                .thenReturn(new NotificationPage(List.of(), null));
 
-        ResponseEntity<List<Notification>> response = notificationController.getUserNotifications();
+        ResponseEntity<NotificationPage> response = notificationController.getUserNotifications(cursor, null, 20);
 
         // Assert
         assertNotNull(response);
         assertEquals(200, response.getStatusCodeValue());
-        assertTrue(response.getBody().isEmpty());
-        verify(jwtUtil, times(1)).getLoggedInUser();
-        verify(notificationService, times(1)).getUserNotifications(testUser.getId());
+        assertTrue(response.getBody().getNotifications().isEmpty());
+        assertNull(response.getBody().getNextCursor());
     }
 
     @Test
@@ -97,8 +97,66 @@ class NotificationControllerTest {
         when(jwtUtil.getLoggedInUser()).thenReturn(null);
 
         // Act & Assert
-        assertThrows(RuntimeException.class, () -> notificationController.getUserNotifications());
+        assertThrows(RuntimeException.class, () -> notificationController.getUserNotifications(null, null, 20));
         verify(jwtUtil, times(1)).getLoggedInUser();
-        verify(notificationService, never()).getUserNotifications(any());
+        verify(notificationService, never()).getUserNotifications(any(), any(), any(), anyInt());
+    }
+
+    @Test
+    void getUnreadCount_Success() {
+        // Arrange
+        when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
+        when(notificationService.countUnread(testUser.getId())).thenReturn(3L);
+
+        // Act
+        ResponseEntity<Map<String, Long>> response = notificationController.getUnreadCount();
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3L, response.getBody().get("unread"));
+    }
+
+    @Test
+    void markAsRead_Success() {
+        // Arrange
+        when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
+        when(notificationService.markAsRead(testUser.getId(), List.of(1L, 2L), null)).thenReturn(2);
+
+        // Act
+        ResponseEntity<Map<String, Integer>> response =
+                notificationController.markAsRead(new MarkNotificationsReadRequest(List.of(1L, 2L), null));
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, response.getBody().get("updated"));
+    }
+
+    @Test
+    void streamNotifications_ShouldSubscribeWithLastEventId() {
+        // Arrange
+        SseEmitter emitter = new SseEmitter();
+        when(jwtUtil.getLoggedInUser()).thenReturn(testUser);
+        String lastEventId = testPage.getNextCursor();
+        when(notificationHub.subscribe(testUser.getId(), lastEventId)).thenReturn(emitter);
+
+        // Act
+        ResponseEntity<SseEmitter> response = notificationController.streamNotifications(lastEventId);
+
+        // Assert
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertSame(emitter, response.getBody());
+    }
+
+    @Test
+    void streamNotifications_UserNotLoggedIn() {
+        // Arrange
+        when(jwtUtil.getLoggedInUser()).thenReturn(null);
+
+        // Act
+        ResponseEntity<SseEmitter> response = notificationController.streamNotifications(null);
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, response.getStatusCode());
+        verifyNoInteractions(notificationHub);
     }
 }
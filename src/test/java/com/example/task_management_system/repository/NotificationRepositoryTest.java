@@ -0,0 +1,153 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+class NotificationRepositoryTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private User owner;
+    private User other;
+    private final List<Long> ownerIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        owner = userRepository.save(user("owner@example.com"));
+        other = userRepository.save(user("other@example.com"));
+        LocalDateTime start = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            ownerIds.add(notificationRepository.save(notification(owner, "n" + i, start.plusMinutes(i))).getId());
+        }
+        notificationRepository.save(notification(other, "someone else's", start));
+        entityManager.flush();
+    }
+
+    @Test
+    void findBefore_ShouldPageBackwardsForTheUserOnly() {
+        // Act
+        List<NotificationDto> latest = notificationRepository.findLatest(owner.getId(), PageRequest.of(0, 2));
+        NotificationDto last = latest.get(1);
+        List<NotificationDto> older = notificationRepository.findBefore(owner.getId(),
+                last.getCreatedAt(), last.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of("n4", "n3"), messages(latest));
+        assertEquals(List.of("n2", "n1", "n0"), messages(older));
+    }
+
+    @Test
+    void findBefore_ShouldFollowCreationTimeWhenIdsDoNot() {
+        // Arrange: written last, as if from another node's id block, yet created between n1 and n2
+        notificationRepository.save(notification(owner, "late", LocalDateTime.of(2025, 1, 1, 9, 1, 30)));
+        entityManager.flush();
+
+        // Act: page through two at a time
+        List<NotificationDto> seen = new ArrayList<>(notificationRepository.findLatest(owner.getId(), PageRequest.of(0, 2)));
+        List<NotificationDto> page;
+        do {
+            NotificationDto last = seen.get(seen.size() - 1);
+            page = notificationRepository.findBefore(owner.getId(), last.getCreatedAt(), last.getId(), PageRequest.of(0, 2));
+            seen.addAll(page);
+        } while (!page.isEmpty());
+
+        // Assert
+        assertEquals(List.of("n4", "n3", "n2", "late", "n1", "n0"), messages(seen));
+    }
+
+    @Test
+    void findAfter_ShouldReturnNewerNotificationsOldestFirst() {
+        // Arrange
+        NotificationDto n2 = notificationRepository.findLatest(owner.getId(), PageRequest.of(0, 5)).get(2);
+
+        // Act
+        List<NotificationDto> newer = notificationRepository.findAfter(owner.getId(),
+                n2.getCreatedAt(), n2.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of("n3", "n4"), messages(newer));
+    }
+
+    @Test
+    void markRead_ShouldOnlyTouchTheUsersUnreadNotifications() {
+        // Arrange: one id of another user slipped into the request
+        Long foreignId = notificationRepository.findLatest(other.getId(), PageRequest.of(0, 1)).get(0).getId();
+
+        // Act
+        int updated = notificationRepository.markRead(owner.getId(), List.of(ownerIds.get(0), ownerIds.get(1), foreignId));
+        int again = notificationRepository.markRead(owner.getId(), List.of(ownerIds.get(0)));
+
+        // Assert
+        assertEquals(2, updated);
+        assertEquals(0, again);
+        assertEquals(3, notificationRepository.countByUserIdAndReadFalse(owner.getId()));
+        assertEquals(1, notificationRepository.countByUserIdAndReadFalse(other.getId()));
+    }
+
+    @Test
+    void markReadUpTo_ShouldMarkEverythingCreatedUpToTheCursor() {
+        // Arrange: a larger id than n3's but created before it, as if from another node's id block
+        notificationRepository.save(notification(owner, "late", LocalDateTime.of(2025, 1, 1, 9, 1, 30)));
+        entityManager.flush();
+        NotificationDto n3 = notificationRepository.findLatest(owner.getId(), PageRequest.of(0, 2)).get(1);
+
+        // Act
+        int updated = notificationRepository.markReadUpTo(owner.getId(), n3.getCreatedAt(), n3.getId());
+        entityManager.clear();
+
+        // Assert: n0 to n3 and "late"; n4 was created after the cursor and stays unread
+        assertEquals(5, updated);
+        assertEquals(1, notificationRepository.countByUserIdAndReadFalse(owner.getId()));
+        assertTrue(notificationRepository.findLatest(owner.getId(), PageRequest.of(0, 5)).get(1).isRead());
+    }
+
+    @Test
+    void findIdsCreatedBefore_ShouldReturnExpiredIdsInBatches() {
+        // Act
+        List<Long> firstBatch = notificationRepository.findIdsCreatedBefore(
+                LocalDateTime.of(2025, 1, 1, 9, 2), PageRequest.of(0, 2));
+
+        // Assert: the other user's row and owner's first two are expired, only a batch of two comes back
+        assertEquals(2, firstBatch.size());
+        assertEquals(2, notificationRepository.deleteByIdIn(firstBatch));
+    }
+
+    private static List<String> messages(List<NotificationDto> notifications) {
+        return notifications.stream().map(NotificationDto::getMessage).toList();
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setUserRole(UserRole.EMPLOYEE);
+        return user;
+    }
+
+    private static Notification notification(User user, String message, LocalDateTime createdAt) {
+        return Notification.builder().user(user).message(message).createdAt(createdAt).build();
+    }
+}
@@ -0,0 +1,201 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.enums.UserRole;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs outside a test transaction so that every call commits, the way requests do: the
+ * second-level cache is only filled and invalidated on commit. Writes through JdbcTemplate
+ * stand in for another node, whose commits never reach this node's cache.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SecondLevelCacheTest {
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserTaskStatsRepository statsRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+    private TransactionTemplate transactionTemplate;
+    private User employee;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        employee = new User();
+        employee.setName("Employee");
+        employee.setEmail("employee@example.com");
+        employee.setPassword("password");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+    }
+
+    @AfterEach
+    void tearDown() {
+        statsRepository.deleteAll();
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    void findById_ShouldServeTheAssigneeFromCacheAfterFirstRead() {
+        // Arrange
+        Long taskId = taskRepository.save(task("Write report", TaskStatus.PENDING)).getId();
+        entityManagerFactory.getCache().evictAll();
+        assertEquals(2L, countStatements(() -> assigneeName(taskId)));
+
+        // Act & Assert: the task is read again, its assignee comes from the cache
+        assertEquals(1L, countStatements(() -> assigneeName(taskId)));
+        assertFalse(entityManagerFactory.getCache().contains(Task.class, taskId));
+    }
+
+    @Test
+    void update_ShouldSeeChangesCommittedByAnotherNode() {
+        // Arrange
+        Long taskId = taskRepository.save(task("Write report", TaskStatus.PENDING)).getId();
+        taskRepository.findById(taskId);
+
+        // Act: another node completes the task, bypassing this node's session factory
+        jdbcTemplate.update("update tasks set task_status = 'COMPLETED', version = version + 1 where id = ?", taskId);
+        transactionTemplate.executeWithoutResult(status ->
+                taskRepository.findById(taskId).orElseThrow().setTitle("Write annual report"));
+
+        // Assert: this node read the current version, so its own write did not conflict
+        Task current = taskRepository.findById(taskId).orElseThrow();
+        assertEquals(TaskStatus.COMPLETED, current.getTaskStatus());
+        assertEquals("Write annual report", current.getTitle());
+        assertEquals(2L, current.getVersion());
+    }
+
+    @Test
+    void staleWrite_ShouldFailEvenWhenTheTaskCameFromTheCache() {
+        // Arrange
+        Long taskId = taskRepository.save(task("Write report", TaskStatus.PENDING)).getId();
+        taskRepository.findById(taskId);
+        TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+        concurrent.setPropagationBehavior(TransactionTemplate.PROPAGATION_REQUIRES_NEW);
+
+        // Act: another writer commits between this read and this write
+        assertThrows(ObjectOptimisticLockingFailureException.class, () ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    Task stale = taskRepository.findById(taskId).orElseThrow();
+                    concurrent.executeWithoutResult(inner ->
+                            taskRepository.findById(taskId).orElseThrow().setTaskStatus(TaskStatus.COMPLETED));
+                    stale.setTitle("Write annual report");
+                }));
+
+        // Assert: the first write stands
+        Task current = taskRepository.findById(taskId).orElseThrow();
+        assertEquals("Write report", current.getTitle());
+        assertEquals(TaskStatus.COMPLETED, current.getTaskStatus());
+        assertEquals(1L, current.getVersion());
+    }
+
+    @Test
+    void filterQuery_ShouldSeeTasksWrittenByAnotherNode() {
+        // Arrange
+        taskRepository.save(task("Write report", TaskStatus.PENDING));
+        taskRepository.findTaskDtosByStatus(TaskStatus.PENDING);
+
+        // Act
+        jdbcTemplate.update("update tasks set task_status = 'COMPLETED'");
+
+        // Assert
+        assertEquals(List.of(), taskRepository.findTaskDtosByStatus(TaskStatus.PENDING));
+    }
+
+    @Test
+    void passwordRehash_ShouldUpdateTheCachedUser() {
+        // Arrange
+        Long taskId = taskRepository.save(task("Write report", TaskStatus.PENDING)).getId();
+        entityManagerFactory.getCache().evictAll();
+        assigneeName(taskId);
+
+        // Act: the login rehash reads by email and saves through the entity
+        transactionTemplate.executeWithoutResult(status ->
+                userRepository.findByEmail("employee@example.com").orElseThrow().setPassword("rehashed"));
+
+        // Assert: this node's commit updated its cache entry, the next by-id read needs no statement
+        assertTrue(entityManagerFactory.getCache().contains(User.class, employee.getId()));
+        assertEquals(0L, countStatements(() -> transactionTemplate.execute(status ->
+                userRepository.findById(employee.getId()).orElseThrow().getPassword())));
+        assertEquals("rehashed", userRepository.findById(employee.getId()).orElseThrow().getPassword());
+    }
+
+    @Test
+    void analyticsRebuild_ShouldKeepTheUserCache() {
+        // Arrange
+        Long taskId = taskRepository.save(task("Write report", TaskStatus.PENDING)).getId();
+        entityManagerFactory.getCache().evictAll();
+        assigneeName(taskId);
+
+        // Act: the native insert names its table, so only that space is invalidated
+        transactionTemplate.executeWithoutResult(status -> statsRepository.insertFromTasks());
+
+        // Assert
+        assertTrue(entityManagerFactory.getCache().contains(User.class, employee.getId()));
+    }
+
+    private long countStatements(Supplier<?> call) {
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private String assigneeName(Long taskId) {
+        return transactionTemplate.execute(status -> taskRepository.findById(taskId).orElseThrow().getUser().getName());
+    }
+
+    private Task task(String title, TaskStatus status) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setPriority("High");
+        task.setTaskStatus(status);
+        task.setDeadline(new Date());
+        task.setCreatedDate(new Date());
+        task.setUser(employee);
+        return task;
+    }
+}
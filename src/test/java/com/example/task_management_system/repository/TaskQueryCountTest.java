@@ -0,0 +1,249 @@
+package com.example.task_management_system.repository;
+
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.entity.UserCompletionDay;
+import com.example.task_management_system.entity.UserCompletionDayId;
+import com.example.task_management_system.entity.UserTaskStats;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.service.admin.AdminService;
+import com.example.task_management_system.service.admin.AdminServiceImpl;
+import com.example.task_management_system.service.employee.EmployeeService;
+import com.example.task_management_system.service.employee.EmployeeServiceImpl;
+import com.example.task_management_system.service.notification.NotificationService;
+import com.example.task_management_system.service.analyticservice.AnalyticsService;
+import com.example.task_management_system.service.analyticservice.AnalyticsServiceImpl;
+import com.example.task_management_system.service.analyticservice.OrganizationStatsAggregator;
+import com.example.task_management_system.service.analyticservice.TaskStatsRebuilder;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
+import com.example.task_management_system.service.search.TaskSearchIndex;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Guards the task list endpoints against N+1 selects on Task.user: the number of
+ * JDBC statements per call must not grow with the number of rows returned. The
+ * analytics dashboard is held to a single statement as well.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+                "com.example.task_management_system.repository.TaskQueryCountTest$SqlCapture"
+})
+@Import({AdminServiceImpl.class, EmployeeServiceImpl.class, AnalyticsServiceImpl.class,
+        OrganizationStatsAggregator.class})
+class TaskQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private AnalyticsService analyticsService;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private TaskSearchIndex taskSearchIndex;
+
+    @MockitoBean
+    private TaskStatsRecorder taskStatsRecorder;
+
+    @MockitoBean
+    private TaskStatsRebuilder taskStatsRebuilder;
+
+    @MockitoBean
+    private TaskChangeRecorder taskChangeRecorder;
+
+    private Statistics statistics;
+    private final List<User> employees = new ArrayList<>();
+    private final List<Long> taskIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < 3; i++) {
+            User employee = new User();
+            employee.setName("Employee " + i);
+            employee.setEmail("employee" + i + "@example.com");
+            employee.setPassword("password");
+            employee.setUserRole(UserRole.EMPLOYEE);
+            employees.add(entityManager.persist(employee));
+        }
+        // the index is not under test: every seeded task is a hit
+        when(taskSearchIndex.search(eq("task"), anyInt(), anyInt()))
+                .thenAnswer(invocation -> new TaskSearchIndex.Hits(List.copyOf(taskIds), taskIds.size()));
+    }
+
+    @Test
+    void listEndpoints_ShouldIssueConstantQueryCountAsRowsGrow() {
+        seedTasks(3);
+        List<Long> small = measureAll();
+
+        seedTasks(60);
+        List<Long> large = measureAll();
+
+        assertEquals(small, large);
+        large.forEach(count -> assertEquals(1L, count));
+    }
+
+    @Test
+    void userAnalytics_ShouldIssueOneQuery() {
+        // Arrange
+        Long userId = employees.get(0).getId();
+        LocalDate today = LocalDate.now();
+        entityManager.persist(new UserTaskStats(userId, 5, 3, 120, 2));
+        for (int daysAgo = 0; daysAgo < 7; daysAgo++) {
+            entityManager.persist(new UserCompletionDay(new UserCompletionDayId(userId, today.minusDays(daysAgo)), 1));
+        }
+
+        // Act & Assert
+        assertEquals(1L, countStatements(() -> analyticsService.getUserAnalytics(userId)));
+        assertEquals(7L, analyticsService.getUserAnalytics(userId).getWeeklyTrends().values().stream()
+                .mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    void organizationAnalytics_ShouldIssueConstantQueryCountAsRowsGrow() {
+        seedTasks(3);
+        long small = countStatements(() -> analyticsService.getOrganizationAnalytics());
+
+        seedTasks(60);
+        long large = countStatements(() -> analyticsService.getOrganizationAnalytics());
+
+        // one streamed read of the tasks, one IN query for the employee names
+        assertEquals(2L, small);
+        assertEquals(small, large);
+        assertEquals(63, analyticsService.getOrganizationAnalytics().getTotalTasks());
+    }
+
+    @Test
+    void statusChange_ShouldReadOneRowAndUpdateOnlyTheStatusColumns() {
+        // Arrange
+        seedTasks(1);
+        Long taskId = taskIds.get(0);
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+
+        // Act
+        employeeService.updateTask(taskId, "COMPLETED", null);
+
+        // Assert: one projection read, then an UPDATE guarded by the status that was read
+        List<String> statements = SqlCapture.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .toList();
+        assertEquals(1, statements.stream().filter(sql -> sql.startsWith("select")).count(), statements.toString());
+        List<String> updates = statements.stream().filter(sql -> sql.startsWith("update tasks")).toList();
+        assertEquals(1, updates.size());
+        String update = updates.get(0);
+        assertTrue(update.contains("task_status=") && update.contains("completed_at=") && update.contains("version="), update);
+        assertFalse(update.contains("description") || update.contains("title"), update);
+        assertTrue(update.contains("task_status=?") && update.matches(".*where .*id=\\? and .*task_status=\\?.*"), update);
+        assertEquals(1L, entityManager.find(Task.class, taskId).getVersion());
+    }
+
+    @Test
+    void statusChangeWithIfMatch_ShouldUpdateOnlyTheStatusColumnsOfTheVersionedRow() {
+        // Arrange
+        seedTasks(1);
+        Long taskId = taskIds.get(0);
+        entityManager.flush();
+        entityManager.clear();
+        SqlCapture.STATEMENTS.clear();
+
+        // Act
+        employeeService.updateTask(taskId, "COMPLETED", 0L);
+        entityManager.flush();
+
+        // Assert: one versioned UPDATE of the three columns that changed
+        List<String> updates = SqlCapture.STATEMENTS.stream()
+                .map(sql -> sql.toLowerCase(Locale.ROOT))
+                .filter(sql -> sql.startsWith("update tasks"))
+                .toList();
+        assertEquals(1, updates.size());
+        String update = updates.get(0);
+        assertTrue(update.contains("task_status=") && update.contains("completed_at=") && update.contains("version="), update);
+        assertFalse(update.contains("description") || update.contains("title"), update);
+        assertTrue(update.contains("where id=? and version=?"), update);
+    }
+
+    private List<Long> measureAll() {
+        Long userId = employees.get(0).getId();
+        List<Long> counts = new ArrayList<>();
+        counts.add(countStatements(() -> adminService.getTasksPage(null, 500)));
+        counts.add(countStatements(() -> adminService.getTaskById(taskIds.get(0))));
+        counts.add(countStatements(() -> adminService.searchTasks("task", 0, 100)));
+        counts.add(countStatements(() -> adminService.filterTasksByStatus(TaskStatus.PENDING)));
+        counts.add(countStatements(() -> adminService.filterTasksByPriority("High")));
+        counts.add(countStatements(() -> employeeService.getTasksByUserId(userId)));
+        return counts;
+    }
+
+    private long countStatements(Supplier<?> call) {
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+        call.get();
+        return statistics.getPrepareStatementCount();
+    }
+
+    // Records the SQL Hibernate prepares, to check the shape of generated statements
+    public static class SqlCapture implements StatementInspector {
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+
+    private void seedTasks(int count) {
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setDescription("Description " + i);
+            task.setPriority("High");
+            task.setTaskStatus(TaskStatus.PENDING);
+            task.setDeadline(new Date());
+            task.setCreatedDate(new Date());
+            task.setUser(employees.get(i % employees.size()));
+            taskIds.add(entityManager.persist(task).getId());
+        }
+    }
+}
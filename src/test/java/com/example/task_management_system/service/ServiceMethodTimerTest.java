@@ -0,0 +1,81 @@
+package com.example.task_management_system.service;
+
+import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.service.admin.AdminServiceImpl;
+import com.example.task_management_system.service.analyticservice.AnalyticsServiceImpl;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.auth.AuthServiceImpl;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
+import com.example.task_management_system.service.employee.EmployeeService;
+import com.example.task_management_system.service.employee.EmployeeServiceImpl;
+import com.example.task_management_system.service.notification.NotificationService;
+import com.example.task_management_system.service.notification.NotificationServiceImpl;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The service implementations are timed by Micrometer's TimedAspect (enabled through
+ * management.observations.annotations.enabled); this checks the timer they end up with.
+ */
+class ServiceMethodTimerTest {
+
+    private SimpleMeterRegistry registry;
+    private EmployeeService employeeService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new EmployeeServiceImpl(
+                mock(TaskRepository.class), mock(NotificationService.class), mock(TaskStatsRecorder.class),
+                mock(TaskChangeRecorder.class)));
+        // class-based proxy, as Spring Boot creates them
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedAspect(registry));
+        employeeService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void serviceImplementations_ShouldAllBeTimed() {
+        for (Class<?> service : List.of(AdminServiceImpl.class, EmployeeServiceImpl.class, AnalyticsServiceImpl.class,
+                NotificationServiceImpl.class, AuthServiceImpl.class)) {
+            Timed timed = service.getAnnotation(Timed.class);
+            assertNotNull(timed, service.getSimpleName());
+            assertEquals("service.method", timed.value());
+        }
+    }
+
+    @Test
+    void call_ShouldBeRecordedPerClassAndMethod() {
+        // Act
+        employeeService.getTasksByUserId(1L);
+        employeeService.getTasksByUserId(2L);
+
+        // Assert
+        assertEquals(2, registry.get("service.method")
+                .tag("class", EmployeeServiceImpl.class.getName())
+                .tag("method", "getTasksByUserId")
+                .tag("exception", "none")
+                .timer().count());
+    }
+
+    @Test
+    void failedCall_ShouldBeTaggedWithTheException() {
+        // Act
+        assertThrows(IllegalArgumentException.class, () -> employeeService.updateTask(1L, "NOT_A_STATUS", null));
+
+        // Assert
+        assertEquals(1, registry.get("service.method")
+                .tag("method", "updateTask")
+                .tag("exception", "InvalidRequestException")
+                .timer().count());
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.task_management_system.service;
+
+import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.service.admin.AdminService;
+import com.example.task_management_system.service.admin.AdminServiceImpl;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
+import com.example.task_management_system.service.employee.EmployeeService;
+import com.example.task_management_system.service.employee.EmployeeServiceImpl;
+import com.example.task_management_system.service.notification.NotificationService;
+import com.example.task_management_system.service.search.TaskSearchIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The version a task update returns becomes the client's ETag, which it sends back as If-Match; it has
+ * to be the version the UPDATE wrote. Runs outside a test transaction so every call commits like a request.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({AdminServiceImpl.class, EmployeeServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskVersionResponseTest {
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private EmployeeService employeeService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private NotificationService notificationService;
+
+    @MockitoBean
+    private TaskSearchIndex taskSearchIndex;
+
+    @MockitoBean
+    private TaskStatsRecorder taskStatsRecorder;
+
+    @MockitoBean
+    private TaskChangeRecorder taskChangeRecorder;
+
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        User employee = new User();
+        employee.setName("Employee");
+        employee.setEmail("employee@example.com");
+        employee.setPassword("password");
+        employee.setUserRole(UserRole.EMPLOYEE);
+        employee = userRepository.save(employee);
+
+        Task task = new Task();
+        task.setTitle("Write report");
+        task.setPriority("High");
+        task.setTaskStatus(TaskStatus.PENDING);
+        task.setDeadline(new Date());
+        task.setCreatedDate(new Date());
+        task.setUser(employee);
+        taskId = taskRepository.save(task).getId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void statusChangeWithIfMatch_ShouldReturnTheVersionItWrote() {
+        // Act
+        TaskDto result = employeeService.updateTask(taskId, "COMPLETED", 0L);
+
+        // Assert
+        assertEquals(storedVersion(), result.getVersion());
+        assertEquals(1L, result.getVersion());
+    }
+
+    @Test
+    void statusChangeWithoutIfMatch_ShouldReturnTheVersionItWrote() {
+        // Act
+        TaskDto result = employeeService.updateTask(taskId, "COMPLETED", null);
+
+        // Assert
+        assertEquals(storedVersion(), result.getVersion());
+    }
+
+    @Test
+    void adminUpdate_ShouldReturnAVersionTheNextIfMatchAccepts() {
+        // Arrange
+        TaskDto first = adminService.updateTask(taskId, edit("Write annual report"), 0L);
+
+        // Act: the client sends back the ETag it was just given
+        TaskDto second = adminService.updateTask(taskId, edit("Write the annual report"), first.getVersion());
+
+        // Assert
+        assertEquals(1L, first.getVersion());
+        assertEquals(storedVersion(), second.getVersion());
+        assertEquals(2L, second.getVersion());
+    }
+
+    private long storedVersion() {
+        return taskRepository.findById(taskId).orElseThrow().getVersion();
+    }
+
+    private TaskDto edit(String title) {
+        TaskDto dto = new TaskDto();
+        dto.setTitle(title);
+        dto.setPriority("High");
+        dto.setTaskStatus(TaskStatus.PENDING);
+        return dto;
+    }
+}
@@ -1,25 +1,38 @@
 package com.example.task_management_system.service.admin;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskPage;
+import com.example.task_management_system.dto.TaskSearchPage;
 import com.example.task_management_system.dto.UserDto;
 import com.example.task_management_system.entity.Task;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.TaskStatus;
 import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.exception.InvalidRequestException;
+import com.example.task_management_system.exception.PreconditionFailedException;
 import com.example.task_management_system.repository.TaskRepository;
 import com.example.task_management_system.repository.UserRepository;
 import com.example.task_management_system.service.notification.NotificationService;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
+import com.example.task_management_system.service.search.TaskSearchIndex;
+import com.example.task_management_system.utils.TaskCursor;
+import jakarta.persistence.EntityManager;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -36,6 +49,18 @@ class AdminServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TaskSearchIndex taskSearchIndex;
+
+    @Mock
+    private TaskStatsRecorder taskStatsRecorder;
+
+    @Mock
+    private TaskChangeRecorder taskChangeRecorder;
+
     @InjectMocks
     private AdminServiceImpl adminService;
 
@@ -115,52 +140,141 @@ class AdminServiceImplTest {
     }
 
     @Test
-    void getAllTasks_ShouldReturnAllTasksSortedByDeadline() {
+    void createTasks_ShouldResolveEmployeesOnceAndReportPerItem() {
+        // Arrange
+        TaskDto unknownEmployee = new TaskDto();
+        unknownEmployee.setTitle("Orphan task");
+        unknownEmployee.setEmployeeId(99L);
+        when(userRepository.findAllById(Set.of(1L, 99L))).thenReturn(List.of(employee));
+        when(taskRepository.save(any(Task.class))).thenReturn(task);
+
+        // Act
+        List<BulkTaskResult> results = adminService.createTasks(List.of(taskDto, unknownEmployee));
+
+        // Assert
+        assertEquals(2, results.size());
+        assertTrue(results.get(0).isSuccess());
+        assertEquals(1L, results.get(0).getTaskId());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(1, results.get(1).getIndex());
+        verify(userRepository, times(1)).findAllById(any());
+        verify(userRepository, never()).findById(any());
+        verify(taskRepository, times(1)).save(any(Task.class));
+        verify(notificationService, times(1)).createInAppNotification(eq(employee), anyString());
+    }
+
+    @Test
+    void createTasks_ShouldRejectOversizedRequests() {
+        // Arrange
+        List<TaskDto> tooMany = Collections.nCopies(AdminServiceImpl.MAX_BULK_SIZE + 1, taskDto);
+
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> adminService.createTasks(tooMany));
+        verify(taskRepository, never()).save(any());
+    }
+
+    @Test
+    void getTasksPage_ShouldReturnFirstPageWithCursor() {
+        // Arrange
+        TaskDto newTask = new TaskDto();
+        newTask.setId(2L);
+        newTask.setDeadline(java.sql.Date.valueOf("2025-05-02"));
+        TaskDto oldTask = new TaskDto();
+        oldTask.setId(1L);
+        oldTask.setDeadline(java.sql.Date.valueOf("2025-05-01"));
+
+        when(taskRepository.findFirstPage(any(Pageable.class))).thenReturn(Arrays.asList(newTask, oldTask));
+
+        // Act
+        TaskPage result = adminService.getTasksPage(null, 1);
+
+        // Assert
+        assertEquals(1, result.getTasks().size());
+        assertEquals(2L, result.getTasks().get(0).getId());
+        assertNotNull(result.getNextCursor());
+        verify(taskRepository, never()).findAll();
+    }
+
+    @Test
+    void getTasksPage_ShouldContinueAfterCursor() {
+        // Arrange
+        String cursor = TaskCursor.of(java.sql.Date.valueOf("2025-05-02"), 2L).encode();
+        TaskDto oldTask = new TaskDto();
+        oldTask.setId(1L);
+        oldTask.setDeadline(java.sql.Date.valueOf("2025-05-01"));
+
+        when(taskRepository.findPageAfter(eq(java.sql.Date.valueOf("2025-05-02")), eq(2L), any(Pageable.class)))
+                .thenReturn(List.of(oldTask));
+
+        // Act
+        TaskPage result = adminService.getTasksPage(cursor, 10);
+
+        // Assert
+        assertEquals(1, result.getTasks().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getTasksPage_ShouldCapPageSize() {
         // Arrange
-        Task oldTask = new Task();
-        oldTask.setDeadline(new Date(System.currentTimeMillis() - 86400000)); // Yesterday
-        Task newTask = new Task();
-        newTask.setDeadline(new Date(System.currentTimeMillis() + 86400000)); // Tomorrow
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        when(taskRepository.findFirstPage(pageable.capture())).thenReturn(List.of());
 
-        when(taskRepository.findAll()).thenReturn(Arrays.asList(oldTask, newTask));
+        // Act
+        adminService.getTasksPage(null, 100_000);
+
+        // Assert
+        assertEquals(AdminServiceImpl.MAX_PAGE_SIZE + 1, pageable.getValue().getPageSize());
+    }
+
+    @Test
+    void getTasksPage_ShouldRejectMalformedCursor() {
+        assertThrows(InvalidRequestException.class, () -> adminService.getTasksPage("not-a-cursor", 10));
+    }
+
+    @Test
+    void streamAllTasks_ShouldPassEveryTaskToSink() {
+        // Arrange
+        when(taskRepository.streamAllOrderByDeadlineDesc()).thenReturn(Stream.of(taskDto));
+        List<TaskDto> received = new ArrayList<>();
 
         // Act
-        List<TaskDto> result = adminService.getAllTasks();
+        adminService.streamAllTasks(received::add);
 
         // Assert
-        assertEquals(2, result.size());
-        assertTrue(result.get(0).getDeadline().after(result.get(1).getDeadline()));
-        verify(taskRepository, times(1)).findAll();
+        assertEquals(1, received.size());
+        assertEquals("Complete project", received.get(0).getTitle());
     }
 
     @Test
     void deleteTask_ShouldDeleteExistingTask() {
         // Arrange
-        when(taskRepository.existsById(1L)).thenReturn(true);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
         // Act
         adminService.deleteTask(1L);
 
         // Assert
-        verify(taskRepository, times(1)).existsById(1L);
-        verify(taskRepository, times(1)).deleteById(1L);
+        verify(taskStatsRecorder).recordChange(TaskStatsRecorder.Snapshot.of(task), null);
+        verify(taskRepository, times(1)).delete(task);
+        verify(taskChangeRecorder).recordChange(1L, TaskChangeRecorder.State.of(task), null);
     }
 
     @Test
     void deleteTask_ShouldThrowExceptionWhenTaskNotFound() {
         // Arrange
-        when(taskRepository.existsById(1L)).thenReturn(false);
+        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> adminService.deleteTask(1L));
-        verify(taskRepository, times(1)).existsById(1L);
-        verify(taskRepository, never()).deleteById(any());
+        verify(taskRepository, never()).delete(any());
+        verifyNoInteractions(taskStatsRecorder);
     }
 
     @Test
     void getTaskById_ShouldReturnTask() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+        when(taskRepository.findTaskDtoById(1L)).thenReturn(Optional.of(Task.fromTask(task)));
 
         // Act
         TaskDto result = adminService.getTaskById(1L);
@@ -168,17 +282,18 @@ class AdminServiceImplTest {
         // Assert
         assertNotNull(result);
         assertEquals("Complete project", result.getTitle());
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, times(1)).findTaskDtoById(1L);
+        verify(taskRepository, never()).findById(any());
     }
 
     @Test
     void getTaskById_ShouldThrowExceptionWhenTaskNotFound() {
         // Arrange
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.findTaskDtoById(1L)).thenReturn(Optional.empty());
 
         // Act & Assert
         assertThrows(EntityNotFoundException.class, () -> adminService.getTaskById(1L));
-        verify(taskRepository, times(1)).findById(1L);
+        verify(taskRepository, times(1)).findTaskDtoById(1L);
     }
 
     @Test
@@ -192,46 +307,70 @@ class AdminServiceImplTest {
         updatedDto.setTaskStatus(TaskStatus.COMPLETED);
 
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any(Task.class))).thenReturn(task);
+        when(taskRepository.saveAndFlush(any(Task.class))).thenReturn(task);
 
         // Act
-        TaskDto result = adminService.updateTask(1L, updatedDto);
+        TaskDto result = adminService.updateTask(1L, updatedDto, null);
 
         // Assert
         assertNotNull(result);
         assertEquals("Updated title", result.getTitle());
         verify(taskRepository, times(1)).findById(1L);
-        verify(taskRepository, times(1)).save(task);
+        verify(taskRepository, times(1)).saveAndFlush(task);
         verify(notificationService, times(1)).createInAppNotification(eq(employee), anyString());
     }
 
     @Test
-    void searchTasksByTitle_ShouldReturnMatchingTasks() {
+    void updateTask_ShouldRejectStaleExpectedVersion() {
+        // Arrange
+        task.setVersion(2L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        // Act & Assert
+        assertThrows(PreconditionFailedException.class, () -> adminService.updateTask(1L, taskDto, 1L));
+        assertEquals("Complete project", task.getTitle());
+        verify(taskRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(taskChangeRecorder, notificationService);
+    }
+
+    @Test
+    void searchTasks_ShouldReturnMatchesInRankOrder() {
         // Arrange
-        when(taskRepository.findByTitleContainingIgnoreCase("project"))
-                .thenReturn(Collections.singletonList(task));
-        List<TaskDto> result = adminService.searchTasksByTitle("project");
+        TaskDto other = new TaskDto();
+        other.setId(2L);
+        other.setTitle("Project kickoff");
+        when(taskSearchIndex.search("project", 0, 20)).thenReturn(new TaskSearchIndex.Hits(List.of(2L, 1L), 2));
+        when(taskRepository.findTaskDtosByIdIn(List.of(2L, 1L))).thenReturn(List.of(taskDto, other));
+
+        // Act
+        TaskSearchPage result = adminService.searchTasks("project", 0, 20);
 
         // Assert
-        assertEquals(1, result.size());
-        assertEquals("Complete project", result.get(0).getTitle());
-        verify(taskRepository, times(1)).findByTitleContainingIgnoreCase("project");
+        assertEquals(2, result.getTotalHits());
+        assertEquals(List.of(2L, 1L), result.getTasks().stream().map(TaskDto::getId).toList());
+        verify(taskRepository, times(1)).findTaskDtosByIdIn(List.of(2L, 1L));
     }
 
     @Test
-    void searchTasksByTitle_ShouldReturnEmptyListForEmptySearch() {
-        List<TaskDto> result = adminService.searchTasksByTitle("");
+    void searchTasks_ShouldReturnEmptyPageForEmptySearch() {
+        TaskSearchPage result = adminService.searchTasks("", 0, 20);
 
         // Assert
-        assertTrue(result.isEmpty());
-        verify(taskRepository, never()).findByTitleContainingIgnoreCase(any());
+        assertTrue(result.getTasks().isEmpty());
+        verify(taskSearchIndex, never()).search(any(), anyInt(), anyInt());
+        verify(taskRepository, never()).findTaskDtosByIdIn(any());
+    }
+
+    @Test
+    void searchTasks_ShouldRejectPagesBeyondSearchDepth() {
+        assertThrows(InvalidRequestException.class, () -> adminService.searchTasks("project", 1_000, 100));
     }
 
     @Test
     void filterTasksByStatus_ShouldReturnFilteredTasks() {
         // Arrange
-        when(taskRepository.findByTaskStatus(TaskStatus.PENDING))
-                .thenReturn(Collections.singletonList(task));
+        when(taskRepository.findTaskDtosByStatus(TaskStatus.PENDING))
+                .thenReturn(Collections.singletonList(taskDto));
 
         // Act
         List<TaskDto> result = adminService.filterTasksByStatus(TaskStatus.PENDING);
@@ -239,14 +378,14 @@ class AdminServiceImplTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals(TaskStatus.PENDING, result.get(0).getTaskStatus());
-        verify(taskRepository, times(1)).findByTaskStatus(TaskStatus.PENDING);
+        verify(taskRepository, times(1)).findTaskDtosByStatus(TaskStatus.PENDING);
     }
 
     @Test
     void filterTasksByPriority_ShouldReturnFilteredTasks() {
         // Arrange
-        when(taskRepository.findByPriority("High"))
-                .thenReturn(Collections.singletonList(task));
+        when(taskRepository.findTaskDtosByPriority("High"))
+                .thenReturn(Collections.singletonList(taskDto));
 
         // Act
         List<TaskDto> result = adminService.filterTasksByPriority("High");
@@ -254,6 +393,6 @@ class AdminServiceImplTest {
         // Assert
         assertEquals(1, result.size());
         assertEquals("High", result.get(0).getPriority());
-        verify(taskRepository, times(1)).findByPriority("High");
+        verify(taskRepository, times(1)).findTaskDtosByPriority("High");
     }
 }
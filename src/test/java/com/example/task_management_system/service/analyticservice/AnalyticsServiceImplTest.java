@@ -1,19 +1,27 @@
 package com.example.task_management_system.service.analyticservice;
 
-import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.dto.OrganizationAnalytics;
+import com.example.task_management_system.dto.TaskAnalyticsRow;
+import com.example.task_management_system.dto.UserAnalytics;
+import com.example.task_management_system.dto.UserAnalyticsRow;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.entity.UserCompletionDay;
+import com.example.task_management_system.entity.UserCompletionDayId;
+import com.example.task_management_system.entity.UserTaskStats;
 import com.example.task_management_system.enums.TaskStatus;
 import com.example.task_management_system.repository.TaskRepository;
-import org.junit.jupiter.api.BeforeEach;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -21,83 +29,118 @@ import static org.mockito.Mockito.*;
 @ExtendWith(MockitoExtension.class)
 class AnalyticsServiceImplTest {
 
+    @Mock
+    private UserTaskStatsRepository statsRepository;
+
+    @Mock
+    private UserCompletionDayRepository completionDayRepository;
+
     @Mock
     private TaskRepository taskRepository;
 
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private OrganizationStatsAggregator statsAggregator;
+
+    @Mock
+    private TaskStatsRebuilder statsRebuilder;
+
     @InjectMocks
     private AnalyticsServiceImpl analyticsService;
 
     private final Long userId = 1L;
-    private Task completedTask1;
-    private Task completedTask2;
-
-    @BeforeEach
-    void setUp() {
-        completedTask1 = new Task();
-        completedTask1.setId(1L);
-        completedTask1.setTaskStatus(TaskStatus.COMPLETED);
-        completedTask1.setCompletedAt(LocalDateTime.now().minusDays(2));
-        completedTask1.setTimeEstimate(3);
-
-        completedTask2 = new Task();
-        completedTask2.setId(2L);
-        completedTask2.setTaskStatus(TaskStatus.COMPLETED);
-        completedTask2.setCompletedAt(LocalDateTime.now().minusDays(3));
-        completedTask2.setTimeEstimate(5);
+
+    @Test
+    void getUserAnalytics_ShouldBuildDashboardFromOneQuery() {
+        // Arrange: totals repeated on each bucket row
+        LocalDate today = LocalDate.now();
+        LocalDate yesterday = today.minusDays(1);
+        when(statsRepository.findAnalyticsRows(userId, today.minusWeeks(1), today)).thenReturn(List.of(
+                new UserAnalyticsRow(4, 3, 90, 2, yesterday, 2L),
+                new UserAnalyticsRow(4, 3, 90, 2, today, 1L)));
+
+        // Act
+        UserAnalytics analytics = analyticsService.getUserAnalytics(userId);
+
+        // Assert
+        assertEquals(75.0, analytics.getCompletionPercentage());
+        assertEquals(45.0, analytics.getAverageCompletionTime());
+        assertEquals(7, analytics.getWeeklyTrends().size());
+        assertEquals(2L, analytics.getWeeklyTrends().get(yesterday.getDayOfWeek().toString()));
+        assertEquals(1L, analytics.getWeeklyTrends().get(today.getDayOfWeek().toString()));
+        verifyNoInteractions(completionDayRepository);
+    }
+
+    @Test
+    void getUserAnalytics_WithoutBuckets_ShouldReportZeroWeek() {
+        // Arrange: the left join yields one row with no bucket
+        when(statsRepository.findAnalyticsRows(eq(userId), any(), any()))
+                .thenReturn(List.of(new UserAnalyticsRow(2, 0, 0, 0, null, null)));
+
+        // Act
+        UserAnalytics analytics = analyticsService.getUserAnalytics(userId);
+
+        // Assert
+        assertEquals(0.0, analytics.getCompletionPercentage());
+        assertNull(analytics.getAverageCompletionTime());
+        assertTrue(analytics.getWeeklyTrends().values().stream().allMatch(count -> count == 0L));
+    }
+
+    @Test
+    void getUserAnalytics_UnknownUser_ShouldReturnEmptyAnalytics() {
+        when(statsRepository.findAnalyticsRows(eq(userId), any(), any())).thenReturn(List.of());
+
+        UserAnalytics analytics = analyticsService.getUserAnalytics(userId);
+
+        assertEquals(0.0, analytics.getCompletionPercentage());
+        assertEquals(7, analytics.getWeeklyTrends().size());
+        assertNull(analytics.getAverageCompletionTime());
     }
 
     @Test
     void getCompletionPercentage_ShouldReturnCorrectPercentage() {
-        when(taskRepository.countByUserId(userId)).thenReturn(5L);
-        when(taskRepository.countByUserIdAndTaskStatus(userId, TaskStatus.COMPLETED)).thenReturn(2L);
+        when(statsRepository.findById(userId)).thenReturn(Optional.of(new UserTaskStats(userId, 3, 1, 0, 0)));
 
         double percentage = analyticsService.getCompletionPercentage(userId);
 
-        assertEquals(40.0, percentage);
-        verify(taskRepository).countByUserId(userId);
-        verify(taskRepository).countByUserIdAndTaskStatus(userId, TaskStatus.COMPLETED);
+        assertEquals(33.3, percentage);
     }
 
     @Test
     void getCompletionPercentage_WhenNoTasks_ShouldReturnZero() {
-        when(taskRepository.countByUserId(userId)).thenReturn(0L);
+        when(statsRepository.findById(userId)).thenReturn(Optional.empty());
 
         double percentage = analyticsService.getCompletionPercentage(userId);
 
         assertEquals(0.0, percentage);
-        verify(taskRepository).countByUserId(userId);
     }
 
     @Test
     void getWeeklyCompletionTrends_ShouldReturnTrends() {
-        List<Task> completedTasks = Arrays.asList(completedTask1, completedTask2);
-        LocalDate now = LocalDate.now();
-
-        when(taskRepository.findByUserIdAndTaskStatusAndCompletedAtBetween(
-                eq(userId),
-                eq(TaskStatus.COMPLETED),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        )).thenReturn(completedTasks);
-
+        // Arrange
+        LocalDate today = LocalDate.now();
+        LocalDate twoDaysAgo = today.minusDays(2);
+        LocalDate threeDaysAgo = today.minusDays(3);
+        when(completionDayRepository.findForUserBetween(userId, today.minusWeeks(1), today)).thenReturn(List.of(
+                new UserCompletionDay(new UserCompletionDayId(userId, twoDaysAgo), 2),
+                new UserCompletionDay(new UserCompletionDayId(userId, threeDaysAgo), 1)));
+
+        // Act
         Map<String, Long> trends = analyticsService.getWeeklyCompletionTrends(userId);
 
-        assertEquals(2, trends.size());
-        assertTrue(trends.containsKey(completedTask1.getCompletedAt().getDayOfWeek().toString()));
-        assertTrue(trends.containsKey(completedTask2.getCompletedAt().getDayOfWeek().toString()));
-        verify(taskRepository).findByUserIdAndTaskStatusAndCompletedAtBetween(
-                eq(userId),
-                eq(TaskStatus.COMPLETED),
-                any(LocalDateTime.class),
-                any(LocalDateTime.class)
-        );
+        // Assert
+        assertEquals(List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY"),
+                new ArrayList<>(trends.keySet()));
+        assertEquals(2L, trends.get(twoDaysAgo.getDayOfWeek().toString()));
+        assertEquals(1L, trends.get(threeDaysAgo.getDayOfWeek().toString()));
+        assertEquals(3L, trends.values().stream().mapToLong(Long::longValue).sum());
     }
 
     @Test
     void getAverageCompletionTime_ShouldReturnAverage() {
-        List<Task> completedTasks = Arrays.asList(completedTask1, completedTask2);
-        when(taskRepository.findByUserIdAndTaskStatus(userId, TaskStatus.COMPLETED))
-                .thenReturn(completedTasks);
+        when(statsRepository.findById(userId)).thenReturn(Optional.of(new UserTaskStats(userId, 4, 3, 8, 2)));
 
         Optional<Double> average = analyticsService.getAverageCompletionTime(userId);
 
@@ -107,14 +150,53 @@ class AnalyticsServiceImplTest {
 
     @Test
     void getAverageCompletionTime_NoEstimates_ShouldReturnEmpty() {
-        Task taskWithoutEstimate = new Task();
-        taskWithoutEstimate.setTaskStatus(TaskStatus.COMPLETED);
-
-        when(taskRepository.findByUserIdAndTaskStatus(userId, TaskStatus.COMPLETED))
-                .thenReturn(List.of(taskWithoutEstimate));
+        when(statsRepository.findById(userId)).thenReturn(Optional.of(new UserTaskStats(userId, 1, 1, 0, 0)));
 
         Optional<Double> average = analyticsService.getAverageCompletionTime(userId);
 
         assertTrue(average.isEmpty());
     }
+
+    @Test
+    void getOrganizationAnalytics_ShouldRankEmployeesByRecentThroughput() {
+        // Arrange
+        LocalDate today = LocalDate.now();
+        OrganizationStats stats = new OrganizationStats(today);
+        stats.add(new TaskAnalyticsRow(1L, TaskStatus.PENDING, "HIGH", null, null));
+        stats.add(new TaskAnalyticsRow(2L, TaskStatus.COMPLETED, "HIGH", null, today.atTime(9, 0)));
+        stats.add(new TaskAnalyticsRow(2L, TaskStatus.PENDING, "LOW", null, null));
+        Stream<TaskAnalyticsRow> rows = Stream.empty();
+        when(taskRepository.streamAnalyticsRows()).thenReturn(rows);
+        when(statsAggregator.aggregate(rows, today)).thenReturn(stats);
+        when(userRepository.findAllById(Set.of(1L, 2L))).thenReturn(List.of(user(1L, "Ann"), user(2L, "Bob")));
+
+        // Act
+        OrganizationAnalytics analytics = analyticsService.getOrganizationAnalytics();
+
+        // Assert
+        assertEquals(3, analytics.getTotalTasks());
+        assertEquals(33.3, analytics.getCompletionPercentage());
+        assertEquals(Map.of("HIGH", 2L, "LOW", 1L), analytics.getPriorityDistribution());
+        assertEquals(List.of(2L, 1L), analytics.getEmployees().stream().map(e -> e.getEmployeeId()).toList());
+        assertEquals("Bob", analytics.getEmployees().get(0).getName());
+        assertEquals(50.0, analytics.getEmployees().get(0).getCompletionPercentage());
+        assertEquals(1, analytics.getEmployees().get(0).getCompletedLastWeek());
+    }
+
+    @Test
+    void rebuildStats_ShouldDelegateToRebuilder() {
+        // Act
+        analyticsService.rebuildStats();
+
+        // Assert
+        verify(statsRebuilder).rebuild();
+        verifyNoInteractions(statsRepository, completionDayRepository);
+    }
+
+    private static User user(Long id, String name) {
+        User user = new User();
+        user.setId(id);
+        user.setName(name);
+        return user;
+    }
 }
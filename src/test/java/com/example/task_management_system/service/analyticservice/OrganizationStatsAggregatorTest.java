@@ -0,0 +1,101 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.dto.TaskAnalyticsRow;
+import com.example.task_management_system.enums.TaskStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OrganizationStatsAggregatorTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 3, 12);
+
+    private OrganizationStatsAggregator aggregator;
+
+    @AfterEach
+    void tearDown() {
+        aggregator.shutdown();
+    }
+
+    @Test
+    void aggregate_ShouldCountCompletionOverdueAndPriorities() {
+        // Arrange: chunks of two, so rows of one employee land on different workers
+        aggregator = new OrganizationStatsAggregator(3, 2);
+        List<TaskAnalyticsRow> rows = List.of(
+                row(1L, TaskStatus.COMPLETED, "HIGH", TODAY.minusDays(5), TODAY.minusDays(2)),
+                row(1L, TaskStatus.PENDING, "HIGH", TODAY.minusDays(1), null),
+                row(1L, TaskStatus.PENDING, "LOW", TODAY, null),
+                row(2L, TaskStatus.COMPLETED, null, null, TODAY.minusDays(30)),
+                row(2L, TaskStatus.PENDING, "LOW", null, null));
+
+        // Act
+        OrganizationStats stats = aggregator.aggregate(rows.stream(), TODAY);
+
+        // Assert
+        assertEquals(5, stats.getTotalTasks());
+        assertEquals(2, stats.getCompletedTasks());
+        assertEquals(1, stats.getOverdueTasks(), "due yesterday and still open; due today is not overdue");
+        assertEquals(Map.of("HIGH", 2L, "LOW", 2L, "NONE", 1L), stats.getPriorityDistribution());
+        assertArrayEquals(new long[]{3, 1, 1, 1}, stats.getEmployeeCounts().get(1L));
+        assertArrayEquals(new long[]{2, 1, 0, 0}, stats.getEmployeeCounts().get(2L));
+    }
+
+    @Test
+    void aggregate_ShouldMatchSingleThreadedCountsOnLargeInput() {
+        // Arrange
+        aggregator = new OrganizationStatsAggregator(4, 1_000);
+        List<TaskAnalyticsRow> rows = randomRows(25_321);
+        OrganizationStats expected = new OrganizationStats(TODAY);
+        rows.forEach(expected::add);
+
+        // Act
+        OrganizationStats stats = aggregator.aggregate(rows.stream(), TODAY);
+
+        // Assert
+        assertEquals(expected.getTotalTasks(), stats.getTotalTasks());
+        assertEquals(expected.getCompletedTasks(), stats.getCompletedTasks());
+        assertEquals(expected.getOverdueTasks(), stats.getOverdueTasks());
+        assertEquals(expected.getPriorityDistribution(), stats.getPriorityDistribution());
+        assertEquals(expected.getEmployeeCounts().keySet(), stats.getEmployeeCounts().keySet());
+        expected.getEmployeeCounts().forEach((userId, counts) ->
+                assertArrayEquals(counts, stats.getEmployeeCounts().get(userId)));
+    }
+
+    @Test
+    void aggregate_EmptyStream_ShouldReturnZeros() {
+        aggregator = new OrganizationStatsAggregator(2, 10);
+
+        OrganizationStats stats = aggregator.aggregate(List.<TaskAnalyticsRow>of().stream(), TODAY);
+
+        assertEquals(0, stats.getTotalTasks());
+        assertTrue(stats.getEmployeeCounts().isEmpty());
+    }
+
+    private static TaskAnalyticsRow row(Long userId, TaskStatus status, String priority,
+                                        LocalDate deadline, LocalDate completedOn) {
+        return new TaskAnalyticsRow(userId, status, priority,
+                deadline != null ? Date.valueOf(deadline) : null,
+                completedOn != null ? completedOn.atTime(10, 0) : null);
+    }
+
+    private static List<TaskAnalyticsRow> randomRows(int count) {
+        Random random = new Random(7);
+        String[] priorities = {"HIGH", "MEDIUM", "LOW"};
+        List<TaskAnalyticsRow> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            boolean completed = random.nextBoolean();
+            rows.add(row((long) random.nextInt(50), completed ? TaskStatus.COMPLETED : TaskStatus.PENDING,
+                    priorities[random.nextInt(priorities.length)], TODAY.plusDays(random.nextInt(20) - 10),
+                    completed ? TODAY.minusDays(random.nextInt(14)) : null));
+        }
+        return rows;
+    }
+}
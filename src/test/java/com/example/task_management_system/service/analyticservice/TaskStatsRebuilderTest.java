@@ -0,0 +1,129 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.exception.JobAlreadyRunningException;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
+import com.example.task_management_system.service.scheduling.JobLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskStatsRebuilderTest {
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private UserTaskStatsRepository statsRepository;
+
+    @Mock
+    private UserCompletionDayRepository completionDayRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatsRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        rebuilder = new TaskStatsRebuilder(jobLockService, statsRepository, completionDayRepository,
+                transactionManager, Duration.ofMinutes(30));
+    }
+
+    @Test
+    void rebuild_ShouldClearThenRecomputeBothRollupsUnderTheLease() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(TaskStatsRebuilder.JOB_NAME), any())).thenReturn(true);
+
+        // Act
+        rebuilder.rebuild();
+
+        // Assert
+        InOrder order = inOrder(jobLockService, statsRepository, completionDayRepository, transactionManager);
+        order.verify(jobLockService).tryAcquire(eq(TaskStatsRebuilder.JOB_NAME), any());
+        order.verify(statsRepository).deleteAllRows();
+        order.verify(completionDayRepository).deleteAllRows();
+        order.verify(statsRepository).insertFromTasks();
+        order.verify(completionDayRepository).insertFromTasks();
+        order.verify(transactionManager).commit(any());
+        order.verify(jobLockService).release(TaskStatsRebuilder.JOB_NAME);
+    }
+
+    @Test
+    void rebuild_ShouldBeRejectedWhileAnotherRebuildHoldsTheLease() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(TaskStatsRebuilder.JOB_NAME), any())).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(JobAlreadyRunningException.class, () -> rebuilder.rebuild());
+        verify(statsRepository, never()).deleteAllRows();
+        verify(jobLockService, never()).release(any());
+    }
+
+    @Test
+    void backfillIfEmpty_ShouldRebuildEmptyRollups() {
+        // Arrange
+        when(statsRepository.count()).thenReturn(0L);
+        when(jobLockService.tryAcquire(eq(TaskStatsRebuilder.JOB_NAME), any())).thenReturn(true);
+
+        // Act
+        rebuilder.backfillIfEmpty();
+
+        // Assert
+        verify(statsRepository).insertFromTasks();
+        verify(completionDayRepository).insertFromTasks();
+        verify(jobLockService).release(TaskStatsRebuilder.JOB_NAME);
+    }
+
+    @Test
+    void backfillIfEmpty_ShouldLeaveFilledRollupsAlone() {
+        // Arrange
+        when(statsRepository.count()).thenReturn(12L);
+
+        // Act
+        rebuilder.backfillIfEmpty();
+
+        // Assert
+        verifyNoInteractions(jobLockService, completionDayRepository);
+        verify(statsRepository, never()).deleteAllRows();
+    }
+
+    @Test
+    void backfillIfEmpty_ShouldSkipWhenAnotherNodeIsBackfilling() {
+        // Arrange
+        when(statsRepository.count()).thenReturn(0L);
+        when(jobLockService.tryAcquire(eq(TaskStatsRebuilder.JOB_NAME), any())).thenReturn(false);
+
+        // Act
+        rebuilder.backfillIfEmpty();
+
+        // Assert
+        verify(statsRepository, never()).deleteAllRows();
+        verify(jobLockService, never()).release(any());
+    }
+
+    @Test
+    void backfillIfEmpty_ShouldSkipWhenFilledWhileWaitingForTheLease() {
+        // Arrange: empty at first, filled by the node that held the lease before
+        when(statsRepository.count()).thenReturn(0L, 12L);
+        when(jobLockService.tryAcquire(eq(TaskStatsRebuilder.JOB_NAME), any())).thenReturn(true);
+
+        // Act
+        rebuilder.backfillIfEmpty();
+
+        // Assert
+        verify(statsRepository, never()).deleteAllRows();
+        verify(jobLockService).release(TaskStatsRebuilder.JOB_NAME);
+    }
+}
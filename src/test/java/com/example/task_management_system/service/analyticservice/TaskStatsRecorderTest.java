@@ -0,0 +1,194 @@
+package com.example.task_management_system.service.analyticservice;
+
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.entity.UserCompletionDay;
+import com.example.task_management_system.entity.UserCompletionDayId;
+import com.example.task_management_system.entity.UserTaskStats;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.repository.UserCompletionDayRepository;
+import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.repository.UserTaskStatsRepository;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder.Snapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Applies deltas against a real database, outside a test transaction, so each write commits the way
+ * it does in production. H2 runs in MySQL mode for the ON DUPLICATE KEY UPDATE upserts.
+ */
+@DataJpaTest(properties = {
+        "spring.test.database.replace=none",
+        "spring.datasource.url=jdbc:h2:mem:task-stats;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskStatsRecorderTest {
+
+    private static final LocalDateTime MONDAY_NOON = LocalDate.of(2025, 3, 3).atTime(12, 0);
+
+    @Autowired
+    private UserTaskStatsRepository statsRepository;
+
+    @Autowired
+    private UserCompletionDayRepository completionDayRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TaskStatsRecorder recorder;
+    private TransactionTemplate transaction;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new TaskStatsRecorder(statsRepository, completionDayRepository);
+        transaction = new TransactionTemplate(transactionManager);
+        user = new User();
+        user.setName("Stats User");
+        user.setEmail("stats@example.com");
+        user.setPassword("secret");
+        user.setUserRole(UserRole.EMPLOYEE);
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transaction.executeWithoutResult(status -> {
+            completionDayRepository.deleteAllRows();
+            statsRepository.deleteAllRows();
+        });
+        taskRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void recordChange_ShouldCreateRowsAndApplyDeltas() {
+        // Act
+        record(null, snapshot(TaskStatus.PENDING, null, 30));
+        record(null, snapshot(TaskStatus.PENDING, null, 60));
+        record(snapshot(TaskStatus.PENDING, null, 60), snapshot(TaskStatus.COMPLETED, MONDAY_NOON, 60));
+
+        // Assert
+        UserTaskStats stats = statsRepository.findById(user.getId()).orElseThrow();
+        assertEquals(2, stats.getTotalTasks());
+        assertEquals(1, stats.getCompletedTasks());
+        assertEquals(60, stats.getCompletedEstimateSum());
+        assertEquals(1, stats.getCompletedEstimateCount());
+        assertEquals(1, completionDayRepository.findById(day(MONDAY_NOON)).orElseThrow().getCompletedTasks());
+    }
+
+    @Test
+    void recordChange_ShouldMoveCompletionOutOfItsDayWhenReopenedOrDeleted() {
+        // Arrange
+        record(null, snapshot(TaskStatus.COMPLETED, MONDAY_NOON, 20));
+        record(null, snapshot(TaskStatus.COMPLETED, MONDAY_NOON, null));
+
+        // Act: reopen one, delete the other
+        record(snapshot(TaskStatus.COMPLETED, MONDAY_NOON, 20), snapshot(TaskStatus.PENDING, null, 20));
+        record(snapshot(TaskStatus.COMPLETED, MONDAY_NOON, null), null);
+
+        // Assert
+        UserTaskStats stats = statsRepository.findById(user.getId()).orElseThrow();
+        assertEquals(1, stats.getTotalTasks());
+        assertEquals(0, stats.getCompletedTasks());
+        assertEquals(0, stats.getCompletedEstimateCount());
+        assertEquals(0, completionDayRepository.findById(day(MONDAY_NOON)).orElseThrow().getCompletedTasks());
+    }
+
+    @Test
+    void recordChange_ShouldRollBackWithTheCallersTransaction() {
+        // Arrange
+        record(null, snapshot(TaskStatus.PENDING, null, null));
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            recorder.recordChange(null, snapshot(TaskStatus.PENDING, null, null));
+            status.setRollbackOnly();
+        });
+
+        // Assert
+        assertEquals(1, statsRepository.findById(user.getId()).orElseThrow().getTotalTasks());
+    }
+
+    @Test
+    void insertFromTasks_ShouldMatchIncrementalRollups() {
+        // Arrange: the same tasks recorded incrementally and stored
+        List<Task> tasks = List.of(
+                task(TaskStatus.COMPLETED, MONDAY_NOON, 30),
+                task(TaskStatus.COMPLETED, MONDAY_NOON.plusDays(1), null),
+                task(TaskStatus.PENDING, null, 45));
+        for (Task task : tasks) {
+            taskRepository.save(task);
+            record(null, Snapshot.of(task));
+        }
+        UserTaskStats incrementalStats = statsRepository.findById(user.getId()).orElseThrow();
+        List<UserCompletionDay> incrementalDays = sortedDays();
+
+        // Act
+        transaction.executeWithoutResult(status -> {
+            statsRepository.deleteAllRows();
+            completionDayRepository.deleteAllRows();
+            statsRepository.insertFromTasks();
+            completionDayRepository.insertFromTasks();
+        });
+
+        // Assert
+        assertEquals(incrementalStats, statsRepository.findById(user.getId()).orElseThrow());
+        assertEquals(incrementalDays, sortedDays());
+    }
+
+    private void record(Snapshot before, Snapshot after) {
+        transaction.executeWithoutResult(status -> recorder.recordChange(before, after));
+    }
+
+    private Snapshot snapshot(TaskStatus status, LocalDateTime completedAt, Integer estimate) {
+        return new Snapshot(user.getId(), status, completedAt, estimate);
+    }
+
+    private Task task(TaskStatus status, LocalDateTime completedAt, Integer estimate) {
+        Task task = new Task();
+        task.setTitle("Task");
+        task.setTaskStatus(status);
+        task.setCompletedAt(completedAt);
+        task.setTimeEstimate(estimate);
+        task.setUser(user);
+        return task;
+    }
+
+    private UserCompletionDayId day(LocalDateTime at) {
+        return new UserCompletionDayId(user.getId(), at.toLocalDate());
+    }
+
+    private List<UserCompletionDay> sortedDays() {
+        return completionDayRepository.findAll().stream()
+                .sorted(Comparator.comparing(day -> day.getId().getCompletionDate()))
+                .toList();
+    }
+}
@@ -2,17 +2,22 @@ package com.example.task_management_system.service.auth;
 
 import com.example.task_management_system.dto.SignupRequest;
 import com.example.task_management_system.dto.UserDto;
+import com.example.task_management_system.entity.EmailOutbox;
 import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.EmailStatus;
 import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.exception.EmailAlreadyInUseException;
+import com.example.task_management_system.repository.EmailOutboxRepository;
 import com.example.task_management_system.repository.UserRepository;
 import com.example.task_management_system.service.notification.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.Optional;
@@ -31,7 +36,7 @@ class AuthServiceImplTest {
     private PasswordEncoder passwordEncoder;
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository emailOutboxRepository;
 
     @Mock
     private NotificationService notificationService;
@@ -74,7 +79,7 @@ class AuthServiceImplTest {
     void signupUser_ShouldCreateNewUser() {
         when(userRepository.findByEmail(any())).thenReturn(Optional.empty());
         when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
-        when(userRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         UserDto result = authService.signupUser(signupRequest);
 
@@ -82,15 +87,41 @@ class AuthServiceImplTest {
         assertEquals("Test User", result.getName());
         assertEquals("test@example.com", result.getEmail());
         assertEquals(UserRole.EMPLOYEE, result.getUserRole());
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
+    }
+
+    @Test
+    void signupUser_ShouldQueueWelcomeEmailInsteadOfSending() {
+        when(userRepository.findByEmail(any())).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        authService.signupUser(signupRequest);
+
+        ArgumentCaptor<EmailOutbox> queued = ArgumentCaptor.forClass(EmailOutbox.class);
+        verify(emailOutboxRepository).save(queued.capture());
+        assertEquals("test@example.com", queued.getValue().getRecipient());
+        assertEquals(EmailStatus.PENDING, queued.getValue().getStatus());
+        assertTrue(queued.getValue().getBody().contains("Test User"));
     }
 
     @Test
     void signupUser_ShouldThrowWhenEmailExists() {
         when(userRepository.findByEmail(any())).thenReturn(Optional.of(new User()));
 
-        assertThrows(IllegalArgumentException.class, () -> authService.signupUser(signupRequest));
-        verify(userRepository, never()).save(any(User.class));
+        assertThrows(EmailAlreadyInUseException.class, () -> authService.signupUser(signupRequest));
+        verify(userRepository, never()).saveAndFlush(any(User.class));
+        verifyNoInteractions(emailOutboxRepository);
+    }
+
+    @Test
+    void signupUser_ShouldReportConcurrentDuplicateAsEmailInUse() {
+        when(userRepository.findByEmail(any())).thenReturn(Optional.empty());
+        when(passwordEncoder.encode(any())).thenReturn("encodedPassword");
+        when(userRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_users_email"));
+
+        assertThrows(EmailAlreadyInUseException.class, () -> authService.signupUser(signupRequest));
+        verifyNoInteractions(emailOutboxRepository);
     }
 
     @Test
@@ -0,0 +1,67 @@
+package com.example.task_management_system.service.auth;
+
+import com.example.task_management_system.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginRateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private LoginRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        // 10 per IP refilling 10/min, 3 per email refilling 6/min (one every 10s)
+        limiter = new LoginRateLimiter(meterRegistry, 10, 10, 3, 6, 1000, now::get);
+    }
+
+    @Test
+    void checkLogin_ShouldRefuseAnEmailOnceItsBucketIsEmpty() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("10.0.0.1", "victim@example.com");
+        }
+
+        // Act
+        RateLimitExceededException refused = assertThrows(RateLimitExceededException.class,
+                () -> limiter.checkLogin("10.0.0.2", "Victim@Example.com"));
+
+        // Assert: same account from another address, and the retry hint points at the next token
+        assertEquals(10, refused.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("auth.login.rate_limited").tag("key", "email").counter().count());
+    }
+
+    @Test
+    void checkLogin_ShouldRefuseAnIpTryingManyEmails() {
+        // Arrange
+        for (int i = 0; i < 10; i++) {
+            limiter.checkLogin("10.0.0.1", "user" + i + "@example.com");
+        }
+
+        // Act & Assert
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkLogin("10.0.0.1", "other@example.com"));
+        limiter.checkLogin("10.0.0.9", "other@example.com");
+    }
+
+    @Test
+    void checkLogin_ShouldAllowAgainAfterRefill() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            limiter.checkLogin("10.0.0.1", "user@example.com");
+        }
+        assertThrows(RateLimitExceededException.class, () -> limiter.checkLogin("10.0.0.1", "user@example.com"));
+
+        // Act
+        now.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        // Assert
+        assertDoesNotThrow(() -> limiter.checkLogin("10.0.0.1", "user@example.com"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.example.task_management_system.service.changefeed;
+
+import com.example.task_management_system.dto.TaskChangePage;
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.exception.SubscriberLimitExceededException;
+import com.example.task_management_system.repository.TaskChangeEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeFeedTest {
+
+    @Mock
+    private TaskChangeEventRepository eventRepository;
+
+    private TaskChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        feed = new TaskChangeFeed(eventRepository, 2, Duration.ofSeconds(30), 60_000);
+    }
+
+    @Test
+    void read_ShouldReturnEventsAndAdvanceOffset() {
+        // Arrange
+        when(eventRepository.findAfter(10L, PageRequest.of(0, 100))).thenReturn(List.of(event(11L), event(12L)));
+
+        // Act
+        TaskChangePage page = feed.read(10L, 100);
+
+        // Assert
+        assertEquals(2, page.getEvents().size());
+        assertEquals(12L, page.getNextOffset());
+    }
+
+    @Test
+    void read_ShouldKeepOffsetAndCapLimit() {
+        // Arrange
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        TaskChangePage page = feed.read(10L, 1_000_000);
+
+        // Assert
+        assertTrue(page.getEvents().isEmpty());
+        assertEquals(10L, page.getNextOffset());
+        verify(eventRepository).findAfter(10L, PageRequest.of(0, TaskChangeFeed.MAX_LIMIT));
+    }
+
+    @Test
+    void poll_ShouldAnswerAtOnceWhenEventsExist() {
+        // Arrange
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(event(11L)));
+
+        // Act
+        DeferredResult<TaskChangePage> result = feed.poll(10L, 100, Duration.ofSeconds(30));
+
+        // Assert
+        assertEquals(11L, ((TaskChangePage) result.getResult()).getNextOffset());
+        assertEquals(0, feed.waiterCount());
+    }
+
+    @Test
+    void poll_ShouldWaitUntilSequencerPublishes() {
+        // Arrange
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(), List.of(event(11L)));
+        when(eventRepository.findLastOffset()).thenReturn(10L);
+
+        // Act
+        DeferredResult<TaskChangePage> result = feed.poll(10L, 100, Duration.ofSeconds(30));
+        boolean answeredEarly = result.hasResult();
+        feed.published(11L);
+
+        // Assert
+        assertFalse(answeredEarly);
+        assertEquals(11L, ((TaskChangePage) result.getResult()).getNextOffset());
+        assertEquals(0, feed.waiterCount());
+    }
+
+    @Test
+    void checkForEvents_ShouldShareOneReadBetweenWaitersAtTheSameOffset() {
+        // Arrange
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(), List.of(), List.of(event(11L)));
+        when(eventRepository.findLastOffset()).thenReturn(10L, 10L, 11L);
+        DeferredResult<TaskChangePage> first = feed.poll(10L, 100, Duration.ofSeconds(30));
+        DeferredResult<TaskChangePage> second = feed.poll(10L, 100, Duration.ofSeconds(30));
+
+        // Act
+        feed.checkForEvents();
+
+        // Assert
+        assertSame(first.getResult(), second.getResult());
+        verify(eventRepository, times(3)).findAfter(eq(10L), any(Pageable.class));
+    }
+
+    @Test
+    void start_ShouldWakeWaitersFromItsOwnThread() throws InterruptedException {
+        // Arrange: no @Scheduled infrastructure, as on a node kept out of the cluster jobs
+        TaskChangeFeed checking = new TaskChangeFeed(eventRepository, 2, Duration.ofSeconds(30), 10);
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of(), List.of(event(11L)));
+        when(eventRepository.findLastOffset()).thenReturn(10L, 10L, 11L);
+        DeferredResult<TaskChangePage> result = checking.poll(10L, 100, Duration.ofSeconds(30));
+
+        // Act
+        checking.start();
+
+        // Assert
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!result.hasResult() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(11L, ((TaskChangePage) result.getResult()).getNextOffset());
+        } finally {
+            checking.stop();
+        }
+    }
+
+    @Test
+    void poll_ShouldRejectBeyondWaiterCap() {
+        // Arrange
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of());
+        when(eventRepository.findLastOffset()).thenReturn(10L);
+        feed.poll(10L, 100, Duration.ofSeconds(30));
+        feed.poll(10L, 100, Duration.ofSeconds(30));
+
+        // Act & Assert
+        assertThrows(SubscriberLimitExceededException.class, () -> feed.poll(10L, 100, Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void poll_ShouldNotWaitWithoutWaitTime() {
+        // Arrange
+        when(eventRepository.findAfter(eq(10L), any(Pageable.class))).thenReturn(List.of());
+
+        // Act
+        DeferredResult<TaskChangePage> result = feed.poll(10L, 100, Duration.ZERO);
+
+        // Assert
+        assertTrue(((TaskChangePage) result.getResult()).getEvents().isEmpty());
+        verify(eventRepository, never()).findLastOffset();
+    }
+
+    private TaskChangeEvent event(long offset) {
+        return new TaskChangeEvent(offset, offset, 1L, TaskChangeType.UPDATED, TaskStatus.PENDING,
+                TaskStatus.COMPLETED, "{\"taskStatus\":\"COMPLETED\"}", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.task_management_system.service.changefeed;
+
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.enums.TaskStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeRecorderTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    // ISO dates, as Spring Boot configures the application's mapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private TaskChangeRecorder recorder;
+    private TaskChangeRecorder.State pending;
+
+    @BeforeEach
+    void setUp() {
+        recorder = new TaskChangeRecorder(entityManager, objectMapper);
+        pending = new TaskChangeRecorder.State("Write report", "Quarterly numbers", "High",
+                LocalDate.of(2025, 3, 31), TaskStatus.PENDING, 7L, null, 90);
+    }
+
+    @Test
+    void recordChange_ShouldWriteCreatedEventWithAllFieldsAfterFlush() throws Exception {
+        // Act
+        recorder.recordChange(1L, null, pending);
+
+        // Assert
+        InOrder inOrder = inOrder(entityManager);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(entityManager).persist(any(TaskChangeEvent.class));
+        TaskChangeEvent event = persisted().get(0);
+        assertEquals(TaskChangeType.CREATED, event.getChangeType());
+        assertEquals(1L, event.getTaskId());
+        assertNull(event.getFromStatus());
+        assertEquals(TaskStatus.PENDING, event.getToStatus());
+        assertNull(event.getFeedOffset());
+        assertEquals("2025-03-31", objectMapper.readTree(event.getChanges()).get("deadline").asText());
+        assertEquals(8, objectMapper.readTree(event.getChanges()).size());
+    }
+
+    @Test
+    void recordChange_ShouldWriteOnlyChangedFieldsAndStatusTransition() {
+        // Arrange
+        LocalDateTime completedAt = LocalDateTime.of(2025, 3, 30, 17, 0);
+        TaskChangeRecorder.State completed = new TaskChangeRecorder.State("Write report", "Quarterly numbers", "High",
+                LocalDate.of(2025, 3, 31), TaskStatus.COMPLETED, 7L, completedAt, 90);
+
+        // Act
+        recorder.recordChange(1L, pending, completed);
+
+        // Assert
+        TaskChangeEvent event = persisted().get(0);
+        assertEquals(TaskChangeType.UPDATED, event.getChangeType());
+        assertEquals(TaskStatus.PENDING, event.getFromStatus());
+        assertEquals(TaskStatus.COMPLETED, event.getToStatus());
+        assertEquals("{\"taskStatus\":\"COMPLETED\",\"completedAt\":\"2025-03-30T17:00:00\"}", event.getChanges());
+    }
+
+    @Test
+    void recordChange_ShouldLeaveStatusesEmptyWhenOnlyFieldsChanged() {
+        // Arrange
+        TaskChangeRecorder.State renamed = new TaskChangeRecorder.State("Write annual report", "Quarterly numbers",
+                "High", LocalDate.of(2025, 3, 31), TaskStatus.PENDING, 7L, null, 90);
+
+        // Act
+        recorder.recordChange(1L, pending, renamed);
+
+        // Assert
+        TaskChangeEvent event = persisted().get(0);
+        assertNull(event.getFromStatus());
+        assertNull(event.getToStatus());
+        assertEquals("{\"title\":\"Write annual report\"}", event.getChanges());
+    }
+
+    @Test
+    void recordChange_ShouldWriteNothingWhenNothingChanged() {
+        // Act
+        recorder.recordChange(1L, pending, pending);
+
+        // Assert
+        verifyNoInteractions(entityManager);
+    }
+
+    @Test
+    void apply_ShouldFlushOnceForBulkChanges() {
+        // Arrange
+        TaskChangeRecorder.Changes changes = new TaskChangeRecorder.Changes();
+        changes.add(1L, null, pending);
+        changes.add(2L, pending, null);
+
+        // Act
+        recorder.apply(changes);
+
+        // Assert
+        verify(entityManager, times(1)).flush();
+        List<TaskChangeEvent> events = persisted();
+        assertEquals(TaskChangeType.CREATED, events.get(0).getChangeType());
+        assertEquals(TaskChangeType.DELETED, events.get(1).getChangeType());
+        assertEquals(TaskStatus.PENDING, events.get(1).getFromStatus());
+        assertNull(events.get(1).getChanges());
+    }
+
+    private List<TaskChangeEvent> persisted() {
+        ArgumentCaptor<TaskChangeEvent> captor = ArgumentCaptor.forClass(TaskChangeEvent.class);
+        verify(entityManager, atLeastOnce()).persist(captor.capture());
+        return captor.getAllValues();
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.task_management_system.service.changefeed;
+
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.repository.TaskChangeEventRepository;
+import com.example.task_management_system.service.scheduling.JobLockService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskChangeSequencerTest {
+
+    @Mock
+    private TaskChangeEventRepository eventRepository;
+
+    @Mock
+    private TaskChangeFeed feed;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TaskChangeSequencer sequencer;
+
+    @BeforeEach
+    void setUp() {
+        sequencer = new TaskChangeSequencer(eventRepository, feed, jobLockService, transactionManager,
+                2, Duration.ofSeconds(10), 60_000);
+    }
+
+    @Test
+    void sequencePending_ShouldNumberEventsAfterTheLastOffsetAndWakeTheFeed() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(TaskChangeSequencer.JOB_NAME), any())).thenReturn(true);
+        TaskChangeEvent first = event(5L);
+        TaskChangeEvent second = event(3L);
+        TaskChangeEvent third = event(9L);
+        when(eventRepository.findUnsequenced(any(Pageable.class)))
+                .thenReturn(List.of(first, second), List.of(third));
+        when(eventRepository.findLastOffset()).thenReturn(40L, 42L);
+
+        // Act
+        int sequenced = sequencer.sequencePending();
+
+        // Assert
+        assertEquals(3, sequenced);
+        assertEquals(41L, first.getFeedOffset());
+        assertEquals(42L, second.getFeedOffset());
+        assertEquals(43L, third.getFeedOffset());
+        verify(transactionManager, times(2)).commit(any());
+        verify(feed).published(43L);
+    }
+
+    @Test
+    void sequencePending_ShouldDoNothingWithoutTheLease() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(TaskChangeSequencer.JOB_NAME), any())).thenReturn(false);
+
+        // Act
+        int first = sequencer.sequencePending();
+        int second = sequencer.sequencePending();
+
+        // Assert
+        assertEquals(0, first + second);
+        verifyNoInteractions(eventRepository, feed);
+        // not asked again before half the lease has passed
+        verify(jobLockService, times(1)).tryAcquire(any(), any());
+    }
+
+    @Test
+    void sequencePending_ShouldStopAndRecheckLeaseWhenOffsetsCollide() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(TaskChangeSequencer.JOB_NAME), any())).thenReturn(true);
+        when(eventRepository.findUnsequenced(any(Pageable.class)))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry for idx_task_change_events_offset"));
+
+        // Act
+        int first = sequencer.sequencePending();
+        sequencer.sequencePending();
+
+        // Assert
+        assertEquals(0, first);
+        verify(jobLockService, times(2)).tryAcquire(any(), any());
+        verify(feed, never()).published(anyLong());
+    }
+
+    @Test
+    void start_ShouldSequenceOnItsOwnThread() {
+        // Arrange
+        TaskChangeSequencer running = new TaskChangeSequencer(eventRepository, feed, jobLockService, transactionManager,
+                2, Duration.ofSeconds(10), 10);
+        when(jobLockService.tryAcquire(eq(TaskChangeSequencer.JOB_NAME), any())).thenReturn(true);
+        when(eventRepository.findUnsequenced(any(Pageable.class))).thenReturn(List.of(event(5L)), List.of());
+        when(eventRepository.findLastOffset()).thenReturn(40L);
+
+        // Act
+        running.start();
+
+        // Assert
+        try {
+            verify(feed, timeout(5000)).published(41L);
+        } finally {
+            running.stop();
+        }
+    }
+
+    private TaskChangeEvent event(long id) {
+        return new TaskChangeEvent(id, null, 1L, TaskChangeType.CREATED, null, null, "{}", LocalDateTime.now());
+    }
+}
@@ -1,10 +1,16 @@
 package com.example.task_management_system.service.employee;
 
+import com.example.task_management_system.dto.BulkTaskResult;
 import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.dto.TaskStatusRow;
+import com.example.task_management_system.dto.TaskStatusUpdate;
 import com.example.task_management_system.entity.Task;
 import com.example.task_management_system.entity.User;
 import com.example.task_management_system.enums.TaskStatus;
+import com.example.task_management_system.exception.PreconditionFailedException;
 import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.service.analyticservice.TaskStatsRecorder;
+import com.example.task_management_system.service.changefeed.TaskChangeRecorder;
 import com.example.task_management_system.service.notification.NotificationService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -13,10 +19,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -30,6 +38,12 @@ class EmployeeServiceImplTest {
     @Mock
     private NotificationService notificationService;
 
+    @Mock
+    private TaskStatsRecorder taskStatsRecorder;
+
+    @Mock
+    private TaskChangeRecorder taskChangeRecorder;
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
@@ -53,41 +67,129 @@ class EmployeeServiceImplTest {
 
     @Test
     void getTasksByUserId_ShouldReturnTasks() {
-        when(taskRepository.findByUserId(1L)).thenReturn(List.of(task));
+        when(taskRepository.findTaskDtosByUserId(1L)).thenReturn(List.of(Task.fromTask(task)));
 
         List<TaskDto> result = employeeService.getTasksByUserId(1L);
 
         assertEquals(1, result.size());
         assertEquals("Test Task", result.get(0).getTitle());
-        verify(taskRepository, times(1)).findByUserId(1L);
+        verify(taskRepository, times(1)).findTaskDtosByUserId(1L);
+    }
+
+    @Test
+    void updateTask_ShouldSetStatusWithoutLoadingTheTask() {
+        when(taskRepository.findStatusRow(1L)).thenReturn(Optional.of(row(TaskStatus.PENDING, 3L)));
+        when(taskRepository.updateStatusIfUnchanged(eq(1L), eq(TaskStatus.PENDING), eq(TaskStatus.COMPLETED),
+                any(LocalDateTime.class))).thenReturn(1);
+
+        TaskDto result = employeeService.updateTask(1L, "COMPLETED", null);
+
+        assertEquals(TaskStatus.COMPLETED, result.getTaskStatus());
+        assertEquals(4L, result.getVersion());
+        assertEquals("Test User", result.getEmployeeName());
+        verify(taskRepository, never()).findById(any());
+        verify(notificationService).createInAppNotification(eq(user.getId()), contains("from PENDING to COMPLETED"));
+        verify(taskStatsRecorder).recordChange(
+                eq(new TaskStatsRecorder.Snapshot(user.getId(), TaskStatus.PENDING, null, 30)),
+                argThat(after -> after.status() == TaskStatus.COMPLETED && after.completedAt() != null));
+        verify(taskChangeRecorder).recordChange(eq(1L),
+                argThat(before -> before.status() == TaskStatus.PENDING),
+                argThat(after -> after.status() == TaskStatus.COMPLETED && "Test Task".equals(after.title())));
+    }
+
+    @Test
+    void updateTask_WhenStatusChangedConcurrently_ShouldConflict() {
+        when(taskRepository.findStatusRow(1L)).thenReturn(Optional.of(row(TaskStatus.PENDING, 3L)));
+        when(taskRepository.updateStatusIfUnchanged(eq(1L), eq(TaskStatus.PENDING), eq(TaskStatus.COMPLETED), any()))
+                .thenReturn(0);
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> employeeService.updateTask(1L, "COMPLETED", null));
+        verifyNoInteractions(taskStatsRecorder, taskChangeRecorder, notificationService);
+    }
+
+    @Test
+    void updateTask_WithUnchangedStatus_ShouldNotWrite() {
+        when(taskRepository.findStatusRow(1L)).thenReturn(Optional.of(row(TaskStatus.PENDING, 3L)));
+
+        TaskDto result = employeeService.updateTask(1L, "pending", null);
+
+        assertEquals(3L, result.getVersion());
+        verify(taskRepository, never()).updateStatusIfUnchanged(any(), any(), any(), any());
+        verifyNoInteractions(taskStatsRecorder, taskChangeRecorder, notificationService);
     }
 
     @Test
-    void updateTask_ShouldUpdateStatus() {
+    void updateTask_WithExpectedVersion_ShouldUpdateTheVersionedEntity() {
+        task.setVersion(5L);
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
-        when(taskRepository.save(any())).thenReturn(task);
+        when(taskRepository.saveAndFlush(any())).thenReturn(task);
 
-        TaskDto result = employeeService.updateTask(1L, "COMPLETED");
+        TaskDto result = employeeService.updateTask(1L, "COMPLETED", 5L);
 
         assertNotNull(result);
         assertEquals(TaskStatus.COMPLETED, task.getTaskStatus());
         assertNotNull(task.getCompletedAt());
         verify(notificationService, times(1)).createInAppNotification(eq(user), anyString());
+        verify(taskStatsRecorder).recordChange(
+                new TaskStatsRecorder.Snapshot(user.getId(), TaskStatus.PENDING, null, task.getTimeEstimate()),
+                TaskStatsRecorder.Snapshot.of(task));
+        verify(taskChangeRecorder).recordChange(eq(1L),
+                argThat(before -> before.status() == TaskStatus.PENDING), eq(TaskChangeRecorder.State.of(task)));
     }
 
     @Test
     void updateTask_ShouldThrowWhenTaskNotFound() {
-        when(taskRepository.findById(1L)).thenReturn(Optional.empty());
+        when(taskRepository.findStatusRow(1L)).thenReturn(Optional.empty());
 
-        assertThrows(EntityNotFoundException.class, () -> employeeService.updateTask(1L, "COMPLETED"));
-        verify(taskRepository, never()).save(any());
+        assertThrows(EntityNotFoundException.class, () -> employeeService.updateTask(1L, "COMPLETED", null));
+        verify(taskRepository, never()).updateStatusIfUnchanged(any(), any(), any(), any());
+    }
+
+    @Test
+    void updateTask_ShouldRejectStaleExpectedVersion() {
+        task.setVersion(5L);
+        when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
+
+        assertThrows(PreconditionFailedException.class, () -> employeeService.updateTask(1L, "COMPLETED", 4L));
+        assertEquals(TaskStatus.PENDING, task.getTaskStatus());
+        verify(taskRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void updateTask_ShouldThrowWhenInvalidStatus() {
         when(taskRepository.findById(1L)).thenReturn(Optional.of(task));
 
-        assertThrows(IllegalArgumentException.class, () -> employeeService.updateTask(1L, "INVALID_STATUS"));
-        verify(taskRepository, never()).save(any());
+        assertThrows(IllegalArgumentException.class, () -> employeeService.updateTask(1L, "INVALID_STATUS", null));
+        verify(taskRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void updateTaskStatuses_ShouldLoadTasksOnceAndReportPerItem() {
+        Task other = new Task();
+        other.setId(2L);
+        other.setTitle("Other Task");
+        other.setTaskStatus(TaskStatus.COMPLETED);
+        other.setUser(user);
+        when(taskRepository.findAllById(Set.of(1L, 2L, 3L))).thenReturn(List.of(task, other));
+
+        List<BulkTaskResult> results = employeeService.updateTaskStatuses(List.of(
+                new TaskStatusUpdate(1L, "completed"),
+                new TaskStatusUpdate(2L, "INVALID_STATUS"),
+                new TaskStatusUpdate(3L, "PENDING")));
+
+        assertTrue(results.get(0).isSuccess());
+        assertFalse(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals(TaskStatus.COMPLETED, task.getTaskStatus());
+        assertNotNull(task.getCompletedAt());
+        assertEquals(TaskStatus.COMPLETED, other.getTaskStatus());
+        verify(taskRepository, never()).findById(any());
+        verify(notificationService, times(1)).createInAppNotification(eq(user), anyString());
+    }
+
+    private TaskStatusRow row(TaskStatus status, Long version) {
+        return new TaskStatusRow(1L, "Test Task", "Test Description", null, null, "High", status, null, 30,
+                user.getId(), user.getName(), version);
     }
 }
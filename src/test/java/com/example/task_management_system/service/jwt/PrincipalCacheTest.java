@@ -0,0 +1,82 @@
+package com.example.task_management_system.service.jwt;
+
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrincipalCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PrincipalCache principalCache;
+    private AtomicInteger loads;
+    private Function<String, UserDetails> loader;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        principalCache = new PrincipalCache(2, Duration.ofMinutes(5), meterRegistry);
+        loads = new AtomicInteger();
+        loader = email -> {
+            loads.incrementAndGet();
+            User user = new User();
+            user.setId(1L);
+            user.setEmail(email);
+            user.setUserRole(UserRole.EMPLOYEE);
+            return user;
+        };
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeHitsFromCache() {
+        UserDetails first = principalCache.get("test@example.com", loader);
+        UserDetails second = principalCache.get("test@example.com", loader);
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", PrincipalCache.CACHE_NAME)
+                .tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", PrincipalCache.CACHE_NAME)
+                .tag("result", "miss").functionCounter().count());
+    }
+
+    @Test
+    void invalidate_ShouldForceReload() {
+        principalCache.get("test@example.com", loader);
+
+        principalCache.invalidate("test@example.com");
+        principalCache.get("test@example.com", loader);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldNotCacheFailedLookups() {
+        Function<String, UserDetails> missing = email -> {
+            loads.incrementAndGet();
+            throw new UsernameNotFoundException("User not found");
+        };
+
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost@example.com", missing));
+        assertThrows(UsernameNotFoundException.class, () -> principalCache.get("ghost@example.com", missing));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_ShouldStayWithinMaximumSize() {
+        for (int i = 0; i < 10; i++) {
+            principalCache.get("user" + i + "@example.com", loader);
+        }
+
+        assertTrue(principalCache.size() <= 2);
+    }
+}
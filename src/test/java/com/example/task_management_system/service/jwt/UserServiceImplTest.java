@@ -55,4 +55,15 @@ class UserServiceImplTest {
         assertThrows(UsernameNotFoundException.class,
                 () -> userService.userDetailService().loadUserByUsername("test@example.com"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void userDetailsPasswordService_ShouldStoreTheUpgradedHash() {
+        when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(user));
+        when(userRepository.save(user)).thenReturn(user);
+
+        UserDetails updated = userService.userDetailsPasswordService().updatePassword(user, "{bcrypt}$2a$12$upgraded");
+
+        assertEquals("{bcrypt}$2a$12$upgraded", updated.getPassword());
+        verify(userRepository).save(user);
+    }
+}
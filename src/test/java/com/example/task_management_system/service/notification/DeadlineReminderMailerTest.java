@@ -0,0 +1,172 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.dto.DeadlineReminder;
+import com.example.task_management_system.repository.TaskRepository;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.Session;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineReminderMailerTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private JavaMailSender mockSender;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalDate tomorrow = LocalDate.now().plusDays(1);
+    private DeadlineReminderMailer mailer;
+
+    @AfterEach
+    void tearDown() {
+        if (mailer != null) {
+            mailer.shutdown();
+        }
+    }
+
+    @Test
+    void sendReminders_ShouldSendOneDigestPerUserAcrossPages() throws Exception {
+        // Arrange: page size 2 splits user 1's tasks from user 2's
+        mailer = newMailer(smtpSender(), 2);
+        Date day = Date.valueOf(tomorrow);
+        when(taskRepository.findDeadlineRemindersAfter(eq(day), eq(0), eq(1), eq(0L), eq(0L), any()))
+                .thenReturn(List.of(reminder(1L, "alice@example.com", 10L, "Write report"),
+                        reminder(1L, "alice@example.com", 11L, "Review PR")));
+        when(taskRepository.findDeadlineRemindersAfter(eq(day), eq(0), eq(1), eq(1L), eq(11L), any()))
+                .thenReturn(List.of(reminder(2L, "bob@example.com", 12L, "Deploy")));
+
+        // Act
+        int delivered = mailer.sendReminders(tomorrow);
+
+        // Assert
+        assertEquals(2, delivered);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(2, received.length);
+        MimeMessage alice = null;
+        for (MimeMessage message : received) {
+            if (GreenMailUtil.getAddressList(message.getAllRecipients()).contains("alice@example.com")) {
+                alice = message;
+            }
+        }
+        assertNotNull(alice);
+        String body = GreenMailUtil.getBody(alice);
+        assertTrue(body.contains("Write report"));
+        assertTrue(body.contains("Review PR"));
+        assertEquals(2.0, meterRegistry.get("reminders.emails.sent").counter().count());
+    }
+
+    @Test
+    void sendReminders_ShouldReportProgressOnlyForSentDigests() {
+        // Arrange: user 2's tasks straddle the page boundary, so the first checkpoint stops at user 1
+        mailer = newMailer(smtpSender(), 2);
+        Date day = Date.valueOf(tomorrow);
+        when(taskRepository.findDeadlineRemindersAfter(eq(day), eq(1), eq(3), eq(4L), eq(7L), any()))
+                .thenReturn(List.of(reminder(4L, "carol@example.com", 8L, "Plan sprint"),
+                        reminder(7L, "dave@example.com", 9L, "Fix build")));
+        when(taskRepository.findDeadlineRemindersAfter(eq(day), eq(1), eq(3), eq(7L), eq(9L), any()))
+                .thenReturn(List.of(reminder(7L, "dave@example.com", 10L, "Release")));
+        List<long[]> progress = new ArrayList<>();
+
+        // Act: resume partition 1 of 3 after user 4's task 7
+        int delivered = mailer.sendReminders(tomorrow, 1, 3, 4L, 7L,
+                (userId, taskId) -> progress.add(new long[]{userId, taskId}));
+
+        // Assert
+        assertEquals(2, delivered);
+        assertEquals(2, progress.size());
+        assertArrayEquals(new long[]{4L, 8L}, progress.get(0));
+        assertArrayEquals(new long[]{7L, 10L}, progress.get(1));
+    }
+
+    @Test
+    void sendReminders_NoDueTasks_ShouldNotSendEmails() {
+        // Arrange
+        mailer = newMailer(smtpSender(), 500);
+        when(taskRepository.findDeadlineRemindersAfter(any(), anyInt(), anyInt(), eq(0L), eq(0L), any())).thenReturn(List.of());
+
+        // Act
+        int delivered = mailer.sendReminders(tomorrow);
+
+        // Assert
+        assertEquals(0, delivered);
+        assertEquals(0, greenMail.getReceivedMessages().length);
+    }
+
+    @Test
+    void sendReminders_ShouldRetryFailedBatch() {
+        // Arrange
+        mailer = newMailer(mockSender, 500);
+        when(mockSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new MailSendException("connection refused")).doNothing().when(mockSender).send(any(MimeMessage[].class));
+        when(taskRepository.findDeadlineRemindersAfter(any(), anyInt(), anyInt(), eq(0L), eq(0L), any()))
+                .thenReturn(List.of(reminder(1L, "alice@example.com", 10L, "Write report")));
+
+        // Act
+        int delivered = mailer.sendReminders(tomorrow);
+
+        // Assert
+        assertEquals(1, delivered);
+        verify(mockSender, times(2)).send(any(MimeMessage[].class));
+        assertEquals(1.0, meterRegistry.get("reminders.emails.retried").counter().count());
+    }
+
+    @Test
+    void sendReminders_ShouldGiveUpAfterMaxAttempts() {
+        // Arrange
+        mailer = newMailer(mockSender, 500);
+        when(mockSender.createMimeMessage()).thenAnswer(invocation -> new MimeMessage(Session.getInstance(new Properties())));
+        doThrow(new MailSendException("connection refused")).when(mockSender).send(any(MimeMessage[].class));
+        when(taskRepository.findDeadlineRemindersAfter(any(), anyInt(), anyInt(), eq(0L), eq(0L), any()))
+                .thenReturn(List.of(reminder(1L, "alice@example.com", 10L, "Write report")));
+
+        // Act
+        int delivered = mailer.sendReminders(tomorrow);
+
+        // Assert
+        assertEquals(0, delivered);
+        verify(mockSender, times(3)).send(any(MimeMessage[].class));
+        assertEquals(1.0, meterRegistry.get("reminders.emails.failed").counter().count());
+    }
+
+    private DeadlineReminderMailer newMailer(JavaMailSender sender, int pageSize) {
+        return new DeadlineReminderMailer(taskRepository, sender, meterRegistry, pageSize, 50, 2, 3, 0);
+    }
+
+    private static JavaMailSender smtpSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+
+    private static DeadlineReminder reminder(Long userId, String email, Long taskId, String title) {
+        return new DeadlineReminder(userId, email, "User " + userId, taskId, title, "Description of " + title, "High");
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.entity.EmailOutbox;
+import com.example.task_management_system.enums.EmailStatus;
+import com.example.task_management_system.repository.EmailOutboxRepository;
+import com.example.task_management_system.service.scheduling.JobLockService;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.GreenMailUtil;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EmailOutboxDispatcherTest {
+
+    @RegisterExtension
+    static GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    @Mock
+    private EmailOutboxRepository outboxRepository;
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private JavaMailSender mockSender;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(jobLockService.tryAcquire(eq(EmailOutboxDispatcher.JOB_NAME), any())).thenReturn(true);
+    }
+
+    @Test
+    void dispatch_ShouldSendDueEmailsAndMarkThemSent() throws Exception {
+        // Arrange
+        EmailOutbox welcome = email(1L, "alice@example.com");
+        when(outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailStatus.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(welcome));
+
+        // Act
+        int delivered = newDispatcher(smtpSender(), 3).dispatch();
+
+        // Assert
+        assertEquals(1, delivered);
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertEquals(1, received.length);
+        assertEquals("Welcome to Task Management System", received[0].getSubject());
+        assertTrue(GreenMailUtil.getBody(received[0]).contains("alice@example.com"));
+        verify(outboxRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+        verify(jobLockService).release(EmailOutboxDispatcher.JOB_NAME);
+    }
+
+    @Test
+    void dispatch_ShouldRescheduleOnlyTheRejectedEmailsWithBackoff() {
+        // Arrange: the server rejects bob's message, alice's goes through
+        EmailOutbox alice = email(1L, "alice@example.com");
+        EmailOutbox bob = email(2L, "bob@example.com");
+        when(outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailStatus.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(alice, bob));
+        doAnswer(call -> {
+            for (Object argument : call.getArguments()) {
+                SimpleMailMessage message = (SimpleMailMessage) argument;
+                if (message.getTo()[0].equals("bob@example.com")) {
+                    throw new MailSendException(Map.of(message, new RuntimeException("mailbox unavailable")));
+                }
+            }
+            return null;
+        }).when(mockSender).send(any(SimpleMailMessage[].class));
+        LocalDateTime before = LocalDateTime.now();
+
+        // Act
+        int delivered = newDispatcher(mockSender, 3).dispatch();
+
+        // Assert
+        assertEquals(1, delivered);
+        verify(outboxRepository).markSent(eq(List.of(1L)), any(LocalDateTime.class));
+        ArgumentCaptor<Collection<EmailOutbox>> retried = ArgumentCaptor.captor();
+        verify(outboxRepository).saveAll(retried.capture());
+        assertEquals(List.of(bob), List.copyOf(retried.getValue()));
+        assertEquals(1, bob.getAttempts());
+        assertEquals(EmailStatus.PENDING, bob.getStatus());
+        assertTrue(bob.getNextAttemptAt().isAfter(before.plusSeconds(29)));
+        assertEquals("mailbox unavailable", bob.getLastError());
+    }
+
+    @Test
+    void dispatch_ShouldGiveUpAfterTheLastAttempt() {
+        // Arrange: the mail server is down and this is the third and last attempt
+        EmailOutbox welcome = email(1L, "alice@example.com");
+        welcome.setAttempts(2);
+        when(outboxRepository.findByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(eq(EmailStatus.PENDING), any(), any(Pageable.class)))
+                .thenReturn(List.of(welcome));
+        doThrow(new MailSendException("connection refused")).when(mockSender).send(any(SimpleMailMessage[].class));
+
+        // Act
+        int delivered = newDispatcher(mockSender, 3).dispatch();
+
+        // Assert
+        assertEquals(0, delivered);
+        assertEquals(EmailStatus.FAILED, welcome.getStatus());
+        assertEquals(3, welcome.getAttempts());
+        verify(outboxRepository, never()).markSent(any(), any());
+    }
+
+    @Test
+    void dispatch_ShouldSkipWhenAnotherNodeHoldsTheLease() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(EmailOutboxDispatcher.JOB_NAME), any())).thenReturn(false);
+
+        // Act
+        int delivered = newDispatcher(mockSender, 3).dispatch();
+
+        // Assert
+        assertEquals(0, delivered);
+        verifyNoInteractions(outboxRepository, mockSender);
+    }
+
+    private EmailOutboxDispatcher newDispatcher(JavaMailSender sender, int maxAttempts) {
+        return new EmailOutboxDispatcher(outboxRepository, sender, jobLockService, transactionManager,
+                new SimpleMeterRegistry(), 10, maxAttempts, Duration.ofSeconds(30), Duration.ofMinutes(1));
+    }
+
+    private static EmailOutbox email(Long id, String recipient) {
+        EmailOutbox email = EmailOutbox.pending(recipient, "Welcome to Task Management System",
+                "Your login email: " + recipient);
+        email.setId(id);
+        return email;
+    }
+
+    private static JavaMailSender smtpSender() {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost(ServerSetupTest.SMTP.getBindAddress());
+        sender.setPort(ServerSetupTest.SMTP.getPort());
+        return sender;
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.controller.notification.NotificationController;
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.exception.SubscriberLimitExceededException;
+import com.example.task_management_system.repository.NotificationRepository;
+import com.example.task_management_system.utils.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationHubTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    @Mock
+    private JwtUtil jwtUtil;
+
+    private NotificationHub hub;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        User user = new User();
+        user.setId(1L);
+        when(jwtUtil.getLoggedInUser()).thenReturn(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.stop();
+    }
+
+    @Test
+    void publish_ShouldPushEventWithNotificationCursorToOpenStream() throws Exception {
+        // Arrange
+        startHub(10, Duration.ofMinutes(1));
+        MvcResult stream = openStream(null);
+        NotificationDto notification = dto(42L, "New task assigned: Report", 0);
+
+        // Act
+        hub.publish(1L, List.of(notification));
+
+        // Assert
+        awaitBody(stream, body -> body.contains("id:" + notification.getCursor()) && body.contains("event:notification")
+                && body.contains("New task assigned: Report"));
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedNotificationsOnce() throws Exception {
+        // Arrange
+        startHub(10, Duration.ofMinutes(1));
+        NotificationDto seen = dto(5L, "seen", 0);
+        NotificationDto missedOne = dto(6L, "missed one", 1);
+        NotificationDto missedTwo = dto(7L, "missed two", 2);
+        when(notificationRepository.findAfter(eq(1L), eq(seen.getCreatedAt()), eq(5L), any(Pageable.class)))
+                .thenReturn(List.of(missedOne, missedTwo));
+
+        // Act: the writer publishes 7 again just after the reconnect, then a new 8
+        MvcResult stream = openStream(seen.getCursor());
+        NotificationDto fresh = dto(8L, "fresh", 3);
+        hub.publish(1L, List.of(missedTwo, fresh));
+
+        // Assert
+        awaitBody(stream, body -> body.contains("id:" + fresh.getCursor()));
+        String body = stream.getResponse().getContentAsString();
+        assertTrue(body.indexOf("id:" + missedOne.getCursor()) < body.indexOf("id:" + missedTwo.getCursor()));
+        assertEquals(1, body.split("id:" + missedTwo.getCursor(), -1).length - 1, "replayed events are not pushed twice");
+    }
+
+    @Test
+    void publish_ShouldPushNotificationsThatArriveOutOfOrder() throws Exception {
+        // Arrange: 9 was written by another writer and committed after 10 had been pushed
+        startHub(10, Duration.ofMinutes(1));
+        MvcResult stream = openStream(null);
+        NotificationDto newer = dto(10L, "newer", 2);
+        NotificationDto older = dto(9L, "older", 1);
+
+        // Act
+        hub.publish(1L, List.of(newer));
+        hub.publish(1L, List.of(older));
+
+        // Assert
+        awaitBody(stream, body -> body.contains("id:" + newer.getCursor()) && body.contains("id:" + older.getCursor()));
+    }
+
+    @Test
+    void subscribe_BeyondConnectionCap_ShouldBeRefused() throws Exception {
+        // Arrange
+        startHub(1, Duration.ofMinutes(1));
+        openStream(null);
+
+        // Act & Assert
+        assertThrows(SubscriberLimitExceededException.class, () -> hub.subscribe(2L, null));
+        assertEquals(1, hub.connectionCount());
+    }
+
+    @Test
+    void subscribe_WhenReplayFails_ShouldReleaseTheConnection() throws Exception {
+        // Arrange
+        startHub(1, Duration.ofMinutes(1));
+        NotificationDto seen = dto(5L, "seen", 0);
+        when(notificationRepository.findAfter(eq(1L), any(), eq(5L), any(Pageable.class)))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+
+        // Act: the stream request fails before its emitter is handed to MVC
+        Exception failure = assertThrows(Exception.class, () -> openStream(seen.getCursor()));
+        assertInstanceOf(DataAccessResourceFailureException.class, failure.getCause());
+
+        // Assert: the slot is free again and nothing is left to push to
+        assertEquals(0, hub.connectionCount());
+        assertDoesNotThrow(() -> hub.subscribe(2L, null));
+    }
+
+    @Test
+    void heartbeat_ShouldKeepIdleStreamsAlive() throws Exception {
+        // Arrange
+        startHub(10, Duration.ofMillis(20));
+
+        // Act
+        MvcResult stream = openStream(null);
+
+        // Assert
+        awaitBody(stream, body -> body.contains(":keep-alive"));
+    }
+
+    private void startHub(int maxConnections, Duration heartbeat) {
+        hub = new NotificationHub(notificationRepository, new SimpleMeterRegistry(), maxConnections,
+                Duration.ofMinutes(5), heartbeat, 100, 1, 10);
+        hub.start();
+        mockMvc = MockMvcBuilders.standaloneSetup(new NotificationController(notificationService, hub, jwtUtil)).build();
+    }
+
+    private MvcResult openStream(String lastEventId) throws Exception {
+        var builder = get("/api/notifications/stream");
+        if (lastEventId != null) {
+            builder.header("Last-Event-ID", lastEventId);
+        }
+        return mockMvc.perform(builder).andExpect(request().asyncStarted()).andReturn();
+    }
+
+    private static NotificationDto dto(Long id, String message, int minute) {
+        return new NotificationDto(id, message, LocalDateTime.of(2025, 1, 1, 9, minute), false);
+    }
+
+    private static void awaitBody(MvcResult stream, Predicate<String> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 2000;
+        BooleanSupplier met = () -> {
+            try {
+                return condition.test(stream.getResponse().getContentAsString());
+            } catch (Exception e) {
+                return false;
+            }
+        };
+        while (!met.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(met.getAsBoolean(), () -> "stream body was: " + contentOf(stream));
+    }
+
+    private static String contentOf(MvcResult stream) {
+        try {
+            return stream.getResponse().getContentAsString();
+        } catch (Exception e) {
+            return e.getMessage();
+        }
+    }
+}
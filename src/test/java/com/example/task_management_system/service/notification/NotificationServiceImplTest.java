@@ -1,19 +1,23 @@
 package com.example.task_management_system.service.notification;
 
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.dto.NotificationPage;
 import com.example.task_management_system.entity.Notification;
-import com.example.task_management_system.entity.Task;
 import com.example.task_management_system.entity.User;
+import com.example.task_management_system.exception.InvalidRequestException;
 import com.example.task_management_system.repository.NotificationRepository;
-import com.example.task_management_system.repository.TaskRepository;
+import com.example.task_management_system.service.scheduling.DeadlineReminderJob;
+import com.example.task_management_system.utils.NotificationCursor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -22,6 +26,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,16 +36,15 @@ class NotificationServiceImplTest {
     private NotificationRepository notificationRepository;
 
     @Mock
-    private TaskRepository taskRepository;
+    private NotificationWriteQueue writeQueue;
 
     @Mock
-    private JavaMailSender mailSender;
+    private DeadlineReminderJob reminderJob;
 
     @InjectMocks
     private NotificationServiceImpl notificationService;
 
     private User testUser;
-    private Task testTask;
     private Notification testNotification;
 
     @BeforeEach
@@ -50,14 +54,6 @@ class NotificationServiceImplTest {
         testUser.setName("Test User");
         testUser.setEmail("test@example.com");
 
-        testTask = new Task();
-        testTask.setId(1L);
-        testTask.setTitle("Complete Project");
-        testTask.setDescription("Finish all modules");
-        testTask.setPriority("High");
-        testTask.setUser(testUser);
-        testTask.setDeadline(java.sql.Date.valueOf(LocalDate.now().plusDays(1)));
-
         testNotification = Notification.builder()
                 .id(1L)
                 .user(testUser)
@@ -70,94 +66,121 @@ class NotificationServiceImplTest {
     void createInAppNotification_ShouldCreateNotification() {
         // Arrange
         String message = "Test notification message";
-        when(notificationRepository.save(any(Notification.class))).thenReturn(testNotification);
 
         // Act
         notificationService.createInAppNotification(testUser, message);
 
         // Assert
-        verify(notificationRepository, times(1)).save(any(Notification.class));
+        verify(writeQueue, times(1)).enqueue(testUser.getId(), message);
+        verify(notificationRepository, never()).save(any(Notification.class));
     }
 
     @Test
-    void sendDeadlineReminderEmails_WithUpcomingTasks_ShouldSendEmails() {
+    void createInAppNotification_InsideTransaction_ShouldWaitForCommit() {
         // Arrange
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        when(taskRepository.findByDeadline(tomorrow)).thenReturn(Collections.singletonList(testTask));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            notificationService.createInAppNotification(testUser, "Deferred message");
+
+            // Assert
+            verify(writeQueue, never()).enqueue(any(), any());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            verify(writeQueue, times(1)).enqueue(testUser.getId(), "Deferred message");
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
 
+    @Test
+    void sendDeadlineReminderEmails_ShouldRunTodaysJob() {
         // Act
         notificationService.sendDeadlineReminderEmails();
 
         // Assert
-        verify(taskRepository, times(1)).findByDeadline(tomorrow);
-
-        // Verify email was sent by capturing the SimpleMailMessage
-        ArgumentCaptor<SimpleMailMessage> messageCaptor = ArgumentCaptor.forClass(SimpleMailMessage.class);
-        verify(mailSender, times(1)).send(messageCaptor.capture());
-
-        SimpleMailMessage sentMessage = messageCaptor.getValue();
-        assertEquals("test@example.com", sentMessage.getTo()[0]);
-        assertTrue(sentMessage.getSubject().contains("Deadline Reminder"));
-        assertTrue(sentMessage.getText().contains("Reminder: Task 'Complete Project'"));
+        verify(reminderJob, times(1)).runFor(LocalDate.now());
     }
 
     @Test
-    void sendDeadlineReminderEmails_NoUpcomingTasks_ShouldNotSendEmails() {
-        // Arrange
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        when(taskRepository.findByDeadline(tomorrow)).thenReturn(Collections.emptyList());
+    void getUserNotifications_ShouldReturnLatestPageWithCursor() {
+        // Arrange: one row more than the page size comes back
+        when(notificationRepository.findLatest(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(List.of(dto(9L), dto(8L), dto(7L)));
 
         // Act
-        notificationService.sendDeadlineReminderEmails();
+        NotificationPage page = notificationService.getUserNotifications(testUser.getId(), null, null, 2);
 
-        // Assert
-        verify(taskRepository, times(1)).findByDeadline(tomorrow);
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        // Assert: the cursor points at the last notification returned
+        assertEquals(2, page.getNotifications().size());
+        assertEquals(page.getNotifications().get(1).getCursor(), page.getNextCursor());
+        assertEquals(8L, NotificationCursor.decode(page.getNextCursor()).getId());
+        verify(notificationRepository).findLatest(testUser.getId(), PageRequest.of(0, 3));
     }
 
     @Test
-    void sendDeadlineReminderEmails_WhenTaskHasNoUser_ShouldNotSendEmail() {
+    void getUserNotifications_Before_LastPageShouldHaveNoCursor() {
         // Arrange
-        testTask.setUser(null);
-        LocalDate tomorrow = LocalDate.now().plusDays(1);
-        when(taskRepository.findByDeadline(tomorrow)).thenReturn(Collections.singletonList(testTask));
+        NotificationDto last = dto(8L);
+        when(notificationRepository.findBefore(eq(testUser.getId()), eq(last.getCreatedAt()), eq(8L), any(Pageable.class)))
+                .thenReturn(List.of(dto(7L)));
 
         // Act
-        notificationService.sendDeadlineReminderEmails();
+        NotificationPage page = notificationService.getUserNotifications(testUser.getId(), last.getCursor(), null, 20);
 
         // Assert
-        verify(taskRepository, times(1)).findByDeadline(tomorrow);
-        verify(mailSender, never()).send(any(SimpleMailMessage.class));
+        assertEquals(1, page.getNotifications().size());
+        assertNull(page.getNextCursor());
     }
 
     @Test
-    void getUserNotifications_ShouldReturnNotifications() {
+    void getUserNotifications_Since_ShouldQueryNewerNotifications() {
         // Arrange
-        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(testUser.getId()))
-                .thenReturn(Collections.singletonList(testNotification));
+        NotificationDto newest = dto(5L);
+        when(notificationRepository.findAfter(eq(testUser.getId()), eq(newest.getCreatedAt()), eq(5L), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
 
         // Act
-        List<Notification> notifications = notificationService.getUserNotifications(testUser.getId());
+        NotificationPage page = notificationService.getUserNotifications(testUser.getId(), null, newest.getCursor(), 20);
 
         // Assert
-        assertEquals(1, notifications.size());
-        assertEquals("Test notification", notifications.get(0).getMessage());
-        verify(notificationRepository, times(1))
-                .findByUserIdOrderByCreatedAtDesc(testUser.getId());
+        assertTrue(page.getNotifications().isEmpty());
+        verify(notificationRepository, never()).findLatest(any(), any());
     }
 
     @Test
-    void getUserNotifications_NoNotifications_ShouldReturnEmptyList() {
+    void getUserNotifications_BeforeAndSince_ShouldBeRejected() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class,
+                () -> notificationService.getUserNotifications(testUser.getId(), dto(8L).getCursor(), dto(5L).getCursor(), 20));
+        assertThrows(InvalidRequestException.class,
+                () -> notificationService.getUserNotifications(testUser.getId(), "not-a-cursor", null, 20));
+    }
+
+    @Test
+    void markAsRead_ShouldUseIdsOrUpToCursor() {
         // Arrange
-        when(notificationRepository.findByUserIdOrderByCreatedAtDesc(testUser.getId()))
-                .thenReturn(Collections.emptyList());
+        NotificationDto seen = dto(10L);
+        when(notificationRepository.markRead(testUser.getId(), List.of(1L, 2L))).thenReturn(2);
+        when(notificationRepository.markReadUpTo(testUser.getId(), seen.getCreatedAt(), 10L)).thenReturn(7);
+
+        // Act & Assert
+        assertEquals(2, notificationService.markAsRead(testUser.getId(), List.of(1L, 2L), null));
+        assertEquals(7, notificationService.markAsRead(testUser.getId(), null, seen.getCursor()));
+        assertThrows(InvalidRequestException.class,
+                () -> notificationService.markAsRead(testUser.getId(), List.of(), null));
+    }
 
-        // Act
-        List<Notification> notifications = notificationService.getUserNotifications(testUser.getId());
+    @Test
+    void countUnread_ShouldReturnRepositoryCount() {
+        // Arrange
+        when(notificationRepository.countByUserIdAndReadFalse(testUser.getId())).thenReturn(4L);
 
-        // Assert
-        assertTrue(notifications.isEmpty());
-        verify(notificationRepository, times(1))
-                .findByUserIdOrderByCreatedAtDesc(testUser.getId());
+        // Act & Assert
+        assertEquals(4L, notificationService.countUnread(testUser.getId()));
+    }
+
+    // microsecond timestamps, as they come back from the database
+    private static NotificationDto dto(Long id) {
+        return new NotificationDto(id, "Notification " + id, LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(id), false);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.dto.NotificationDto;
+import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.repository.NotificationRepository;
+import com.example.task_management_system.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationWriteQueueTest {
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private NotificationHub notificationHub;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NotificationWriteQueue writeQueue;
+
+    @AfterEach
+    void tearDown() {
+        if (writeQueue != null && writeQueue.isRunning()) {
+            writeQueue.stop();
+        }
+    }
+
+    @Test
+    void enqueue_ShouldFlushFullBatchesInOneInsert() {
+        // Arrange: long flush interval so only the size trigger can fire
+        writeQueue = newQueue(100, 3, 10_000, 50);
+        writeQueue.start();
+
+        // Act
+        for (int i = 0; i < 3; i++) {
+            writeQueue.enqueue(1L, "message " + i);
+        }
+
+        // Assert
+        verify(notificationRepository, timeout(2000)).saveAll(argThat(batch -> sizeOf(batch) == 3));
+        verify(notificationRepository, times(1)).saveAll(anyIterable());
+    }
+
+    @Test
+    void enqueue_ShouldFlushPartialBatchAfterInterval() {
+        // Arrange
+        writeQueue = newQueue(100, 50, 20, 50);
+        writeQueue.start();
+
+        // Act
+        writeQueue.enqueue(1L, "lonely message");
+
+        // Assert
+        verify(notificationRepository, timeout(2000)).saveAll(argThat(batch -> sizeOf(batch) == 1));
+    }
+
+    @Test
+    void enqueue_WhenWriterNotRunning_ShouldWriteOnCallerThread() {
+        // Arrange
+        writeQueue = newQueue(1, 10, 20, 0);
+
+        // Act
+        writeQueue.enqueue(1L, "direct message");
+
+        // Assert
+        verify(notificationRepository, times(1)).saveAll(argThat(batch -> sizeOf(batch) == 1));
+        verify(userRepository).getReferenceById(1L);
+        assertEquals(1.0, meterRegistry.get("notifications.queue.overflow").counter().count());
+        assertEquals(0, writeQueue.depth());
+    }
+
+    @Test
+    void flush_ShouldPublishCommittedNotificationsPerUser() {
+        // Arrange: the repository hands back the saved rows with their sequence ids
+        writeQueue = newQueue(1, 10, 20, 0);
+        when(notificationRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<Notification> saved = new ArrayList<>();
+            invocation.<Iterable<Notification>>getArgument(0).forEach(saved::add);
+            saved.get(0).setId(41L);
+            return saved;
+        });
+
+        // Act
+        writeQueue.enqueue(7L, "pushed message");
+
+        // Assert
+        verify(notificationHub).publish(eq(7L), argThat((List<NotificationDto> published) ->
+                published.size() == 1 && published.get(0).getId() == 41L
+                        && published.get(0).getMessage().equals("pushed message")
+                        && published.get(0).getCreatedAt() != null));
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldRetryRowsOneAtATime() {
+        // Arrange: the batch insert fails because of one bad row; the others insert fine on their own
+        writeQueue = newQueue(100, 3, 10_000, 50);
+        when(notificationRepository.saveAll(anyIterable())).thenAnswer(invocation -> {
+            List<Notification> rows = new ArrayList<>();
+            invocation.<Iterable<Notification>>getArgument(0).forEach(rows::add);
+            if (rows.size() > 1 || rows.get(0).getMessage().equals("bad message")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            rows.get(0).setId(rows.get(0).getMessage().equals("good message 1") ? 1L : 2L);
+            return rows;
+        });
+        writeQueue.start();
+
+        // Act
+        writeQueue.enqueue(1L, "good message 1");
+        writeQueue.enqueue(1L, "bad message");
+        writeQueue.enqueue(1L, "good message 2");
+
+        // Assert: one failed batch, then three single-row inserts of which two are published
+        verify(notificationRepository, timeout(2000).times(4)).saveAll(anyIterable());
+        verify(notificationHub, timeout(2000).times(2)).publish(eq(1L), anyList());
+        assertEquals(1.0, meterRegistry.get("notifications.flush.failed").counter().count());
+    }
+
+    @Test
+    void stop_ShouldDrainQueuedNotifications() {
+        // Arrange
+        writeQueue = newQueue(100, 50, 10_000, 50);
+        writeQueue.start();
+        writeQueue.enqueue(1L, "pending message");
+
+        // Act
+        writeQueue.stop();
+
+        // Assert
+        verify(notificationRepository, atLeastOnce()).saveAll(anyIterable());
+        assertEquals(0, writeQueue.depth());
+        assertFalse(writeQueue.isRunning());
+    }
+
+    private NotificationWriteQueue newQueue(int capacity, int batchSize, long flushIntervalMillis, long offerTimeoutMillis) {
+        return new NotificationWriteQueue(notificationRepository, userRepository, notificationHub, transactionManager, meterRegistry,
+                capacity, batchSize, flushIntervalMillis, offerTimeoutMillis);
+    }
+
+    private static int sizeOf(Iterable<?> batch) {
+        return ((List<?>) batch).size();
+    }
+}
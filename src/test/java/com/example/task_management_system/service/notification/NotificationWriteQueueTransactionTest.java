@@ -0,0 +1,97 @@
+package com.example.task_management_system.service.notification;
+
+import com.example.task_management_system.entity.Notification;
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import com.example.task_management_system.repository.NotificationRepository;
+import com.example.task_management_system.repository.UserRepository;
+import com.example.task_management_system.service.scheduling.DeadlineReminderJob;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The caller-thread write path against a real transaction manager: task services create
+ * notifications inside their transaction and the write happens in its afterCommit hook.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Import({NotificationServiceImpl.class, NotificationWriteQueue.class, NotificationWriteQueueTransactionTest.Metrics.class})
+// the test commits for real, the way a task service does, instead of rolling back one test transaction
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NotificationWriteQueueTransactionTest {
+
+    @Autowired
+    private NotificationService notificationService;
+
+    @Autowired
+    private NotificationWriteQueue writeQueue;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private NotificationHub notificationHub;
+
+    @MockitoBean
+    private DeadlineReminderJob deadlineReminderJob;
+
+    @AfterEach
+    void tearDown() {
+        notificationRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createInAppNotification_WhenWrittenOnCallerThreadAfterCommit_ShouldPersist() {
+        // Arrange: a stopped queue writes on the caller thread, like a full one does
+        writeQueue.stop();
+        User user = userRepository.save(user("assignee@example.com"));
+
+        // Act
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                notificationService.createInAppNotification(user, "You have been assigned a task"));
+
+        // Assert
+        List<Notification> written = notificationRepository.findAll();
+        assertEquals(1, written.size());
+        assertEquals("You have been assigned a task", written.get(0).getMessage());
+    }
+
+    private static User user(String email) {
+        User user = new User();
+        user.setName(email);
+        user.setEmail(email);
+        user.setPassword("secret");
+        user.setUserRole(UserRole.EMPLOYEE);
+        return user;
+    }
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
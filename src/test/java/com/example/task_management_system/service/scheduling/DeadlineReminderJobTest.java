@@ -0,0 +1,104 @@
+package com.example.task_management_system.service.scheduling;
+
+import com.example.task_management_system.entity.JobCheckpoint;
+import com.example.task_management_system.repository.JobCheckpointRepository;
+import com.example.task_management_system.service.notification.DeadlineReminderMailer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DeadlineReminderJobTest {
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private JobCheckpointRepository checkpointRepository;
+
+    @Mock
+    private DeadlineReminderMailer reminderMailer;
+
+    private final LocalDate today = LocalDate.of(2025, 5, 1);
+    private DeadlineReminderJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new DeadlineReminderJob(jobLockService, checkpointRepository, reminderMailer, 2, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void runFor_ShouldRunEveryPartitionItCanLockAndMarkItCompleted() {
+        // Arrange: this node gets partition 0, another node holds partition 1
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(jobLockService.tryAcquire(eq("deadline-reminders-0"), any())).thenReturn(true);
+        when(jobLockService.tryAcquire(eq("deadline-reminders-1"), any())).thenReturn(false);
+        when(reminderMailer.sendReminders(eq(today.plusDays(1)), eq(0), eq(2), eq(0L), eq(0L), any())).thenReturn(3);
+
+        // Act
+        int delivered = job.runFor(today);
+
+        // Assert
+        assertEquals(3, delivered);
+        verify(reminderMailer, never()).sendReminders(any(), eq(1), anyInt(), anyLong(), anyLong(), any());
+        ArgumentCaptor<JobCheckpoint> saved = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertEquals("deadline-reminders:2025-05-01:0", saved.getValue().getId());
+        assertTrue(saved.getValue().isCompleted());
+        verify(jobLockService).release("deadline-reminders-0");
+        verify(jobLockService, never()).release("deadline-reminders-1");
+    }
+
+    @Test
+    void runFor_ShouldResumeFromCheckpoint() {
+        // Arrange
+        JobCheckpoint partial = new JobCheckpoint("deadline-reminders:2025-05-01:0", 40L, 400L, false, LocalDateTime.now());
+        JobCheckpoint done = new JobCheckpoint("deadline-reminders:2025-05-01:1", 90L, 900L, true, LocalDateTime.now());
+        when(checkpointRepository.findById(partial.getId())).thenReturn(Optional.of(partial));
+        when(checkpointRepository.findById(done.getId())).thenReturn(Optional.of(done));
+        when(jobLockService.tryAcquire(eq("deadline-reminders-0"), any())).thenReturn(true);
+
+        // Act
+        job.runFor(today);
+
+        // Assert
+        verify(reminderMailer).sendReminders(eq(today.plusDays(1)), eq(0), eq(2), eq(40L), eq(400L), any());
+        verify(jobLockService, never()).tryAcquire(eq("deadline-reminders-1"), any());
+        assertTrue(partial.isCompleted());
+    }
+
+    @Test
+    void runFor_ShouldCheckpointProgressAndStopWhenLeaseIsLost() {
+        // Arrange: the lease is granted, then taken over before the first checkpoint renews it
+        when(checkpointRepository.findById(anyString())).thenReturn(Optional.empty());
+        when(jobLockService.tryAcquire(eq("deadline-reminders-0"), any())).thenReturn(true, false);
+        when(reminderMailer.sendReminders(any(), eq(0), anyInt(), anyLong(), anyLong(), any())).thenAnswer(invocation -> {
+            DeadlineReminderMailer.ProgressListener listener = invocation.getArgument(5);
+            listener.onProgress(5L, 50L);
+            return 1;
+        });
+
+        // Act
+        job.runFor(today);
+
+        // Assert
+        ArgumentCaptor<JobCheckpoint> saved = ArgumentCaptor.forClass(JobCheckpoint.class);
+        verify(checkpointRepository).save(saved.capture());
+        assertEquals(5L, saved.getValue().getLastUserId());
+        assertEquals(50L, saved.getValue().getLastTaskId());
+        assertFalse(saved.getValue().isCompleted());
+        verify(jobLockService).release("deadline-reminders-0");
+    }
+}
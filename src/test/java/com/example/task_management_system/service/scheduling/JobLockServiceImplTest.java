@@ -0,0 +1,75 @@
+package com.example.task_management_system.service.scheduling;
+
+import com.example.task_management_system.entity.JobLock;
+import com.example.task_management_system.repository.JobLockRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the leases against a real database, outside a test transaction, so that each
+ * claim commits on its own the way it does when two nodes compete.
+ */
+@DataJpaTest(properties = "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class JobLockServiceImplTest {
+
+    @Autowired
+    private JobLockRepository jobLockRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void tryAcquire_ShouldGrantLeaseToOneNodeOnly() {
+        // Arrange
+        JobLockService nodeA = node("node-a");
+        JobLockService nodeB = node("node-b");
+
+        // Act & Assert
+        assertTrue(nodeA.tryAcquire("exclusive", Duration.ofMinutes(5)));
+        assertFalse(nodeB.tryAcquire("exclusive", Duration.ofMinutes(5)));
+        assertTrue(nodeA.tryAcquire("exclusive", Duration.ofMinutes(5)), "holder can renew");
+        assertEquals("node-a", jobLockRepository.findById("exclusive").orElseThrow().getOwner());
+    }
+
+    @Test
+    void release_ShouldLetAnotherNodeTakeOver() {
+        // Arrange
+        JobLockService nodeA = node("node-a");
+        JobLockService nodeB = node("node-b");
+        nodeA.tryAcquire("released", Duration.ofMinutes(5));
+
+        // Act
+        nodeA.release("released");
+
+        // Assert
+        assertTrue(nodeB.tryAcquire("released", Duration.ofMinutes(5)));
+    }
+
+    @Test
+    void tryAcquire_ShouldTakeOverExpiredLease() {
+        // Arrange: a node that crashed while holding the lease
+        jobLockRepository.save(new JobLock("expired", "crashed-node", LocalDateTime.now().minusMinutes(1)));
+
+        // Act & Assert
+        assertTrue(node("node-b").tryAcquire("expired", Duration.ofMinutes(5)));
+        assertEquals("node-b", jobLockRepository.findById("expired").orElseThrow().getOwner());
+    }
+
+    private JobLockService node(String owner) {
+        return new JobLockServiceImpl(jobLockRepository, entityManager, transactionManager, owner);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.task_management_system.service.scheduling;
+
+import com.example.task_management_system.repository.NotificationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class NotificationRetentionJobTest {
+
+    @Mock
+    private JobLockService jobLockService;
+
+    @Mock
+    private NotificationRepository notificationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final LocalDateTime cutoff = LocalDateTime.of(2025, 2, 1, 0, 0);
+    private NotificationRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        job = new NotificationRetentionJob(jobLockService, notificationRepository, transactionManager,
+                90, 2, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void purgeOlderThan_ShouldDeleteBatchByBatchUntilNothingIsLeft() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(NotificationRetentionJob.JOB_NAME), any())).thenReturn(true);
+        when(notificationRepository.findIdsCreatedBefore(eq(cutoff), any(Pageable.class)))
+                .thenReturn(List.of(1L, 2L), List.of(3L), List.of());
+        when(notificationRepository.deleteByIdIn(anyCollection())).thenAnswer(call -> call.<List<Long>>getArgument(0).size());
+
+        // Act
+        int deleted = job.purgeOlderThan(cutoff);
+
+        // Assert
+        assertEquals(3, deleted);
+        verify(notificationRepository).deleteByIdIn(List.of(1L, 2L));
+        verify(notificationRepository).deleteByIdIn(List.of(3L));
+        verify(transactionManager, times(2)).commit(any());
+        verify(jobLockService).release(NotificationRetentionJob.JOB_NAME);
+    }
+
+    @Test
+    void purgeOlderThan_ShouldStopWhenTheLeaseIsLost() {
+        // Arrange: acquired at the start, taken over after the first batch
+        when(jobLockService.tryAcquire(eq(NotificationRetentionJob.JOB_NAME), any())).thenReturn(true, false);
+        when(notificationRepository.findIdsCreatedBefore(eq(cutoff), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(notificationRepository.deleteByIdIn(anyCollection())).thenReturn(2);
+
+        // Act
+        int deleted = job.purgeOlderThan(cutoff);
+
+        // Assert
+        assertEquals(2, deleted);
+        verify(notificationRepository, times(1)).deleteByIdIn(anyCollection());
+    }
+
+    @Test
+    void purgeOlderThan_ShouldSkipWhenAnotherNodeHoldsTheLease() {
+        // Arrange
+        when(jobLockService.tryAcquire(eq(NotificationRetentionJob.JOB_NAME), any())).thenReturn(false);
+
+        // Act
+        int deleted = job.purgeOlderThan(cutoff);
+
+        // Assert
+        assertEquals(0, deleted);
+        verifyNoInteractions(notificationRepository);
+        verify(jobLockService, never()).release(any());
+    }
+}
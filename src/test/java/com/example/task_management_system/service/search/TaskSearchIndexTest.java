@@ -0,0 +1,217 @@
+package com.example.task_management_system.service.search;
+
+import com.example.task_management_system.dto.TaskDto;
+import com.example.task_management_system.entity.Task;
+import com.example.task_management_system.entity.TaskChangeEvent;
+import com.example.task_management_system.enums.TaskChangeType;
+import com.example.task_management_system.repository.TaskChangeEventRepository;
+import com.example.task_management_system.repository.TaskRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskSearchIndexTest {
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private TaskChangeEventRepository eventRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    private Path indexDirectory;
+
+    private TaskSearchIndex searchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(taskRepository.streamAllOrderByDeadlineDesc()).thenAnswer(invocation -> Stream.of(
+                dto(1L, "Quarterly report", "Compile the numbers for finance"),
+                dto(2L, "Fix login page", "The report button overlaps the form"),
+                dto(3L, "Plan offsite", "Book a venue")));
+        searchIndex = newIndex("");
+        searchIndex.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        searchIndex.stop();
+    }
+
+    @Test
+    void search_ShouldRankTitleMatchesAboveDescriptionMatches() {
+        // Act
+        TaskSearchIndex.Hits hits = searchIndex.search("report", 0, 10);
+
+        // Assert
+        assertEquals(List.of(1L, 2L), hits.taskIds());
+        assertEquals(2, hits.totalHits());
+    }
+
+    @Test
+    void search_ShouldMatchWordPrefixesAndRequireEveryTerm() {
+        assertEquals(List.of(1L), searchIndex.search("quart rep", 0, 10).taskIds());
+        assertEquals(List.of(), searchIndex.search("quarterly venue", 0, 10).taskIds());
+    }
+
+    @Test
+    void search_ShouldPaginate() {
+        // Act
+        TaskSearchIndex.Hits secondPage = searchIndex.search("report", 1, 1);
+
+        // Assert
+        assertEquals(List.of(2L), secondPage.taskIds());
+        assertEquals(2, secondPage.totalHits());
+    }
+
+    @Test
+    void index_ShouldApplyChangesOnlyAfterCommit() {
+        // Arrange
+        Task renamed = new Task();
+        renamed.setId(3L);
+        renamed.setTitle("Plan team retreat");
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // Act
+            searchIndex.index(renamed);
+            assertEquals(List.of(), searchIndex.search("retreat", 0, 10).taskIds());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Assert
+        assertEquals(List.of(3L), searchIndex.search("retreat", 0, 10).taskIds());
+        assertEquals(List.of(), searchIndex.search("offsite", 0, 10).taskIds());
+    }
+
+    @Test
+    void remove_ShouldDropTaskFromResults() {
+        // Act
+        searchIndex.remove(1L);
+
+        // Assert
+        assertEquals(List.of(2L), searchIndex.search("report", 0, 10).taskIds());
+    }
+
+    @Test
+    void catchUp_ShouldApplyTextChangesMadeOnOtherNodes() {
+        // Arrange: a rename and a delete from another node, and a status change that leaves the text alone
+        when(eventRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(
+                event(1L, 3L, TaskChangeType.UPDATED, "{\"title\":\"Plan team retreat\"}"),
+                event(2L, 1L, TaskChangeType.DELETED, null),
+                event(3L, 2L, TaskChangeType.UPDATED, "{\"taskStatus\":\"COMPLETED\"}")));
+        when(taskRepository.findTaskDtosByIdIn(Set.of(3L)))
+                .thenReturn(List.of(dto(3L, "Plan team retreat", "Book a venue")));
+
+        // Act
+        searchIndex.catchUp();
+        searchIndex.catchUp();
+
+        // Assert: the second run starts after the last applied event
+        assertEquals(List.of(3L), searchIndex.search("retreat", 0, 10).taskIds());
+        assertEquals(List.of(2L), searchIndex.search("report", 0, 10).taskIds());
+        verify(eventRepository).findAfter(eq(3L), any(Pageable.class));
+    }
+
+    @Test
+    void start_ShouldFollowTheFeedOnItsOwnThread() throws InterruptedException {
+        // Arrange: no @Scheduled infrastructure, as on a node kept out of the cluster jobs
+        when(eventRepository.findAfter(eq(0L), any(Pageable.class))).thenReturn(List.of(), List.of(
+                event(1L, 3L, TaskChangeType.UPDATED, "{\"title\":\"Plan team retreat\"}")));
+        when(taskRepository.findTaskDtosByIdIn(Set.of(3L)))
+                .thenReturn(List.of(dto(3L, "Plan team retreat", "Book a venue")));
+        TaskSearchIndex following = newIndex("", 10);
+
+        // Act
+        following.start();
+
+        // Assert
+        try {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (following.search("retreat", 0, 10).taskIds().isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(List.of(3L), following.search("retreat", 0, 10).taskIds());
+        } finally {
+            following.stop();
+        }
+    }
+
+    @Test
+    void start_WithStoredIndex_ShouldCatchUpFromItsOffsetInsteadOfRebuilding() {
+        // Arrange: an index built on disk at feed offset 7, then a task renamed while the node was down
+        when(eventRepository.findLastOffset()).thenReturn(7L);
+        TaskSearchIndex first = newIndex(indexDirectory.toString());
+        first.start();
+        first.stop();
+        when(eventRepository.findAfter(eq(7L), any(Pageable.class))).thenReturn(List.of(
+                event(8L, 1L, TaskChangeType.UPDATED, "{\"title\":\"Annual report\"}")));
+        when(taskRepository.findTaskDtosByIdIn(Set.of(1L)))
+                .thenReturn(List.of(dto(1L, "Annual report", "Compile the numbers for finance")));
+
+        // Act
+        TaskSearchIndex restarted = newIndex(indexDirectory.toString());
+        restarted.start();
+
+        // Assert: one rebuild for the in-memory index of setUp, one for the first on-disk start
+        try {
+            assertEquals(List.of(1L), restarted.search("annual", 0, 10).taskIds());
+            assertEquals(List.of(3L), restarted.search("offsite", 0, 10).taskIds());
+            verify(taskRepository, times(2)).streamAllOrderByDeadlineDesc();
+        } finally {
+            restarted.stop();
+        }
+    }
+
+    @Test
+    void search_BlankQuery_ShouldReturnNothing() {
+        assertTrue(searchIndex.search("  ", 0, 10).taskIds().isEmpty());
+    }
+
+    private TaskSearchIndex newIndex(String path) {
+        // the follower thread stays out of the way; the tests call catchUp() themselves
+        return newIndex(path, 60_000);
+    }
+
+    private TaskSearchIndex newIndex(String path, long catchUpIntervalMillis) {
+        return new TaskSearchIndex(taskRepository, eventRepository, new ObjectMapper(), transactionManager, path, 100,
+                catchUpIntervalMillis);
+    }
+
+    private static TaskChangeEvent event(Long offset, Long taskId, TaskChangeType type, String changes) {
+        return new TaskChangeEvent(offset, offset, taskId, type, null, null, changes, LocalDateTime.now());
+    }
+
+    private static TaskDto dto(Long id, String title, String description) {
+        TaskDto dto = new TaskDto();
+        dto.setId(id);
+        dto.setTitle(title);
+        dto.setDescription(description);
+        return dto;
+    }
+}
@@ -1,28 +1,105 @@
 package com.example.task_management_system.utils;
 
+import com.example.task_management_system.entity.User;
+import com.example.task_management_system.enums.UserRole;
+import io.jsonwebtoken.Claims;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Map;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class JwtUtilTest {
 
+    private JwtUtil jwtUtil;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(100);
+
+        user = new User();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+        user.setUserRole(UserRole.EMPLOYEE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void generateToken() {
+        String token = jwtUtil.generateToken(user);
+
+        assertNotNull(token);
+        assertEquals(3, token.split("\\.").length);
     }
 
     @Test
     void testGenerateToken() {
+        String token = jwtUtil.generateToken(Map.of("role", "EMPLOYEE"), user);
+
+        Claims claims = jwtUtil.validateToken(token).orElseThrow();
+        assertEquals("EMPLOYEE", claims.get("role"));
     }
 
     @Test
     void isTokenValid() {
+        String token = jwtUtil.generateToken(user);
+        User other = new User();
+        other.setEmail("other@example.com");
+
+        assertTrue(jwtUtil.isTokenValid(token, user));
+        assertFalse(jwtUtil.isTokenValid(token, other));
     }
 
     @Test
     void extractUsername() {
+        String token = jwtUtil.generateToken(user);
+
+        assertEquals("test@example.com", jwtUtil.extractUsername(token));
     }
 
     @Test
     void getLoggedInUser() {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+
+        assertSame(user, jwtUtil.getLoggedInUser());
+    }
+
+    @Test
+    void validateToken_ShouldReturnSameClaimsFromCache() {
+        String token = jwtUtil.generateToken(user);
+
+        Claims first = jwtUtil.validateToken(token).orElseThrow();
+        Claims second = jwtUtil.validateToken(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void validateToken_ShouldRejectTamperedToken() {
+        String token = jwtUtil.generateToken(user);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("A") ? "BB" : "AA");
+
+        assertEquals(Optional.empty(), jwtUtil.validateToken(tampered));
+        assertEquals(Optional.empty(), jwtUtil.validateToken("not.a.jwt"));
+        assertEquals(Optional.empty(), jwtUtil.validateToken(null));
+    }
+
+    @Test
+    void validateToken_ShouldWorkWithCacheDisabled() {
+        JwtUtil uncached = new JwtUtil(0);
+        String token = uncached.generateToken(user);
+
+        assertEquals("test@example.com", uncached.validateToken(token).map(Claims::getSubject).orElse(null));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,31 @@
+package com.example.task_management_system.utils;
+
+import com.example.task_management_system.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NotificationCursorTest {
+
+    @Test
+    void decode_ShouldReturnTheEncodedPosition() {
+        // Arrange: nanoseconds beyond what created_at stores are dropped
+        LocalDateTime createdAt = LocalDateTime.of(2025, 1, 1, 9, 0, 0, 123_456_789);
+
+        // Act
+        NotificationCursor cursor = NotificationCursor.decode(NotificationCursor.of(createdAt, 42L).encode());
+
+        // Assert
+        assertEquals(LocalDateTime.of(2025, 1, 1, 9, 0, 0, 123_456_000), cursor.getCreatedAt());
+        assertEquals(42L, cursor.getId());
+    }
+
+    @Test
+    void decode_ShouldRejectMalformedCursors() {
+        // Act & Assert
+        assertThrows(InvalidRequestException.class, () -> NotificationCursor.decode("42"));
+        assertThrows(InvalidRequestException.class, () -> NotificationCursor.decode("not a cursor!"));
+    }
+}
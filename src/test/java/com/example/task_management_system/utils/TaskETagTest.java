@@ -0,0 +1,28 @@
+package com.example.task_management_system.utils;
+
+import com.example.task_management_system.exception.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskETagTest {
+
+    @Test
+    void parseIfMatch_ShouldReadTheVersionBack() {
+        assertEquals(7L, TaskETag.parseIfMatch(TaskETag.of(7L)));
+        assertEquals(7L, TaskETag.parseIfMatch("W/\"7\""));
+    }
+
+    @Test
+    void parseIfMatch_ShouldTreatMissingOrWildcardAsAnyVersion() {
+        assertNull(TaskETag.parseIfMatch(null));
+        assertNull(TaskETag.parseIfMatch("*"));
+    }
+
+    @Test
+    void parseIfMatch_ShouldRejectAnythingElse() {
+        assertThrows(InvalidRequestException.class, () -> TaskETag.parseIfMatch("7"));
+        assertThrows(InvalidRequestException.class, () -> TaskETag.parseIfMatch("\"7\", \"8\""));
+        assertThrows(InvalidRequestException.class, () -> TaskETag.parseIfMatch("\"abc\""));
+    }
+}